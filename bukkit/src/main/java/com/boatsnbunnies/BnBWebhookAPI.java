@@ -0,0 +1,152 @@
+package com.boatsnbunnies;
+
+import com.boatsnbunnies.command.WebhookCommand;
+import com.boatsnbunnies.config.WebhookConfig;
+import com.boatsnbunnies.event.WebhookEvent;
+import com.boatsnbunnies.event.WebhookEventType;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.ScheduledTask;
+import com.boatsnbunnies.platform.WebhookPlatform;
+import com.boatsnbunnies.service.WebhookClient;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+import org.bukkit.Bukkit;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Main plugin class for BnBWebhookAPI.
+ * This class serves as the entry point for the Discord Webhook API and
+ * adapts the platform-neutral webhook service to Bukkit.
+ * 
+ * @since 1.0
+ */
+public final class BnBWebhookAPI extends JavaPlugin implements WebhookPlatform {
+
+    private static BnBWebhookAPI instance;
+    private WebhookService webhookService;
+    private WebhookConfig webhookConfig;
+
+    @Override
+    public void onEnable() {
+        instance = this;
+
+        // Initialize configuration
+        saveDefaultConfig();
+        this.webhookConfig = new WebhookConfig(this);
+
+        // Initialize webhook service
+        this.webhookService = new WebhookService(this);
+
+        // Register the diagnostics command
+        PluginCommand command = getCommand("webhookapi");
+        if (command != null) {
+            WebhookCommand executor = new WebhookCommand(this);
+            command.setExecutor(executor);
+            command.setTabCompleter(executor);
+        }
+
+        getLogger().info("BnBWebhookAPI has been enabled!");
+    }
+
+    @Override
+    public void onDisable() {
+        // Clean up resources
+        if (webhookService != null) {
+            webhookService.shutdown();
+        }
+
+        instance = null;
+        getLogger().info("BnBWebhookAPI has been disabled!");
+    }
+
+    /**
+     * Gets the singleton instance of the plugin.
+     * 
+     * @return The plugin instance
+     */
+    public static BnBWebhookAPI getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the webhook service for sending Discord webhooks.
+     * 
+     * @return The webhook service
+     */
+    public WebhookService getWebhookService() {
+        return webhookService;
+    }
+
+    /**
+     * Gets the handle a plugin sends webhooks through. Its messages are shared fairly with other
+     * plugins according to its configured weight, limited to its quota of each webhook's rate limit,
+     * and counted in its usage.
+     *
+     * @param plugin The calling plugin
+     * @return The plugin's webhook client
+     */
+    public WebhookClient getClient(Plugin plugin) {
+        return webhookService.getClient(plugin.getName());
+    }
+
+    /**
+     * Gets the webhook configuration manager.
+     * 
+     * @return The webhook configuration
+     */
+    @Override
+    public WebhookConfig getWebhookConfig() {
+        return webhookConfig;
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(this, task);
+    }
+
+    @Override
+    public ScheduledTask scheduleTickTask(Runnable task) {
+        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(this, task, 1L, 1L);
+        return bukkitTask::cancel;
+    }
+
+    @Override
+    public boolean hasEventListeners() {
+        return WebhookEvent.getHandlerList().getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public void callEvent(WebhookEventType eventType, String webhookName, List<WebhookEmbed> embeds, WebhookResponse response) {
+        WebhookEvent event = new WebhookEvent(webhookName, embeds, response, eventType);
+        Bukkit.getPluginManager().callEvent(event);
+    }
+
+    /**
+     * Logs a message to the plugin's logger.
+     * 
+     * @param level The log level
+     * @param message The message to log
+     */
+    @Override
+    public void log(Level level, String message) {
+        getLogger().log(level, message);
+    }
+
+    /**
+     * Logs a message with an exception to the plugin's logger.
+     * 
+     * @param level The log level
+     * @param message The message to log
+     * @param throwable The exception to log
+     */
+    @Override
+    public void log(Level level, String message, Throwable throwable) {
+        getLogger().log(level, message, throwable);
+    }
+}
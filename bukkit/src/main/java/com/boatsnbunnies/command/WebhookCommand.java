@@ -0,0 +1,241 @@
+package com.boatsnbunnies.command;
+
+import com.boatsnbunnies.BnBWebhookAPI;
+import com.boatsnbunnies.service.CircuitBreaker;
+import com.boatsnbunnies.service.ConnectionStats;
+import com.boatsnbunnies.service.SendOptions;
+import com.boatsnbunnies.service.WebhookClient;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+import com.boatsnbunnies.service.WebhookStats;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code /webhookapi} command, for inspecting the webhook service at runtime.
+ * <ul>
+ *     <li>{@code stats} shows each webhook's throughput, failures, queue and limiter state</li>
+ *     <li>{@code bench <webhook> <n>} sends test messages and reports their latency and rate</li>
+ *     <li>{@code reload} reloads the configuration without dropping queued messages</li>
+ * </ul>
+ *
+ * @since 1.2
+ */
+public class WebhookCommand implements TabExecutor {
+    private static final List<String> SUBCOMMANDS = Arrays.asList("stats", "bench", "reload");
+    private static final int MAX_BENCH_MESSAGES = 1000;
+
+    private final BnBWebhookAPI plugin;
+
+    /**
+     * Creates the command.
+     *
+     * @param plugin The plugin instance
+     */
+    public WebhookCommand(BnBWebhookAPI plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0 || !SUBCOMMANDS.contains(args[0].toLowerCase())) {
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " <stats|bench|reload>");
+            return true;
+        }
+
+        String subcommand = args[0].toLowerCase();
+        if (!sender.hasPermission("bnbwebhookapi.command." + subcommand)) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+            return true;
+        }
+
+        switch (subcommand) {
+            case "stats":
+                stats(sender);
+                break;
+            case "bench":
+                if (args.length < 3) {
+                    sender.sendMessage(ChatColor.RED + "Usage: /" + label + " bench <webhook> <messages>");
+                    return true;
+                }
+                bench(sender, args[1], args[2]);
+                break;
+            default:
+                reload(sender);
+                break;
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 1) {
+            List<String> allowed = new ArrayList<>();
+            for (String subcommand : SUBCOMMANDS) {
+                if (sender.hasPermission("bnbwebhookapi.command." + subcommand)) {
+                    allowed.add(subcommand);
+                }
+            }
+            return StringUtil.copyPartialMatches(args[0], allowed, new ArrayList<>());
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("bench")) {
+            return StringUtil.copyPartialMatches(args[1], plugin.getWebhookService().getWebhooks().keySet(), new ArrayList<>());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Shows the service-wide state, then each webhook's.
+     */
+    private void stats(CommandSender sender) {
+        WebhookService service = plugin.getWebhookService();
+        sender.sendMessage(ChatColor.GOLD + "BnBWebhookAPI stats");
+        sender.sendMessage(ChatColor.GRAY + "In flight: " + ChatColor.WHITE + service.getInFlightRequests()
+                + "/" + service.getConcurrencyLimit()
+                + ChatColor.GRAY + ", waiting for permit: " + ChatColor.WHITE + service.getWaitingForPermit()
+                + ChatColor.GRAY + ", scheduled: " + ChatColor.WHITE + service.getScheduledCount());
+
+        ConnectionStats connections = service.getConnectionStats();
+        sender.sendMessage(ChatColor.GRAY + "Connections: " + ChatColor.WHITE + connections.getColdRequests()
+                + " cold (avg " + millis(connections.getAverageColdLatency()) + "), "
+                + connections.getWarmRequests() + " warm (avg " + millis(connections.getAverageWarmLatency()) + ")");
+
+        for (WebhookClient client : service.getClients()) {
+            sender.sendMessage(ChatColor.GRAY + "Client " + ChatColor.AQUA + client.getName() + ChatColor.GRAY + ": "
+                    + ChatColor.WHITE + client.getUsage().getSent() + " sent, "
+                    + client.getUsage().getRateLimited() + " rate limited, "
+                    + client.getUsage().getFailed() + " failed, "
+                    + client.getUsage().getNotSampled() + " not sampled, "
+                    + client.getUsage().getPending() + " pending");
+        }
+
+        if (service.getWebhooks().isEmpty()) {
+            sender.sendMessage(ChatColor.GRAY + "No webhooks registered.");
+            return;
+        }
+        for (String webhookName : service.getWebhooks().keySet()) {
+            WebhookStats stats = service.getStats(webhookName);
+            if (stats == null) {
+                continue;
+            }
+            long wait = stats.getNanosUntilPermit();
+            String limiter = wait == 0 ? ChatColor.GREEN + "ready"
+                    : wait == Long.MAX_VALUE ? ChatColor.RED + "blocked"
+                    : ChatColor.YELLOW + "next permit in " + millis(wait);
+            ChatColor circuit = stats.getCircuitState() == CircuitBreaker.State.CLOSED ? ChatColor.GREEN : ChatColor.RED;
+            sender.sendMessage(ChatColor.AQUA + webhookName + ChatColor.GRAY + ": "
+                    + ChatColor.WHITE + stats.getSent() + " sent (" + stats.getSentLastMinute() + "/min), "
+                    + stats.getFailed() + " failed, " + stats.getRateLimited() + " rate limited, "
+                    + stats.getNotSampled() + " not sampled, "
+                    + stats.getOutstanding() + " queued"
+                    + ChatColor.GRAY + ", circuit " + circuit + stats.getCircuitState()
+                    + ChatColor.GRAY + ", limiter " + limiter);
+        }
+    }
+
+    /**
+     * Sends test messages to a webhook and reports their latency percentiles and the achieved rate.
+     * The messages wait for rate limit permits rather than failing, so that the rate reflects the
+     * webhook's limits, and complete on the main thread, so that the report can be sent from there.
+     */
+    private void bench(CommandSender sender, String webhookName, String countArgument) {
+        WebhookService service = plugin.getWebhookService();
+        if (!service.webhookExists(webhookName)) {
+            sender.sendMessage(ChatColor.RED + "Webhook not found: " + webhookName);
+            return;
+        }
+
+        int count;
+        try {
+            count = Integer.parseInt(countArgument);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "Not a number: " + countArgument);
+            return;
+        }
+        if (count < 1 || count > MAX_BENCH_MESSAGES) {
+            sender.sendMessage(ChatColor.RED + "The number of messages must be between 1 and " + MAX_BENCH_MESSAGES + ".");
+            return;
+        }
+
+        SendOptions options = new SendOptions.Builder()
+                .completeOnMainThread()
+                .waitForPermit(10, TimeUnit.MINUTES)
+                .build();
+        sender.sendMessage(ChatColor.GRAY + "Sending " + count + " messages to " + webhookName + "...");
+
+        long start = System.nanoTime();
+        List<CompletableFuture<WebhookResponse>> futures = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String content = "BnBWebhookAPI benchmark message " + i + "/" + count;
+            futures.add(service.send(webhookName, content, Collections.emptyList(), options));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            long elapsed = System.nanoTime() - start;
+            List<Long> latencies = new ArrayList<>(count);
+            List<Long> serverTimes = new ArrayList<>(count);
+            int failed = 0;
+            for (CompletableFuture<WebhookResponse> future : futures) {
+                WebhookResponse response = future.getNow(null);
+                if (response == null || !response.isSuccess()) {
+                    failed++;
+                    continue;
+                }
+                if (response.getTimings() != null) {
+                    latencies.add(response.getTimings().getTotalTime());
+                    serverTimes.add(response.getTimings().getServerTime());
+                }
+            }
+
+            double seconds = elapsed / 1_000_000_000.0;
+            sender.sendMessage(ChatColor.GOLD + "Benchmark of " + webhookName + ": " + ChatColor.WHITE
+                    + (count - failed) + "/" + count + " sent in " + String.format("%.2fs", seconds)
+                    + " (" + String.format("%.1f", (count - failed) / seconds) + " msg/s)");
+            sender.sendMessage(ChatColor.GRAY + "Latency: " + ChatColor.WHITE + "p50 " + millis(percentile(latencies, 0.5))
+                    + ", p99 " + millis(percentile(latencies, 0.99))
+                    + ChatColor.GRAY + ", Discord: " + ChatColor.WHITE + "p50 " + millis(percentile(serverTimes, 0.5))
+                    + ", p99 " + millis(percentile(serverTimes, 0.99)));
+            if (failed > 0) {
+                sender.sendMessage(ChatColor.RED + "" + failed + " messages failed.");
+            }
+        });
+    }
+
+    /**
+     * Reloads config.yml and webhooks.yml and applies them to the running service.
+     */
+    private void reload(CommandSender sender) {
+        plugin.getWebhookConfig().loadConfig();
+        plugin.getWebhookService().reload();
+        sender.sendMessage(ChatColor.GREEN + "BnBWebhookAPI configuration reloaded. "
+                + ChatColor.GRAY + "Queue capacity, concurrency, global rate limits and egresses apply after a restart.");
+    }
+
+    /**
+     * Gets a percentile of durations by the nearest-rank method.
+     *
+     * @return The duration in nanoseconds, or -1 if there are none
+     */
+    private static long percentile(List<Long> durations, double percentile) {
+        if (durations.isEmpty()) {
+            return -1;
+        }
+        Collections.sort(durations);
+        int rank = (int) Math.ceil(percentile * durations.size());
+        return durations.get(Math.max(0, rank - 1));
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.1fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,774 @@
+package com.boatsnbunnies.config;
+
+import com.boatsnbunnies.BnBWebhookAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Configuration manager for Discord webhooks, backed by the plugin's
+ * config.yml and webhooks.yml.
+ *
+ * @since 1.0
+ */
+public class WebhookConfig implements WebhookSettings {
+    private final BnBWebhookAPI plugin;
+    private volatile Map<String, String> webhooks = new ConcurrentHashMap<>();
+    private volatile Set<String> disabledWebhooks = ConcurrentHashMap.newKeySet();
+    private File configFile;
+    private volatile FileConfiguration config;
+    
+    // Default rate limit settings
+    private int defaultRateLimit = 5; // requests per
+    private int defaultRateLimitPeriod = 2; // seconds
+
+    // Global rate limit settings
+    private int globalRateLimit = 50; // requests per
+    private int globalRateLimitPeriod = 1; // seconds
+
+    // Shared rate limit settings
+    private boolean sharedRateLimitEnabled = false;
+    private File sharedRateLimitDirectory;
+
+    // Dispatch settings
+    private int dispatchQueueCapacity = 8192;
+    private int minConcurrency = 1;
+    private int maxConcurrency = 8;
+    private int shutdownDeadline = 5; // seconds
+
+    // Recording settings
+    private boolean trafficRecordingEnabled = false;
+
+    // Metrics settings
+    private boolean metricsExportEnabled = false;
+    private int metricsInterval = 10; // seconds
+    private String metricsFormat = "jsonl";
+    private int metricsMaxFileSize = 10; // megabytes
+    private int metricsMaxFileAge = 24; // hours
+    private int metricsMaxFiles = 10;
+
+    // Connection settings
+    private String httpTransport = "okhttp";
+    private boolean connectionWarmUpEnabled = false;
+    private int warmConnections = 1;
+    private int keepAliveInterval = 45; // seconds
+    private final List<Egress> egresses = new ArrayList<>();
+
+    // Scheduling settings
+    private boolean schedulePersistenceEnabled = false;
+
+    // Client settings
+    private final Map<String, Integer> clientWeights = new ConcurrentHashMap<>();
+    private final Map<String, Double> clientQuotas = new ConcurrentHashMap<>();
+
+    // Default circuit breaker settings
+    private int defaultCircuitBreakerThreshold = 5; // consecutive failures
+    private int defaultCircuitBreakerOpenDuration = 30; // seconds
+    
+    /**
+     * Creates a new webhook configuration manager.
+     *
+     * @param plugin The plugin instance
+     */
+    public WebhookConfig(BnBWebhookAPI plugin) {
+        this.plugin = plugin;
+        loadConfig();
+    }
+    
+    /**
+     * Loads the configuration from disk.
+     */
+    public void loadConfig() {
+        // Create default config if it doesn't exist
+        plugin.saveDefaultConfig();
+        
+        // Load main config
+        plugin.reloadConfig();
+        FileConfiguration mainConfig = plugin.getConfig();
+        
+        // Load rate limit settings
+        defaultRateLimit = mainConfig.getInt("rate-limit.requests", 5);
+        defaultRateLimitPeriod = mainConfig.getInt("rate-limit.period", 2);
+        globalRateLimit = mainConfig.getInt("rate-limit.global.requests", 50);
+        globalRateLimitPeriod = mainConfig.getInt("rate-limit.global.period", 1);
+        sharedRateLimitEnabled = mainConfig.getBoolean("rate-limit.shared.enabled", false);
+        String sharedDirectory = mainConfig.getString("rate-limit.shared.directory", "");
+        sharedRateLimitDirectory = sharedDirectory == null || sharedDirectory.isEmpty()
+                ? new File(System.getProperty("java.io.tmpdir"), "BnBWebhookAPI")
+                : new File(sharedDirectory);
+
+        // Load dispatch settings
+        dispatchQueueCapacity = mainConfig.getInt("dispatch.queue-capacity", 8192);
+        minConcurrency = mainConfig.getInt("dispatch.concurrency.min", 1);
+        maxConcurrency = mainConfig.getInt("dispatch.concurrency.max", 8);
+        shutdownDeadline = mainConfig.getInt("dispatch.shutdown-deadline", 5);
+
+        // Load recording settings
+        trafficRecordingEnabled = mainConfig.getBoolean("recording.enabled", false);
+
+        // Load metrics settings
+        metricsExportEnabled = mainConfig.getBoolean("metrics.enabled", false);
+        metricsInterval = mainConfig.getInt("metrics.interval", 10);
+        metricsFormat = mainConfig.getString("metrics.format", "jsonl");
+        metricsMaxFileSize = mainConfig.getInt("metrics.max-file-size", 10);
+        metricsMaxFileAge = mainConfig.getInt("metrics.max-file-age", 24);
+        metricsMaxFiles = mainConfig.getInt("metrics.max-files", 10);
+
+        // Load connection settings
+        httpTransport = mainConfig.getString("connection.transport", "okhttp");
+        connectionWarmUpEnabled = mainConfig.getBoolean("connection.warm-up", false);
+        warmConnections = mainConfig.getInt("connection.warm-connections", 1);
+        keepAliveInterval = mainConfig.getInt("connection.keep-alive-interval", 45);
+        egresses.clear();
+        ConfigurationSection egressSection = mainConfig.getConfigurationSection("connection.egress");
+        if (egressSection != null) {
+            for (String egress : egressSection.getKeys(false)) {
+                egresses.add(new Egress(egress, egressSection.getString(egress + ".address"),
+                        egressSection.getString(egress + ".proxy")));
+            }
+        }
+
+        // Load scheduling settings
+        schedulePersistenceEnabled = mainConfig.getBoolean("scheduling.persist", false);
+
+        // Load client settings
+        clientWeights.clear();
+        clientQuotas.clear();
+        ConfigurationSection clients = mainConfig.getConfigurationSection("clients");
+        if (clients != null) {
+            for (String client : clients.getKeys(false)) {
+                clientWeights.put(client, clients.getInt(client + ".weight", 1));
+                clientQuotas.put(client, clients.getDouble(client + ".quota", 1.0));
+            }
+        }
+
+        // Load circuit breaker settings
+        defaultCircuitBreakerThreshold = mainConfig.getInt("circuit-breaker.failure-threshold", 5);
+        defaultCircuitBreakerOpenDuration = mainConfig.getInt("circuit-breaker.open-duration", 30);
+        
+        // Load webhooks file
+        configFile = new File(plugin.getDataFolder(), "webhooks.yml");
+        if (!configFile.exists()) {
+            try {
+                configFile.createNewFile();
+                // Create example webhook
+                config = YamlConfiguration.loadConfiguration(configFile);
+                config.set("example-webhook.url", "https://discord.com/api/webhooks/your-webhook-url");
+                config.set("example-webhook.rate-limit.requests", 5);
+                config.set("example-webhook.rate-limit.period", 2);
+                config.save(configFile);
+            } catch (IOException e) {
+                plugin.log(Level.SEVERE, "Could not create webhooks.yml", e);
+            }
+        }
+        
+        // Load webhooks
+        config = YamlConfiguration.loadConfiguration(configFile);
+        loadWebhooks();
+    }
+    
+    /**
+     * Loads webhooks from the configuration. The webhooks are swapped in once they are all loaded,
+     * so that messages sent during a reload never find a webhook missing.
+     */
+    private void loadWebhooks() {
+        Map<String, String> loaded = new ConcurrentHashMap<>();
+        Set<String> disabled = ConcurrentHashMap.newKeySet();
+        
+        for (String key : config.getKeys(false)) {
+            if (config.isConfigurationSection(key)) {
+                String url = config.getString(key + ".url");
+                if (url != null && !url.isEmpty()) {
+                    loaded.put(key, url);
+                }
+                if (config.getBoolean(key + ".disabled", false)) {
+                    disabled.add(key);
+                }
+            }
+        }
+        
+        webhooks = loaded;
+        disabledWebhooks = disabled;
+        plugin.log(Level.INFO, "Loaded " + loaded.size() + " webhooks");
+    }
+    
+    /**
+     * Saves the configuration to disk.
+     */
+    public void saveConfig() {
+        if (config == null || configFile == null) {
+            return;
+        }
+        
+        try {
+            config.save(configFile);
+        } catch (IOException e) {
+            plugin.log(Level.SEVERE, "Could not save webhooks.yml", e);
+        }
+    }
+    
+    /**
+     * Registers a webhook.
+     *
+     * @param name The name of the webhook
+     * @param url The URL of the webhook
+     * @return True if the webhook was registered, false if it already exists
+     */
+    @Override
+    public boolean registerWebhook(String name, String url) {
+        if (webhooks.containsKey(name)) {
+            return false;
+        }
+        
+        webhooks.put(name, url);
+        config.set(name + ".url", url);
+        saveConfig();
+        return true;
+    }
+    
+    /**
+     * Unregisters a webhook.
+     *
+     * @param name The name of the webhook
+     * @return True if the webhook was unregistered, false if it doesn't exist
+     */
+    @Override
+    public boolean unregisterWebhook(String name) {
+        if (!webhooks.containsKey(name)) {
+            return false;
+        }
+        
+        webhooks.remove(name);
+        disabledWebhooks.remove(name);
+        config.set(name, null);
+        saveConfig();
+        return true;
+    }
+    
+    /**
+     * Gets the URL of a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The URL of the webhook, or null if it doesn't exist
+     */
+    @Override
+    public String getWebhookUrl(String name) {
+        return webhooks.get(name);
+    }
+    
+    /**
+     * Gets all registered webhooks.
+     *
+     * @return A map of webhook names to URLs
+     */
+    @Override
+    public Map<String, String> getWebhooks() {
+        return new HashMap<>(webhooks);
+    }
+    
+    /**
+     * Gets the rate limit for a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The rate limit in requests per period
+     */
+    @Override
+    public int getRateLimit(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("rate-limit")) {
+                return section.getInt("rate-limit.requests", defaultRateLimit);
+            }
+        }
+        return defaultRateLimit;
+    }
+    
+    /**
+     * Gets the rate limit period for a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The rate limit period in seconds
+     */
+    @Override
+    public int getRateLimitPeriod(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("rate-limit")) {
+                return section.getInt("rate-limit.period", defaultRateLimitPeriod);
+            }
+        }
+        return defaultRateLimitPeriod;
+    }
+    
+    /**
+     * Gets the default rate limit.
+     *
+     * @return The default rate limit in requests per period
+     */
+    @Override
+    public int getDefaultRateLimit() {
+        return defaultRateLimit;
+    }
+    
+    /**
+     * Gets the default rate limit period.
+     *
+     * @return The default rate limit period in seconds
+     */
+    @Override
+    public int getDefaultRateLimitPeriod() {
+        return defaultRateLimitPeriod;
+    }
+    
+    /**
+     * Gets the rate limit shared by all webhooks, matching Discord's per-IP global limit.
+     *
+     * @return The global rate limit in requests per period, or 0 for no global limit
+     */
+    @Override
+    public int getGlobalRateLimit() {
+        return globalRateLimit;
+    }
+    
+    /**
+     * Gets the global rate limit period.
+     *
+     * @return The global rate limit period in seconds
+     */
+    @Override
+    public int getGlobalRateLimitPeriod() {
+        return globalRateLimitPeriod;
+    }
+    
+    /**
+     * Checks if rate limit state is shared with other servers on this host.
+     *
+     * @return True if shared rate limiting is enabled
+     */
+    @Override
+    public boolean isSharedRateLimitEnabled() {
+        return sharedRateLimitEnabled;
+    }
+    
+    /**
+     * Gets the directory holding the shared rate limit file.
+     *
+     * @return The shared rate limit directory
+     */
+    @Override
+    public File getSharedRateLimitDirectory() {
+        return sharedRateLimitDirectory;
+    }
+    
+    /**
+     * Gets the maximum number of sent messages waiting to be processed.
+     *
+     * @return The dispatch queue capacity
+     */
+    @Override
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+    
+    /**
+     * Gets the lowest number of concurrent requests the adaptive concurrency limit may drop to.
+     *
+     * @return The minimum concurrency
+     */
+    @Override
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+    
+    /**
+     * Gets the highest number of concurrent requests the adaptive concurrency limit may grow to.
+     *
+     * @return The maximum concurrency
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    /**
+     * Gets how long shutdown may take to deliver queued messages before abandoning the rest.
+     *
+     * @return The shutdown deadline in seconds
+     */
+    @Override
+    public int getShutdownDeadline() {
+        return shutdownDeadline;
+    }
+    
+    /**
+     * Checks if every send is recorded to a traffic file in the data folder for later replay.
+     *
+     * @return True if traffic recording is enabled
+     */
+    @Override
+    public boolean isTrafficRecordingEnabled() {
+        return trafficRecordingEnabled;
+    }
+    
+    /**
+     * Checks if snapshots of the pipeline's counters and latencies are exported to files.
+     *
+     * @return True if metrics are exported
+     */
+    @Override
+    public boolean isMetricsExportEnabled() {
+        return metricsExportEnabled;
+    }
+    
+    /**
+     * Gets the time between two metrics snapshots.
+     *
+     * @return The interval in seconds
+     */
+    @Override
+    public int getMetricsInterval() {
+        return metricsInterval;
+    }
+    
+    /**
+     * Gets the format of the metrics files.
+     *
+     * @return {@code jsonl} or {@code csv}
+     */
+    @Override
+    public String getMetricsFormat() {
+        return metricsFormat;
+    }
+    
+    /**
+     * Gets the size at which a metrics file is closed and a new one started.
+     *
+     * @return The maximum file size in megabytes
+     */
+    @Override
+    public int getMetricsMaxFileSize() {
+        return metricsMaxFileSize;
+    }
+    
+    /**
+     * Gets the age at which a metrics file is closed and a new one started.
+     *
+     * @return The maximum file age in hours
+     */
+    @Override
+    public int getMetricsMaxFileAge() {
+        return metricsMaxFileAge;
+    }
+    
+    /**
+     * Gets the number of metrics files kept.
+     *
+     * @return The number of files
+     */
+    @Override
+    public int getMetricsMaxFiles() {
+        return metricsMaxFiles;
+    }
+    
+    /**
+     * Gets the HTTP client webhooks are sent with.
+     *
+     * @return {@code okhttp}, or {@code jdk} for the JDK's built-in HTTP/2 client
+     */
+    @Override
+    public String getHttpTransport() {
+        return httpTransport;
+    }
+    
+    /**
+     * Checks if connections to the webhooks' hosts are opened at startup.
+     *
+     * @return True if connections are warmed up
+     */
+    @Override
+    public boolean isConnectionWarmUpEnabled() {
+        return connectionWarmUpEnabled;
+    }
+    
+    /**
+     * Gets the number of connections to each webhook host that are kept warm while idle.
+     *
+     * @return The number of warm connections, or 0 to only warm up at startup
+     */
+    @Override
+    public int getWarmConnections() {
+        return warmConnections;
+    }
+    
+    /**
+     * Gets how long the connections may be idle before they are refreshed.
+     *
+     * @return The keep-alive interval in seconds
+     */
+    @Override
+    public int getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+    
+    /**
+     * Checks if scheduled messages that are not due at shutdown are saved for the next start.
+     *
+     * @return True if scheduled messages survive restarts
+     */
+    @Override
+    public boolean isSchedulePersistenceEnabled() {
+        return schedulePersistenceEnabled;
+    }
+    
+    /**
+     * Gets the outgoing paths to Discord, each with its own global rate limit.
+     *
+     * @return The egresses, or an empty list to send from the default address only
+     */
+    @Override
+    public List<Egress> getEgresses() {
+        return new ArrayList<>(egresses);
+    }
+    
+    /**
+     * Gets the egress a webhook is assigned to.
+     *
+     * @param name The name of the webhook
+     * @return The name of the egress, or null to assign one automatically
+     */
+    @Override
+    public String getWebhookEgress(String name) {
+        if (config.isConfigurationSection(name)) {
+            return config.getConfigurationSection(name).getString("egress");
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the weight of a client in the fair sharing of webhook capacity.
+     *
+     * @param client The name of the client, usually the calling plugin
+     * @return The weight, at least 1
+     */
+    @Override
+    public int getClientWeight(String client) {
+        return Math.max(1, clientWeights.getOrDefault(client, 1));
+    }
+    
+    /**
+     * Gets the share of each webhook's rate limit that a client may use.
+     *
+     * @param client The name of the client, usually the calling plugin
+     * @return The quota as a fraction of the rate limit, where 0 or 1 means no quota
+     */
+    @Override
+    public double getClientQuota(String client) {
+        return clientQuotas.getOrDefault(client, 1.0);
+    }
+    
+    /**
+     * Gets the number of consecutive failures that open a webhook's circuit breaker.
+     *
+     * @param name The name of the webhook
+     * @return The failure threshold
+     */
+    @Override
+    public int getCircuitBreakerThreshold(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("circuit-breaker")) {
+                return section.getInt("circuit-breaker.failure-threshold", defaultCircuitBreakerThreshold);
+            }
+        }
+        return defaultCircuitBreakerThreshold;
+    }
+    
+    /**
+     * Gets how long a webhook's circuit breaker stays open before a probe request is sent.
+     *
+     * @param name The name of the webhook
+     * @return The open duration in seconds
+     */
+    @Override
+    public int getCircuitBreakerOpenDuration(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("circuit-breaker")) {
+                return section.getInt("circuit-breaker.open-duration", defaultCircuitBreakerOpenDuration);
+            }
+        }
+        return defaultCircuitBreakerOpenDuration;
+    }
+    
+    /**
+     * Checks if a webhook has been disabled.
+     *
+     * @param name The name of the webhook
+     * @return True if the webhook is disabled
+     */
+    @Override
+    public boolean isWebhookDisabled(String name) {
+        return disabledWebhooks.contains(name);
+    }
+    
+    /**
+     * Marks a webhook as disabled or enabled and saves it to webhooks.yml. The webhook service
+     * disables webhooks from its sender threads, so the mark takes effect right away while
+     * webhooks.yml is written on the main thread.
+     *
+     * @param name The name of the webhook
+     * @param disabled True to disable the webhook
+     */
+    @Override
+    public void setWebhookDisabled(String name, boolean disabled) {
+        if (!webhooks.containsKey(name)) {
+            return;
+        }
+        
+        if (disabled) {
+            disabledWebhooks.add(name);
+        } else {
+            disabledWebhooks.remove(name);
+        }
+        runOnMainThread(() -> {
+            // The webhook may have been unregistered in the meantime
+            if (webhooks.containsKey(name)) {
+                config.set(name + ".disabled", disabled ? true : null);
+                saveConfig();
+            }
+        });
+    }
+    
+    /**
+     * Runs a change to webhooks.yml on the main thread, which is the only one that writes the
+     * configuration. Once the plugin is disabled the scheduler takes no more tasks, and the change
+     * is made on the calling thread.
+     *
+     * @param change The change
+     */
+    private void runOnMainThread(Runnable change) {
+        if (Bukkit.isPrimaryThread()) {
+            change.run();
+            return;
+        }
+        try {
+            Bukkit.getScheduler().runTask(plugin, change);
+        } catch (IllegalPluginAccessException e) {
+            change.run();
+        }
+    }
+    
+    /**
+     * Gets the length of a webhook's digest window.
+     *
+     * @param name The name of the webhook
+     * @return The digest window in seconds, or 0 if digest mode is disabled
+     */
+    @Override
+    public int getDigestWindow(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("digest")) {
+                return section.getInt("digest.window", 0);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Gets the number of groups listed in a webhook's digest summary.
+     *
+     * @param name The name of the webhook
+     * @return The number of top entries
+     */
+    @Override
+    public int getDigestTopEntries(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("digest")) {
+                return section.getInt("digest.top", 10);
+            }
+        }
+        return 10;
+    }
+    
+    /**
+     * Gets the length of a webhook's sampling window.
+     *
+     * @param name The name of the webhook
+     * @return The sampling window in seconds, or 0 if the webhook is not sampled
+     */
+    @Override
+    public int getSamplingWindow(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("sampling")) {
+                return section.getInt("sampling.window", 0);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Gets the fraction of a sampled webhook's messages that are sent.
+     *
+     * @param name The name of the webhook
+     * @return The sample rate, 1 if it is adaptive or not set
+     */
+    @Override
+    public double getSamplingRate(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("sampling") && section.get("sampling.rate") instanceof Number) {
+                return section.getDouble("sampling.rate");
+            }
+        }
+        return 1;
+    }
+    
+    /**
+     * Checks if a sampled webhook's rate is {@code adaptive}.
+     *
+     * @param name The name of the webhook
+     * @return True if the sample rate follows the remaining rate limit budget
+     */
+    @Override
+    public boolean isSamplingAdaptive(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("sampling")) {
+                return "adaptive".equalsIgnoreCase(section.getString("sampling.rate"));
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the maximum number of messages a sampled webhook sends per window.
+     *
+     * @param name The name of the webhook
+     * @return The maximum number of samples
+     */
+    @Override
+    public int getSamplingMaxSamples(String name) {
+        if (config.isConfigurationSection(name)) {
+            ConfigurationSection section = config.getConfigurationSection(name);
+            if (section.isConfigurationSection("sampling")) {
+                return section.getInt("sampling.max", 10);
+            }
+        }
+        return 10;
+    }
+}
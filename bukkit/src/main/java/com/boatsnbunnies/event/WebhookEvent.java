@@ -19,7 +19,7 @@ public class WebhookEvent extends Event {
     private final String webhookName;
     private final List<WebhookEmbed> embeds;
     private final WebhookResponse response;
-    private final WebhookEventType eventType;
+    private final com.boatsnbunnies.event.WebhookEventType eventType;
     
     /**
      * Creates a new webhook event.
@@ -28,8 +28,10 @@ public class WebhookEvent extends Event {
      * @param embeds The embeds sent with the webhook
      * @param response The response from the webhook request
      * @param eventType The type of event
+     * @since 1.2
      */
-    public WebhookEvent(String webhookName, List<WebhookEmbed> embeds, WebhookResponse response, WebhookEventType eventType) {
+    public WebhookEvent(String webhookName, List<WebhookEmbed> embeds, WebhookResponse response,
+                        com.boatsnbunnies.event.WebhookEventType eventType) {
         super(true); // Async event
         this.webhookName = webhookName;
         this.embeds = Collections.unmodifiableList(embeds);
@@ -37,6 +39,20 @@ public class WebhookEvent extends Event {
         this.eventType = eventType;
     }
     
+    /**
+     * Creates a new webhook event.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds sent with the webhook
+     * @param response The response from the webhook request
+     * @param eventType The type of event
+     * @deprecated Use {@link #WebhookEvent(String, List, WebhookResponse, com.boatsnbunnies.event.WebhookEventType)}
+     */
+    @Deprecated
+    public WebhookEvent(String webhookName, List<WebhookEmbed> embeds, WebhookResponse response, WebhookEventType eventType) {
+        this(webhookName, embeds, response, eventType.toType());
+    }
+    
     /**
      * Gets the name of the webhook.
      *
@@ -68,11 +84,24 @@ public class WebhookEvent extends Event {
      * Gets the type of event.
      *
      * @return The event type
+     * @since 1.2
      */
-    public WebhookEventType getEventType() {
+    public com.boatsnbunnies.event.WebhookEventType getType() {
         return eventType;
     }
     
+    /**
+     * Gets the type of event.
+     *
+     * @return The event type
+     * @deprecated Use {@link #getType()}, this returns the type nested in this class for listeners
+     *             written against 1.1
+     */
+    @Deprecated
+    public WebhookEventType getEventType() {
+        return WebhookEventType.of(eventType);
+    }
+    
     @Override
     public HandlerList getHandlers() {
         return HANDLERS;
@@ -84,7 +113,12 @@ public class WebhookEvent extends Event {
     
     /**
      * Enum representing the types of webhook events.
+     *
+     * @deprecated The event types moved to the top-level {@link com.boatsnbunnies.event.WebhookEventType},
+     *             shared with platforms other than Bukkit. This copy is kept so that listeners
+     *             written against 1.1 still compile.
      */
+    @Deprecated
     public enum WebhookEventType {
         /**
          * Event fired before a webhook is sent.
@@ -104,6 +138,30 @@ public class WebhookEvent extends Event {
         /**
          * Event fired when a webhook is rate limited.
          */
-        RATE_LIMITED
+        RATE_LIMITED,
+        
+        /**
+         * Event fired when a webhook is disabled because Discord reported it missing or unauthorized.
+         */
+        DISABLED;
+        
+        /**
+         * Gets the nested type matching a top-level one.
+         *
+         * @param type The top-level type
+         * @return The nested type
+         */
+        public static WebhookEventType of(com.boatsnbunnies.event.WebhookEventType type) {
+            return valueOf(type.name());
+        }
+        
+        /**
+         * Gets the top-level type matching this one.
+         *
+         * @return The top-level type
+         */
+        public com.boatsnbunnies.event.WebhookEventType toType() {
+            return com.boatsnbunnies.event.WebhookEventType.valueOf(name());
+        }
     }
-}
\ No newline at end of file
+}
@@ -131,7 +131,7 @@ public class WebhookExample extends JavaPlugin implements Listener {
     @EventHandler
     public void onWebhookEvent(WebhookEvent event) {
         // Log different types of webhook events
-        switch (event.getEventType()) {
+        switch (event.getType()) {
             case PRE_SEND:
                 getLogger().info("Preparing to send webhook: " + event.getWebhookName());
                 break;
@@ -145,6 +145,10 @@ public class WebhookExample extends JavaPlugin implements Listener {
             case RATE_LIMITED:
                 getLogger().warning("Webhook rate limited: " + event.getWebhookName());
                 break;
+            case DISABLED:
+                getLogger().severe("Webhook disabled: " + event.getWebhookName() + 
+                        " - " + event.getResponse().getMessage());
+                break;
         }
     }
 }
\ No newline at end of file
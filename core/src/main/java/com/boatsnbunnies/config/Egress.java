@@ -0,0 +1,60 @@
+package com.boatsnbunnies.config;
+
+import java.util.Objects;
+
+/**
+ * An outgoing path to Discord: a local address to send from, an HTTP proxy to send through, or
+ * both. Discord's global rate limit applies per IP, so each egress has its own global limit.
+ *
+ * @since 1.2
+ */
+public final class Egress {
+    private final String name;
+    private final String localAddress;
+    private final String proxy;
+
+    /**
+     * Creates a new egress.
+     *
+     * @param name The name webhooks are assigned to the egress by
+     * @param localAddress The local IPv4 or IPv6 address to bind to, or null for the default
+     * @param proxy The HTTP proxy as {@code host:port}, or null to connect directly
+     */
+    public Egress(String name, String localAddress, String proxy) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.localAddress = localAddress;
+        this.proxy = proxy;
+    }
+
+    /**
+     * Gets the name webhooks are assigned to the egress by.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the local address to bind to.
+     *
+     * @return The address, or null for the default
+     */
+    public String getLocalAddress() {
+        return localAddress;
+    }
+
+    /**
+     * Gets the HTTP proxy to send through.
+     *
+     * @return The proxy as {@code host:port}, or null to connect directly
+     */
+    public String getProxy() {
+        return proxy;
+    }
+
+    @Override
+    public String toString() {
+        return "Egress{name=" + name + ", localAddress=" + localAddress + ", proxy=" + proxy + "}";
+    }
+}
@@ -0,0 +1,522 @@
+package com.boatsnbunnies.config;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory webhook settings for standalone use, tooling and benchmarks.
+ *
+ * @since 1.2
+ */
+public class MemoryWebhookSettings implements WebhookSettings {
+    private final Map<String, String> webhooks = new ConcurrentHashMap<>();
+    private final Map<String, int[]> rateLimits = new ConcurrentHashMap<>();
+    private final Set<String> disabledWebhooks = ConcurrentHashMap.newKeySet();
+    private final Map<String, int[]> digests = new ConcurrentHashMap<>();
+    private final Map<String, double[]> samplings = new ConcurrentHashMap<>();
+    private final Map<String, Integer> clientWeights = new ConcurrentHashMap<>();
+    private final Map<String, Double> clientQuotas = new ConcurrentHashMap<>();
+    private final List<Egress> egresses = new CopyOnWriteArrayList<>();
+    private final Map<String, String> webhookEgresses = new ConcurrentHashMap<>();
+
+    private int defaultRateLimit = 5; // requests per
+    private int defaultRateLimitPeriod = 2; // seconds
+    private int globalRateLimit = 50; // requests per
+    private int globalRateLimitPeriod = 1; // seconds
+    private File sharedRateLimitDirectory;
+    private int dispatchQueueCapacity = 8192;
+    private int minConcurrency = 1;
+    private int maxConcurrency = 8;
+    private int shutdownDeadline = 5; // seconds
+    private boolean trafficRecordingEnabled = false;
+    private boolean metricsExportEnabled = false;
+    private int metricsInterval = 10; // seconds
+    private String metricsFormat = "jsonl";
+    private int metricsMaxFileSize = 10; // megabytes
+    private int metricsMaxFileAge = 24; // hours
+    private int metricsMaxFiles = 10;
+    private String httpTransport = "okhttp";
+    private boolean connectionWarmUpEnabled = false;
+    private int warmConnections = 1;
+    private int keepAliveInterval = 45; // seconds
+    private boolean schedulePersistenceEnabled = false;
+    private int circuitBreakerThreshold = 5; // consecutive failures
+    private int circuitBreakerOpenDuration = 30; // seconds
+
+    @Override
+    public boolean registerWebhook(String name, String url) {
+        return webhooks.putIfAbsent(name, url) == null;
+    }
+
+    @Override
+    public boolean unregisterWebhook(String name) {
+        rateLimits.remove(name);
+        disabledWebhooks.remove(name);
+        digests.remove(name);
+        samplings.remove(name);
+        return webhooks.remove(name) != null;
+    }
+
+    @Override
+    public String getWebhookUrl(String name) {
+        return webhooks.get(name);
+    }
+
+    @Override
+    public Map<String, String> getWebhooks() {
+        return new HashMap<>(webhooks);
+    }
+
+    /**
+     * Sets the rate limit for a webhook.
+     *
+     * @param name The name of the webhook
+     * @param requests The maximum number of requests per period
+     * @param period The period in seconds
+     * @return These settings
+     */
+    public MemoryWebhookSettings setRateLimit(String name, int requests, int period) {
+        rateLimits.put(name, new int[] {requests, period});
+        return this;
+    }
+
+    @Override
+    public int getRateLimit(String name) {
+        int[] limit = rateLimits.get(name);
+        return limit != null ? limit[0] : defaultRateLimit;
+    }
+
+    @Override
+    public int getRateLimitPeriod(String name) {
+        int[] limit = rateLimits.get(name);
+        return limit != null ? limit[1] : defaultRateLimitPeriod;
+    }
+
+    /**
+     * Sets the default rate limit.
+     *
+     * @param requests The maximum number of requests per period
+     * @param period The period in seconds
+     * @return These settings
+     */
+    public MemoryWebhookSettings setDefaultRateLimit(int requests, int period) {
+        this.defaultRateLimit = requests;
+        this.defaultRateLimitPeriod = period;
+        return this;
+    }
+
+    @Override
+    public int getDefaultRateLimit() {
+        return defaultRateLimit;
+    }
+
+    @Override
+    public int getDefaultRateLimitPeriod() {
+        return defaultRateLimitPeriod;
+    }
+
+    /**
+     * Sets the rate limit shared by all webhooks.
+     *
+     * @param requests The maximum number of requests per period, or 0 for no global limit
+     * @param period The period in seconds
+     * @return These settings
+     */
+    public MemoryWebhookSettings setGlobalRateLimit(int requests, int period) {
+        this.globalRateLimit = requests;
+        this.globalRateLimitPeriod = period;
+        return this;
+    }
+
+    @Override
+    public int getGlobalRateLimit() {
+        return globalRateLimit;
+    }
+
+    @Override
+    public int getGlobalRateLimitPeriod() {
+        return globalRateLimitPeriod;
+    }
+
+    /**
+     * Enables shared rate limiting with other processes on this host.
+     *
+     * @param directory The directory holding the shared state file, or null to disable
+     * @return These settings
+     */
+    public MemoryWebhookSettings setSharedRateLimitDirectory(File directory) {
+        this.sharedRateLimitDirectory = directory;
+        return this;
+    }
+
+    @Override
+    public boolean isSharedRateLimitEnabled() {
+        return sharedRateLimitDirectory != null;
+    }
+
+    @Override
+    public File getSharedRateLimitDirectory() {
+        return sharedRateLimitDirectory;
+    }
+
+    /**
+     * Sets the maximum number of sent messages waiting to be processed.
+     *
+     * @param capacity The dispatch queue capacity
+     * @return These settings
+     */
+    public MemoryWebhookSettings setDispatchQueueCapacity(int capacity) {
+        this.dispatchQueueCapacity = capacity;
+        return this;
+    }
+
+    @Override
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+
+    /**
+     * Sets the bounds of the adaptive concurrency limit.
+     *
+     * @param min The minimum number of concurrent requests
+     * @param max The maximum number of concurrent requests
+     * @return These settings
+     */
+    public MemoryWebhookSettings setConcurrency(int min, int max) {
+        this.minConcurrency = min;
+        this.maxConcurrency = max;
+        return this;
+    }
+
+    @Override
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets how long shutdown may take to deliver queued messages.
+     *
+     * @param seconds The shutdown deadline in seconds
+     * @return These settings
+     */
+    public MemoryWebhookSettings setShutdownDeadline(int seconds) {
+        this.shutdownDeadline = seconds;
+        return this;
+    }
+
+    @Override
+    public int getShutdownDeadline() {
+        return shutdownDeadline;
+    }
+
+    /**
+     * Sets whether every send is recorded to a traffic file.
+     *
+     * @param enabled True to record traffic
+     * @return These settings
+     */
+    public MemoryWebhookSettings setTrafficRecordingEnabled(boolean enabled) {
+        this.trafficRecordingEnabled = enabled;
+        return this;
+    }
+
+    @Override
+    public boolean isTrafficRecordingEnabled() {
+        return trafficRecordingEnabled;
+    }
+
+    /**
+     * Sets the metrics export settings.
+     *
+     * @param enabled True to export metrics
+     * @param interval The time between snapshots in seconds
+     * @param format {@code jsonl} or {@code csv}
+     * @param maxFileSize The size in megabytes at which a new file is started
+     * @param maxFileAge The age in hours at which a new file is started
+     * @param maxFiles The number of files kept
+     * @return These settings
+     */
+    public MemoryWebhookSettings setMetricsExport(boolean enabled, int interval, String format, int maxFileSize,
+                                                  int maxFileAge, int maxFiles) {
+        this.metricsExportEnabled = enabled;
+        this.metricsInterval = interval;
+        this.metricsFormat = format;
+        this.metricsMaxFileSize = maxFileSize;
+        this.metricsMaxFileAge = maxFileAge;
+        this.metricsMaxFiles = maxFiles;
+        return this;
+    }
+
+    @Override
+    public boolean isMetricsExportEnabled() {
+        return metricsExportEnabled;
+    }
+
+    @Override
+    public int getMetricsInterval() {
+        return metricsInterval;
+    }
+
+    @Override
+    public String getMetricsFormat() {
+        return metricsFormat;
+    }
+
+    @Override
+    public int getMetricsMaxFileSize() {
+        return metricsMaxFileSize;
+    }
+
+    @Override
+    public int getMetricsMaxFileAge() {
+        return metricsMaxFileAge;
+    }
+
+    @Override
+    public int getMetricsMaxFiles() {
+        return metricsMaxFiles;
+    }
+
+    /**
+     * Sets the HTTP client webhooks are sent with.
+     *
+     * @param httpTransport {@code okhttp}, or {@code jdk} for the JDK's built-in HTTP/2 client
+     * @return These settings
+     */
+    public MemoryWebhookSettings setHttpTransport(String httpTransport) {
+        this.httpTransport = httpTransport;
+        return this;
+    }
+
+    @Override
+    public String getHttpTransport() {
+        return httpTransport;
+    }
+
+    /**
+     * Sets the connection warm-up settings.
+     *
+     * @param enabled True to open connections at startup and keep them warm
+     * @param warmConnections The number of connections per host kept warm while idle
+     * @param keepAliveInterval The idle time in seconds after which connections are refreshed
+     * @return These settings
+     */
+    public MemoryWebhookSettings setConnectionWarmUp(boolean enabled, int warmConnections, int keepAliveInterval) {
+        this.connectionWarmUpEnabled = enabled;
+        this.warmConnections = warmConnections;
+        this.keepAliveInterval = keepAliveInterval;
+        return this;
+    }
+
+    @Override
+    public boolean isConnectionWarmUpEnabled() {
+        return connectionWarmUpEnabled;
+    }
+
+    @Override
+    public int getWarmConnections() {
+        return warmConnections;
+    }
+
+    @Override
+    public int getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    /**
+     * Sets whether scheduled messages that are not due at shutdown are saved for the next start.
+     *
+     * @param enabled True to save scheduled messages
+     * @return These settings
+     */
+    public MemoryWebhookSettings setSchedulePersistenceEnabled(boolean enabled) {
+        this.schedulePersistenceEnabled = enabled;
+        return this;
+    }
+
+    @Override
+    public boolean isSchedulePersistenceEnabled() {
+        return schedulePersistenceEnabled;
+    }
+
+    /**
+     * Adds an outgoing path to Discord.
+     *
+     * @param egress The egress
+     * @return These settings
+     */
+    public MemoryWebhookSettings addEgress(Egress egress) {
+        egresses.add(egress);
+        return this;
+    }
+
+    @Override
+    public List<Egress> getEgresses() {
+        return new ArrayList<>(egresses);
+    }
+
+    /**
+     * Assigns a webhook to an egress.
+     *
+     * @param name The name of the webhook
+     * @param egress The name of the egress
+     * @return These settings
+     */
+    public MemoryWebhookSettings setWebhookEgress(String name, String egress) {
+        webhookEgresses.put(name, egress);
+        return this;
+    }
+
+    @Override
+    public String getWebhookEgress(String name) {
+        return webhookEgresses.get(name);
+    }
+
+    /**
+     * Sets the fair sharing settings of a client.
+     *
+     * @param client The name of the client
+     * @param weight The client's weight
+     * @param quota The share of each webhook's rate limit the client may use, 1 for no quota
+     * @return These settings
+     */
+    public MemoryWebhookSettings setClient(String client, int weight, double quota) {
+        clientWeights.put(client, weight);
+        clientQuotas.put(client, quota);
+        return this;
+    }
+
+    @Override
+    public int getClientWeight(String client) {
+        return Math.max(1, clientWeights.getOrDefault(client, 1));
+    }
+
+    @Override
+    public double getClientQuota(String client) {
+        return clientQuotas.getOrDefault(client, 1.0);
+    }
+
+    /**
+     * Sets the circuit breaker settings for all webhooks.
+     *
+     * @param threshold The number of consecutive failures that open the breaker
+     * @param openDuration The open duration in seconds
+     * @return These settings
+     */
+    public MemoryWebhookSettings setCircuitBreaker(int threshold, int openDuration) {
+        this.circuitBreakerThreshold = threshold;
+        this.circuitBreakerOpenDuration = openDuration;
+        return this;
+    }
+
+    @Override
+    public int getCircuitBreakerThreshold(String name) {
+        return circuitBreakerThreshold;
+    }
+
+    @Override
+    public int getCircuitBreakerOpenDuration(String name) {
+        return circuitBreakerOpenDuration;
+    }
+
+    @Override
+    public boolean isWebhookDisabled(String name) {
+        return disabledWebhooks.contains(name);
+    }
+
+    @Override
+    public void setWebhookDisabled(String name, boolean disabled) {
+        if (disabled) {
+            disabledWebhooks.add(name);
+        } else {
+            disabledWebhooks.remove(name);
+        }
+    }
+
+    /**
+     * Puts a webhook in digest mode.
+     *
+     * @param name The name of the webhook
+     * @param window The digest window in seconds, or 0 to disable digest mode
+     * @param topEntries The number of groups listed in the summary
+     * @return These settings
+     */
+    public MemoryWebhookSettings setDigest(String name, int window, int topEntries) {
+        digests.put(name, new int[] {window, topEntries});
+        return this;
+    }
+
+    @Override
+    public int getDigestWindow(String name) {
+        int[] digest = digests.get(name);
+        return digest != null ? digest[0] : 0;
+    }
+
+    @Override
+    public int getDigestTopEntries(String name) {
+        int[] digest = digests.get(name);
+        return digest != null ? digest[1] : 10;
+    }
+
+    /**
+     * Samples a webhook at a fixed rate.
+     *
+     * @param name The name of the webhook
+     * @param window The sampling window in seconds, or 0 to disable sampling
+     * @param rate The fraction of messages sent, between 0 and 1
+     * @param maxSamples The maximum number of messages sent per window
+     * @return These settings
+     */
+    public MemoryWebhookSettings setSampling(String name, int window, double rate, int maxSamples) {
+        samplings.put(name, new double[] {window, rate, maxSamples});
+        return this;
+    }
+
+    /**
+     * Samples a webhook at a rate that follows its remaining rate limit budget.
+     *
+     * @param name The name of the webhook
+     * @param window The sampling window in seconds, or 0 to disable sampling
+     * @param maxSamples The maximum number of messages sent per window
+     * @return These settings
+     */
+    public MemoryWebhookSettings setAdaptiveSampling(String name, int window, int maxSamples) {
+        samplings.put(name, new double[] {window, -1, maxSamples});
+        return this;
+    }
+
+    @Override
+    public int getSamplingWindow(String name) {
+        double[] sampling = samplings.get(name);
+        return sampling != null ? (int) sampling[0] : 0;
+    }
+
+    @Override
+    public double getSamplingRate(String name) {
+        double[] sampling = samplings.get(name);
+        return sampling != null && sampling[1] >= 0 ? sampling[1] : 1;
+    }
+
+    @Override
+    public boolean isSamplingAdaptive(String name) {
+        double[] sampling = samplings.get(name);
+        return sampling != null && sampling[1] < 0;
+    }
+
+    @Override
+    public int getSamplingMaxSamples(String name) {
+        double[] sampling = samplings.get(name);
+        return sampling != null ? (int) sampling[2] : 10;
+    }
+}
@@ -0,0 +1,336 @@
+package com.boatsnbunnies.config;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of webhook URLs and their settings.
+ *
+ * @since 1.2
+ */
+public interface WebhookSettings {
+
+    /**
+     * Registers a webhook.
+     *
+     * @param name The name of the webhook
+     * @param url The URL of the webhook
+     * @return True if the webhook was registered, false if it already exists
+     */
+    boolean registerWebhook(String name, String url);
+
+    /**
+     * Unregisters a webhook.
+     *
+     * @param name The name of the webhook
+     * @return True if the webhook was unregistered, false if it doesn't exist
+     */
+    boolean unregisterWebhook(String name);
+
+    /**
+     * Gets the URL of a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The URL of the webhook, or null if it doesn't exist
+     */
+    String getWebhookUrl(String name);
+
+    /**
+     * Gets all registered webhooks.
+     *
+     * @return A map of webhook names to URLs
+     */
+    Map<String, String> getWebhooks();
+
+    /**
+     * Gets the rate limit for a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The rate limit in requests per period
+     */
+    int getRateLimit(String name);
+
+    /**
+     * Gets the rate limit period for a webhook.
+     *
+     * @param name The name of the webhook
+     * @return The rate limit period in seconds
+     */
+    int getRateLimitPeriod(String name);
+
+    /**
+     * Gets the default rate limit.
+     *
+     * @return The default rate limit in requests per period
+     */
+    int getDefaultRateLimit();
+
+    /**
+     * Gets the default rate limit period.
+     *
+     * @return The default rate limit period in seconds
+     */
+    int getDefaultRateLimitPeriod();
+
+    /**
+     * Gets the rate limit shared by all webhooks, matching Discord's per-IP global limit.
+     *
+     * @return The global rate limit in requests per period, or 0 for no global limit
+     */
+    int getGlobalRateLimit();
+
+    /**
+     * Gets the global rate limit period.
+     *
+     * @return The global rate limit period in seconds
+     */
+    int getGlobalRateLimitPeriod();
+
+    /**
+     * Checks if rate limit state is shared with other servers on this host.
+     *
+     * @return True if shared rate limiting is enabled
+     */
+    boolean isSharedRateLimitEnabled();
+
+    /**
+     * Gets the directory holding the shared rate limit file.
+     *
+     * @return The shared rate limit directory
+     */
+    File getSharedRateLimitDirectory();
+
+    /**
+     * Gets the maximum number of sent messages waiting to be processed.
+     *
+     * @return The dispatch queue capacity
+     */
+    int getDispatchQueueCapacity();
+
+    /**
+     * Gets the lowest number of concurrent requests the adaptive concurrency limit may drop to.
+     *
+     * @return The minimum concurrency
+     */
+    int getMinConcurrency();
+
+    /**
+     * Gets the highest number of concurrent requests the adaptive concurrency limit may grow to.
+     *
+     * @return The maximum concurrency
+     */
+    int getMaxConcurrency();
+
+    /**
+     * Gets how long shutdown may take to deliver queued messages before abandoning the rest.
+     *
+     * @return The shutdown deadline in seconds
+     */
+    int getShutdownDeadline();
+
+    /**
+     * Checks if every send is recorded to a traffic file in the data folder for later replay.
+     *
+     * @return True if traffic recording is enabled
+     */
+    boolean isTrafficRecordingEnabled();
+
+    /**
+     * Checks if snapshots of the pipeline's counters and latencies are exported to files in the
+     * data folder.
+     *
+     * @return True if metrics are exported
+     */
+    boolean isMetricsExportEnabled();
+
+    /**
+     * Gets the time between two metrics snapshots.
+     *
+     * @return The interval in seconds
+     */
+    int getMetricsInterval();
+
+    /**
+     * Gets the format of the metrics files.
+     *
+     * @return {@code jsonl} for one JSON object per line, or {@code csv}
+     */
+    String getMetricsFormat();
+
+    /**
+     * Gets the size at which a metrics file is closed and a new one started.
+     *
+     * @return The maximum file size in megabytes
+     */
+    int getMetricsMaxFileSize();
+
+    /**
+     * Gets the age at which a metrics file is closed and a new one started.
+     *
+     * @return The maximum file age in hours
+     */
+    int getMetricsMaxFileAge();
+
+    /**
+     * Gets the number of metrics files kept, the oldest are deleted.
+     *
+     * @return The number of files
+     */
+    int getMetricsMaxFiles();
+
+    /**
+     * Gets the HTTP client webhooks are sent with: {@code okhttp}, or {@code jdk} for the JDK's
+     * built-in client, which multiplexes concurrent requests over one HTTP/2 connection per host.
+     *
+     * @return The name of the HTTP transport
+     */
+    String getHttpTransport();
+
+    /**
+     * Checks if connections to the webhooks' hosts are opened at startup, so that the first message
+     * does not pay for the DNS lookup and the TCP and TLS handshakes.
+     *
+     * @return True if connections are warmed up
+     */
+    boolean isConnectionWarmUpEnabled();
+
+    /**
+     * Gets the number of connections to each webhook host that are kept warm while idle.
+     *
+     * @return The number of warm connections, or 0 to only warm up at startup
+     */
+    int getWarmConnections();
+
+    /**
+     * Gets how long the connections may be idle before they are refreshed.
+     *
+     * @return The keep-alive interval in seconds
+     */
+    int getKeepAliveInterval();
+
+    /**
+     * Checks if scheduled messages that are not due at shutdown are saved to the data folder and
+     * scheduled again on the next start.
+     *
+     * @return True if scheduled messages survive restarts
+     */
+    boolean isSchedulePersistenceEnabled();
+
+    /**
+     * Gets the outgoing paths to Discord. Webhooks are spread across them, and each has its own
+     * global rate limit.
+     *
+     * @return The egresses, or an empty list to send from the default address only
+     */
+    List<Egress> getEgresses();
+
+    /**
+     * Gets the egress a webhook is assigned to.
+     *
+     * @param name The name of the webhook
+     * @return The name of the egress, or null to assign one automatically
+     */
+    String getWebhookEgress(String name);
+
+    /**
+     * Gets the weight of a client in the fair sharing of webhook capacity. While several clients
+     * have messages waiting, each is dispatched in proportion to its weight.
+     *
+     * @param client The name of the client, usually the calling plugin
+     * @return The weight, at least 1
+     */
+    int getClientWeight(String client);
+
+    /**
+     * Gets the share of each webhook's rate limit that a client may use.
+     *
+     * @param client The name of the client, usually the calling plugin
+     * @return The quota as a fraction of the rate limit, where 0 or 1 means no quota
+     */
+    double getClientQuota(String client);
+
+    /**
+     * Gets the number of consecutive failures that open a webhook's circuit breaker.
+     *
+     * @param name The name of the webhook
+     * @return The failure threshold
+     */
+    int getCircuitBreakerThreshold(String name);
+
+    /**
+     * Gets how long a webhook's circuit breaker stays open before a probe request is sent.
+     *
+     * @param name The name of the webhook
+     * @return The open duration in seconds
+     */
+    int getCircuitBreakerOpenDuration(String name);
+
+    /**
+     * Checks if a webhook has been disabled.
+     *
+     * @param name The name of the webhook
+     * @return True if the webhook is disabled
+     */
+    boolean isWebhookDisabled(String name);
+
+    /**
+     * Marks a webhook as disabled or enabled.
+     *
+     * @param name The name of the webhook
+     * @param disabled True to disable the webhook
+     */
+    void setWebhookDisabled(String name, boolean disabled);
+
+    /**
+     * Gets the length of a webhook's digest window. Messages sent to a webhook in digest mode are
+     * accumulated during the window and sent as one summary embed.
+     *
+     * @param name The name of the webhook
+     * @return The digest window in seconds, or 0 if digest mode is disabled
+     */
+    int getDigestWindow(String name);
+
+    /**
+     * Gets the number of groups listed in a webhook's digest summary.
+     *
+     * @param name The name of the webhook
+     * @return The number of top entries
+     */
+    int getDigestTopEntries(String name);
+
+    /**
+     * Gets the length of a webhook's sampling window. Of the messages sent to a sampled webhook
+     * during the window, only a uniform sample is sent, each with a footer telling how many
+     * messages it stands for.
+     *
+     * @param name The name of the webhook
+     * @return The sampling window in seconds, or 0 if the webhook is not sampled
+     */
+    int getSamplingWindow(String name);
+
+    /**
+     * Gets the fraction of a sampled webhook's messages that are sent.
+     *
+     * @param name The name of the webhook
+     * @return The sample rate, between 0 and 1
+     */
+    double getSamplingRate(String name);
+
+    /**
+     * Checks if a sampled webhook sends as many messages per window as its rate limit allows,
+     * instead of a fixed fraction.
+     *
+     * @param name The name of the webhook
+     * @return True if the sample rate follows the remaining rate limit budget
+     */
+    boolean isSamplingAdaptive(String name);
+
+    /**
+     * Gets the maximum number of messages a sampled webhook sends per window.
+     *
+     * @param name The name of the webhook
+     * @return The maximum number of samples
+     */
+    int getSamplingMaxSamples(String name);
+}
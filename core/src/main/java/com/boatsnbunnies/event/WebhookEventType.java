@@ -0,0 +1,33 @@
+package com.boatsnbunnies.event;
+
+/**
+ * Enum representing the types of webhook events.
+ *
+ * @since 1.0
+ */
+public enum WebhookEventType {
+    /**
+     * Event fired before a webhook is sent.
+     */
+    PRE_SEND,
+
+    /**
+     * Event fired after a webhook is successfully sent.
+     */
+    SENT,
+
+    /**
+     * Event fired when a webhook fails to send.
+     */
+    FAILED,
+
+    /**
+     * Event fired when a webhook is rate limited.
+     */
+    RATE_LIMITED,
+
+    /**
+     * Event fired when a webhook is disabled because Discord reported it missing or unauthorized.
+     */
+    DISABLED
+}
@@ -0,0 +1,25 @@
+package com.boatsnbunnies.event;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.service.WebhookResponse;
+
+import java.util.List;
+
+/**
+ * Listener for webhook lifecycle events on platforms without their own event system.
+ *
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface WebhookListener {
+
+    /**
+     * Called when a webhook event occurs.
+     *
+     * @param eventType The type of event
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds sent with the webhook
+     * @param response The response from the webhook request
+     */
+    void onWebhookEvent(WebhookEventType eventType, String webhookName, List<WebhookEmbed> embeds, WebhookResponse response);
+}
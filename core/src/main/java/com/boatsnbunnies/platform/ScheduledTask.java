@@ -0,0 +1,15 @@
+package com.boatsnbunnies.platform;
+
+/**
+ * A handle to a repeating task scheduled on a {@link WebhookPlatform}.
+ *
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface ScheduledTask {
+
+    /**
+     * Cancels the task. It will not run again.
+     */
+    void cancel();
+}
@@ -0,0 +1,133 @@
+package com.boatsnbunnies.platform;
+
+import com.boatsnbunnies.config.WebhookSettings;
+import com.boatsnbunnies.event.WebhookEventType;
+import com.boatsnbunnies.event.WebhookListener;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.service.WebhookResponse;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A platform for running the webhook service outside of a Minecraft server, for example in
+ * proxies, command line tools and benchmarks. Tick tasks run on a single daemon thread that
+ * stands in for a server's main thread.
+ *
+ * @since 1.2
+ */
+public class StandalonePlatform implements WebhookPlatform {
+    private final WebhookSettings settings;
+    private final File dataFolder;
+    private final Logger logger;
+    private final Executor asyncExecutor;
+    private final List<WebhookListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService tickExecutor;
+
+    /**
+     * Creates a new standalone platform running async tasks on the common pool.
+     *
+     * @param settings The webhook configuration
+     * @param dataFolder The folder the service may store its files in
+     * @param logger The logger to log to
+     */
+    public StandalonePlatform(WebhookSettings settings, File dataFolder, Logger logger) {
+        this(settings, dataFolder, logger, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new standalone platform.
+     *
+     * @param settings The webhook configuration
+     * @param dataFolder The folder the service may store its files in
+     * @param logger The logger to log to
+     * @param asyncExecutor The executor to run async tasks on
+     */
+    public StandalonePlatform(WebhookSettings settings, File dataFolder, Logger logger, Executor asyncExecutor) {
+        this.settings = settings;
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Registers a listener for webhook events.
+     *
+     * @param listener The listener
+     */
+    public void addListener(WebhookListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener for webhook events.
+     *
+     * @param listener The listener
+     */
+    public void removeListener(WebhookListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public WebhookSettings getWebhookConfig() {
+        return settings;
+    }
+
+    @Override
+    public File getDataFolder() {
+        return dataFolder;
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        asyncExecutor.execute(task);
+    }
+
+    @Override
+    public synchronized ScheduledTask scheduleTickTask(Runnable task) {
+        if (tickExecutor == null) {
+            tickExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "BnBWebhookAPI Tick");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ScheduledFuture<?> future = tickExecutor.scheduleAtFixedRate(task, 50, 50, TimeUnit.MILLISECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public boolean hasEventListeners() {
+        return !listeners.isEmpty();
+    }
+
+    @Override
+    public void callEvent(WebhookEventType eventType, String webhookName, List<WebhookEmbed> embeds, WebhookResponse response) {
+        for (WebhookListener listener : listeners) {
+            try {
+                listener.onWebhookEvent(eventType, webhookName, embeds, response);
+            } catch (RuntimeException e) {
+                log(Level.WARNING, "Webhook listener threw an exception", e);
+            }
+        }
+    }
+
+    @Override
+    public void log(Level level, String message) {
+        logger.log(level, message);
+    }
+
+    @Override
+    public void log(Level level, String message, Throwable throwable) {
+        logger.log(level, message, throwable);
+    }
+}
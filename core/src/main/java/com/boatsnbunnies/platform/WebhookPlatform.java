@@ -0,0 +1,86 @@
+package com.boatsnbunnies.platform;
+
+import com.boatsnbunnies.config.WebhookSettings;
+import com.boatsnbunnies.event.WebhookEventType;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.service.WebhookResponse;
+
+import java.io.File;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * The environment the webhook service runs in.
+ * <p>
+ * Implementations adapt the service to a server platform such as Bukkit or Velocity, or to
+ * standalone tooling, by supplying configuration, task scheduling, event delivery and logging.
+ *
+ * @since 1.2
+ */
+public interface WebhookPlatform {
+
+    /**
+     * Gets the webhook configuration.
+     *
+     * @return The webhook configuration
+     */
+    WebhookSettings getWebhookConfig();
+
+    /**
+     * Gets the folder the service may store its files in.
+     *
+     * @return The data folder
+     */
+    File getDataFolder();
+
+    /**
+     * Runs a task asynchronously, off the calling thread.
+     *
+     * @param task The task to run
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Runs a task on the platform's main thread once per tick, until it is cancelled. Platforms
+     * without a main thread run it on a single dedicated thread every 50 milliseconds.
+     *
+     * @param task The task to run
+     * @return A handle to cancel the task
+     */
+    ScheduledTask scheduleTickTask(Runnable task);
+
+    /**
+     * Checks if anything is listening for webhook events. The service skips creating and
+     * scheduling events when nothing is.
+     *
+     * @return True if there are event listeners
+     */
+    boolean hasEventListeners();
+
+    /**
+     * Delivers a webhook event to the platform's listeners.
+     *
+     * @param eventType The type of event
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds sent with the webhook
+     * @param response The response from the webhook request
+     */
+    void callEvent(WebhookEventType eventType, String webhookName, List<WebhookEmbed> embeds, WebhookResponse response);
+
+    /**
+     * Logs a message.
+     *
+     * @param level The log level
+     * @param message The message to log
+     */
+    void log(Level level, String message);
+
+    /**
+     * Logs a message with an exception.
+     *
+     * @param level The log level
+     * @param message The message to log
+     * @param throwable The exception to log
+     */
+    void log(Level level, String message, Throwable throwable);
+}
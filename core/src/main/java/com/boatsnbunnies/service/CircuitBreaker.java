@@ -0,0 +1,139 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A circuit breaker that stops requests to a webhook whose endpoint keeps failing.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the breaker opens and requests fail fast
+ * without touching the network. Once {@code openDuration} has passed a single probe request is let
+ * through; its outcome either closes the breaker again or re-opens it. A disabled breaker never lets
+ * requests through, it is used for webhooks that no longer exist on Discord's side.
+ *
+ * @since 1.2
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Creates a new circuit breaker.
+     *
+     * @param failureThreshold The number of consecutive failures that open the breaker
+     * @param openDuration How long the breaker stays open before probing
+     * @param unit The time unit of the open duration
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = unit.toNanos(openDuration);
+    }
+
+    /**
+     * Checks whether a request may be sent, claiming the probe if the breaker is ready to probe.
+     *
+     * @return True if the request may be sent
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt >= openDurationNanos) {
+                    state = State.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                // A probe is already in flight, or the webhook is disabled
+                return false;
+        }
+    }
+
+    /**
+     * Gives back a permit from {@link #tryAcquire()} for a request that was never sent, so that a
+     * claimed probe does not leave the breaker half-open forever.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    /**
+     * Records that the endpoint answered.
+     */
+    public synchronized void recordSuccess() {
+        if (state == State.DISABLED) {
+            return;
+        }
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records that the endpoint could not be reached or returned a server error.
+     */
+    public synchronized void recordFailure() {
+        if (state == State.DISABLED) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Permanently stops requests, until the breaker is reset.
+     */
+    public synchronized void disable() {
+        state = State.DISABLED;
+    }
+
+    /**
+     * Closes the breaker and clears its failure count.
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Gets the current state of the breaker.
+     *
+     * @return The state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Requests are sent normally.
+         */
+        CLOSED,
+
+        /**
+         * Requests fail fast until the open duration has passed.
+         */
+        OPEN,
+
+        /**
+         * A single probe request is in flight, other requests fail fast.
+         */
+        HALF_OPEN,
+
+        /**
+         * The webhook was rejected as missing or unauthorized, requests always fail.
+         */
+        DISABLED
+    }
+}
@@ -0,0 +1,104 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Counts the messages one {@link WebhookClient} sent, by outcome.
+ *
+ * @since 1.2
+ */
+public final class ClientUsage {
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder notSampled = new LongAdder();
+
+    /**
+     * Counts the outcome of a completed message, shared by all of the client's messages so that
+     * tracking one does not allocate.
+     */
+    final BiConsumer<WebhookResponse, Throwable> recorder = (response, error) -> {
+        if (response == StreamSampler.NOT_SAMPLED) {
+            notSampled.increment();
+        } else if (response != null && response.isSuccess()) {
+            sent.increment();
+        } else if (response != null && response.getStatusCode() == 429) {
+            rateLimited.increment();
+        } else {
+            failed.increment();
+        }
+    };
+
+    ClientUsage() {
+    }
+
+    /**
+     * Counts a message submitted by the client.
+     */
+    void submitted() {
+        submitted.increment();
+    }
+
+    /**
+     * Gets the number of messages the client submitted.
+     *
+     * @return The number of messages
+     */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * Gets the number of messages Discord accepted.
+     *
+     * @return The number of messages
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Gets the number of messages rejected by a rate limit, the webhook's, the global one or the
+     * client's own quota.
+     *
+     * @return The number of messages
+     */
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * Gets the number of messages that failed for any other reason.
+     *
+     * @return The number of messages
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the number of messages a sampler left out, which were never sent.
+     *
+     * @return The number of messages
+     */
+    public long getNotSampled() {
+        return notSampled.sum();
+    }
+
+    /**
+     * Gets the number of submitted messages that have not completed yet.
+     *
+     * @return The number of messages
+     */
+    public long getPending() {
+        return getSubmitted() - getSent() - getRateLimited() - getFailed() - getNotSampled();
+    }
+
+    @Override
+    public String toString() {
+        return "ClientUsage{submitted=" + getSubmitted() + ", sent=" + getSent()
+                + ", rateLimited=" + getRateLimited() + ", failed=" + getFailed() + ", notSampled=" + getNotSampled() + "}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.boatsnbunnies.service;
+
+/**
+ * The thread a send's future is completed on, and so the thread its dependent stages run on.
+ *
+ * @since 1.2
+ */
+public enum CompletionMode {
+    /**
+     * The future is completed on the thread that finished the request, or on a sender thread if the
+     * message was rejected before it was sent. Dependent stages delay the next request on that
+     * thread, so they should be short.
+     */
+    SENDER_THREAD,
+
+    /**
+     * The future is completed on an executor supplied with the send options.
+     */
+    EXECUTOR,
+
+    /**
+     * The future is completed on the main server thread. Completions are queued and delivered in
+     * batches by a single task that runs once per tick.
+     */
+    MAIN_THREAD
+}
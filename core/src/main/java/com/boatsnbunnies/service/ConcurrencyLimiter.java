@@ -0,0 +1,188 @@
+package com.boatsnbunnies.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An adaptive limit on the number of concurrent HTTP requests, in the style of TCP congestion
+ * control (AIMD).
+ * <p>
+ * The limit grows by one for every limit's worth of fast responses, as long as the limit is
+ * actually in use. It is cut by a tenth when a response takes more than twice the minimum observed
+ * round trip time, and halved when Discord answers with 429 or 5xx or the request fails, at most
+ * once per round trip so that a burst of failures from one window counts once. The minimum round
+ * trip time is re-measured every 30 seconds so that the baseline follows route changes.
+ * <p>
+ * Nothing blocks on the limit: a request that finds it reached is queued as a waiter, and is
+ * handed a slot as soon as one frees up, in the order the waiters were queued.
+ *
+ * @since 1.2
+ */
+final class ConcurrencyLimiter {
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double OVERLOAD_BACKOFF = 0.5;
+    private static final long MIN_RTT_WINDOW = TimeUnit.SECONDS.toNanos(30);
+
+    private final int floor;
+    private final int ceiling;
+    private double limit;
+    private int inFlight;
+    private long minRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private long windowStart = System.nanoTime();
+    private long lastBackoff;
+    private final ArrayDeque<Runnable> waiters = new ArrayDeque<>();
+
+    /**
+     * Creates a new concurrency limiter.
+     *
+     * @param floor The lowest limit
+     * @param ceiling The highest limit
+     * @param initial The starting limit
+     */
+    ConcurrencyLimiter(int floor, int ceiling, int initial) {
+        this.floor = Math.max(1, floor);
+        this.ceiling = Math.max(this.floor, ceiling);
+        this.limit = Math.max(this.floor, Math.min(this.ceiling, initial));
+    }
+
+    /**
+     * Takes a slot for a request if one is free and no earlier request is waiting for one.
+     * Otherwise the waiter is queued, and run with a slot taken for it once one frees up, on the
+     * thread that frees it. It must not block.
+     *
+     * @param waiter Resumes the request once it has a slot
+     * @return True if the request may start now, false if the waiter was queued
+     */
+    boolean tryAcquire(Runnable waiter) {
+        synchronized (this) {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            waiters.addLast(waiter);
+        }
+        return false;
+    }
+
+    /**
+     * Ends a request that was answered normally.
+     *
+     * @param rtt The round trip time in nanoseconds
+     */
+    void onSuccess(long rtt) {
+        List<Runnable> resumed;
+        synchronized (this) {
+            long now = System.nanoTime();
+            updateMinRtt(rtt, now);
+
+            if (rtt > minRtt * LATENCY_TOLERANCE) {
+                backoff(LATENCY_BACKOFF, now);
+            } else if (inFlight * 2 >= (int) limit) {
+                limit = Math.min(ceiling, limit + 1 / limit);
+            }
+            resumed = end();
+        }
+        resume(resumed);
+    }
+
+    /**
+     * Ends a request that Discord rejected as overloaded or rate limited, or that failed.
+     */
+    void onOverload() {
+        List<Runnable> resumed;
+        synchronized (this) {
+            backoff(OVERLOAD_BACKOFF, System.nanoTime());
+            resumed = end();
+        }
+        resume(resumed);
+    }
+
+    /**
+     * Ends a request without a measurement, for example because it was never sent.
+     */
+    void release() {
+        List<Runnable> resumed;
+        synchronized (this) {
+            resumed = end();
+        }
+        resume(resumed);
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return The number of requests allowed in flight
+     */
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the number of requests in flight.
+     *
+     * @return The number of requests in flight
+     */
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of requests waiting for a slot.
+     *
+     * @return The number of waiting requests
+     */
+    synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    private void updateMinRtt(long rtt, long now) {
+        windowMinRtt = Math.min(windowMinRtt, rtt);
+        if (now - windowStart >= MIN_RTT_WINDOW) {
+            minRtt = windowMinRtt;
+            windowMinRtt = Long.MAX_VALUE;
+            windowStart = now;
+        } else {
+            minRtt = Math.min(minRtt, rtt);
+        }
+    }
+
+    private void backoff(double factor, long now) {
+        // Responses to requests sent before the last backoff reflect the old limit
+        long interval = minRtt == Long.MAX_VALUE ? 0 : minRtt;
+        if (lastBackoff != 0 && now - lastBackoff < interval) {
+            return;
+        }
+        limit = Math.max(floor, limit * factor);
+        lastBackoff = now;
+    }
+
+    /**
+     * Frees a slot, and hands the free slots to the waiters, which may be several if the limit grew.
+     *
+     * @return The waiters to resume once the lock is released, or null if none
+     */
+    private List<Runnable> end() {
+        inFlight--;
+        List<Runnable> resumed = null;
+        while (!waiters.isEmpty() && inFlight < (int) limit) {
+            if (resumed == null) {
+                resumed = new ArrayList<>(1);
+            }
+            resumed.add(waiters.pollFirst());
+            inFlight++;
+        }
+        return resumed;
+    }
+
+    private static void resume(List<Runnable> resumed) {
+        if (resumed != null) {
+            for (Runnable waiter : resumed) {
+                waiter.run();
+            }
+        }
+    }
+}
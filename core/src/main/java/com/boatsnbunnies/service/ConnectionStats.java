@@ -0,0 +1,125 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the latency of requests sent on a new connection, which pay for the DNS lookup and the
+ * TCP and TLS handshakes, with requests sent on a warm pooled connection.
+ * <p>
+ * The latency of a request is the time from handing it to the HTTP client to receiving Discord's
+ * response headers.
+ *
+ * @since 1.2
+ */
+public final class ConnectionStats {
+    private final LongAdder coldRequests = new LongAdder();
+    private final LongAdder coldNanos = new LongAdder();
+    private final LongAdder warmRequests = new LongAdder();
+    private final LongAdder warmNanos = new LongAdder();
+    private final LongAdder warmUpRequests = new LongAdder();
+    private volatile long lastColdLatency = -1;
+    volatile long lastRequest = System.nanoTime();
+
+    ConnectionStats() {
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param timings The request's timings
+     */
+    void record(WebhookTimings timings) {
+        lastRequest = System.nanoTime();
+        if (timings.serialized == 0 || timings.headersReceived == 0) {
+            return;
+        }
+        if (!timings.connectionReused && timings.connectStart == 0) {
+            // The transport did not report the connection, as the JDK client does not
+            return;
+        }
+
+        long latency = timings.headersReceived - timings.serialized;
+        if (timings.connectionReused) {
+            warmRequests.increment();
+            warmNanos.add(latency);
+        } else {
+            coldRequests.increment();
+            coldNanos.add(latency);
+            lastColdLatency = latency;
+        }
+    }
+
+    /**
+     * Records a request made only to open or refresh a connection.
+     */
+    void recordWarmUp() {
+        warmUpRequests.increment();
+    }
+
+    /**
+     * Gets the number of messages sent on a new connection.
+     *
+     * @return The number of requests
+     */
+    public long getColdRequests() {
+        return coldRequests.sum();
+    }
+
+    /**
+     * Gets the average latency of messages sent on a new connection.
+     *
+     * @return The latency in nanoseconds, or -1 if there were none
+     */
+    public long getAverageColdLatency() {
+        long requests = coldRequests.sum();
+        return requests == 0 ? -1 : coldNanos.sum() / requests;
+    }
+
+    /**
+     * Gets the latency of the last message sent on a new connection.
+     *
+     * @return The latency in nanoseconds, or -1 if there was none
+     */
+    public long getLastColdLatency() {
+        return lastColdLatency;
+    }
+
+    /**
+     * Gets the number of messages sent on a warm pooled connection.
+     *
+     * @return The number of requests
+     */
+    public long getWarmRequests() {
+        return warmRequests.sum();
+    }
+
+    /**
+     * Gets the average latency of messages sent on a warm pooled connection.
+     *
+     * @return The latency in nanoseconds, or -1 if there were none
+     */
+    public long getAverageWarmLatency() {
+        long requests = warmRequests.sum();
+        return requests == 0 ? -1 : warmNanos.sum() / requests;
+    }
+
+    /**
+     * Gets the number of requests made only to open or refresh connections.
+     *
+     * @return The number of requests
+     */
+    public long getWarmUpRequests() {
+        return warmUpRequests.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionStats{cold=" + getColdRequests() + " avg " + millis(getAverageColdLatency())
+                + ", warm=" + getWarmRequests() + " avg " + millis(getAverageWarmLatency())
+                + ", warmUps=" + getWarmUpRequests() + "}";
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.3fms", nanos / 1_000_000.0);
+    }
+}
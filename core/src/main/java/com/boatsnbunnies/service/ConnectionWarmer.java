@@ -0,0 +1,104 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.platform.WebhookPlatform;
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Opens pooled connections to the hosts of the registered webhooks ahead of the first message,
+ * and refreshes them while no messages are sent so that the server does not close them as idle.
+ * <p>
+ * A connection is opened with a {@code HEAD} request to the root of the host, which does not touch
+ * the API and so takes no rate limit permits. Several requests are made at once to open several
+ * connections; a host speaking HTTP/2 multiplexes them over one.
+ *
+ * @since 1.2
+ */
+final class ConnectionWarmer {
+    private final WebhookPlatform platform;
+    private final Function<String, HttpTransport> transports;
+    private final Executor executor;
+    private final ConnectionStats stats;
+    private final int connections;
+
+    /**
+     * Creates a new connection warmer.
+     *
+     * @param platform The platform, for the webhooks and logging
+     * @param transports The transport each webhook is sent with, whose connections to open
+     * @param executor The executor making the requests, with at least as many threads as connections
+     * @param stats The stats to count the requests in
+     * @param connections The number of connections per host
+     */
+    ConnectionWarmer(WebhookPlatform platform, Function<String, HttpTransport> transports, Executor executor,
+                     ConnectionStats stats, int connections) {
+        this.platform = platform;
+        this.transports = transports;
+        this.executor = executor;
+        this.stats = stats;
+        this.connections = Math.max(1, connections);
+    }
+
+    /**
+     * Opens connections to every webhook host, through every egress in use.
+     */
+    void warmUp() {
+        getHosts().forEach((transport, hosts) -> {
+            for (URI host : hosts) {
+                for (int i = 0; i < connections; i++) {
+                    executor.execute(() -> ping(transport, host));
+                }
+            }
+        });
+    }
+
+    /**
+     * Refreshes the connections if no message was sent for an interval.
+     *
+     * @param interval The idle time after which to refresh
+     * @param unit The time unit of the interval
+     */
+    void keepAlive(long interval, TimeUnit unit) {
+        long now = System.nanoTime();
+        if (now - stats.lastRequest >= unit.toNanos(interval)) {
+            stats.lastRequest = now;
+            warmUp();
+        }
+    }
+
+    /**
+     * Gets the root URLs of the hosts the registered webhooks are on, by the transport sending to them.
+     */
+    private Map<HttpTransport, Set<URI>> getHosts() {
+        Map<HttpTransport, Set<URI>> hosts = new LinkedHashMap<>();
+        platform.getWebhookConfig().getWebhooks().forEach((name, url) -> {
+            URI root;
+            try {
+                root = url != null ? URI.create(url).resolve("/") : null;
+            } catch (IllegalArgumentException e) {
+                root = null;
+            }
+            if (root != null && root.getHost() != null) {
+                hosts.computeIfAbsent(transports.apply(name), transport -> new LinkedHashSet<>()).add(root);
+            }
+        });
+        return hosts;
+    }
+
+    private void ping(HttpTransport transport, URI host) {
+        try {
+            transport.warmUp(host.toString());
+            stats.recordWarmUp();
+        } catch (IOException e) {
+            platform.log(Level.FINE, "Could not warm up a connection to " + host.getHost() + ": " + e.getMessage());
+        }
+    }
+}
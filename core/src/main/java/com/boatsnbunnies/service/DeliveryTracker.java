@@ -0,0 +1,187 @@
+package com.boatsnbunnies.service;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Counts a webhook's outstanding messages, those sent but not yet completed, so that callers can
+ * wait for the webhook's queue to empty, and the outcomes and latencies of the completed ones.
+ * <p>
+ * The messages Discord accepted are also counted per second over the last minute, in a ring of
+ * one counter per second that is reset when it comes around again. A message completing while
+ * its second's counter is being reset may go uncounted, the recent rate is an estimate.
+ * <p>
+ * The tracker itself is the completion callback of every tracked future, so tracking a message
+ * allocates nothing beyond the future's completion node.
+ *
+ * @since 1.2
+ */
+final class DeliveryTracker implements BiConsumer<WebhookResponse, Throwable> {
+    static final int RECENT_SECONDS = 60;
+
+    private final AtomicLong outstanding = new AtomicLong();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder notSampled = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicLongArray recentSeconds = new AtomicLongArray(RECENT_SECONDS);
+    private final AtomicLongArray recentCounts = new AtomicLongArray(RECENT_SECONDS);
+    private final Queue<CompletableFuture<Boolean>> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Counts a message as outstanding from the moment it is submitted. Its outcome is counted once
+     * it is tracked, or passed to {@link #accept} directly.
+     */
+    void submitted() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Tracks a submitted message until its future completes.
+     *
+     * @param future The message's future
+     */
+    void track(CompletableFuture<WebhookResponse> future) {
+        future.whenComplete(this);
+    }
+
+    @Override
+    public void accept(WebhookResponse response, Throwable throwable) {
+        if (response == StreamSampler.NOT_SAMPLED) {
+            notSampled.increment();
+        } else if (response != null && response.isSuccess()) {
+            sent.increment();
+            countRecent(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+        } else if (response != null && response.getStatusCode() == 429) {
+            rateLimited.increment();
+        } else {
+            failed.increment();
+        }
+        if (response != null && response.getTimings() != null) {
+            latencies.record(response.getTimings().getTotalTime());
+        }
+
+        if (outstanding.decrementAndGet() == 0 && !waiters.isEmpty()) {
+            release();
+        }
+    }
+
+    /**
+     * Gets a future that completes with true once no messages are outstanding.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The time unit of the timeout
+     * @return The future, completed with false if the timeout passes first
+     */
+    CompletableFuture<Boolean> flush(long timeout, TimeUnit unit) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        waiters.add(future);
+        future.completeOnTimeout(false, timeout, unit).thenAccept(drained -> {
+            if (!drained) {
+                waiters.remove(future);
+            }
+        });
+
+        // The last message may have completed before the waiter was visible
+        if (outstanding.get() == 0) {
+            release();
+        }
+        return future;
+    }
+
+    /**
+     * Gets the number of outstanding messages.
+     *
+     * @return The number of messages sent but not yet completed
+     */
+    long getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Gets the number of messages Discord accepted.
+     *
+     * @return The number of messages
+     */
+    long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Gets the number of messages rejected by a rate limit.
+     *
+     * @return The number of messages
+     */
+    long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * Gets the number of messages that failed for any other reason.
+     *
+     * @return The number of messages
+     */
+    long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the number of messages a sampler left out, which were never sent.
+     *
+     * @return The number of messages
+     */
+    long getNotSampled() {
+        return notSampled.sum();
+    }
+
+    /**
+     * Gets the counts of the latency histogram, from submission to completion.
+     *
+     * @return The count of each bucket of {@link LatencyHistogram#BOUNDS_MILLIS}
+     */
+    long[] getLatencyCounts() {
+        return latencies.snapshot();
+    }
+
+    /**
+     * Gets the number of messages Discord accepted within the last minute.
+     *
+     * @return The number of messages
+     */
+    long getSentLastMinute() {
+        long now = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long count = 0;
+        for (int i = 0; i < RECENT_SECONDS; i++) {
+            if (now - recentSeconds.get(i) < RECENT_SECONDS) {
+                count += recentCounts.get(i);
+            }
+        }
+        return count;
+    }
+
+    private void countRecent(long second) {
+        int index = (int) Math.floorMod(second, (long) RECENT_SECONDS);
+        long stamp = recentSeconds.get(index);
+        if (stamp != second && recentSeconds.compareAndSet(index, stamp, second)) {
+            recentCounts.set(index, 0);
+        }
+        recentCounts.incrementAndGet(index);
+    }
+
+    private void release() {
+        Iterator<CompletableFuture<Boolean>> iterator = waiters.iterator();
+        while (iterator.hasNext()) {
+            CompletableFuture<Boolean> waiter = iterator.next();
+            iterator.remove();
+            waiter.complete(true);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Accumulates the messages sent to a webhook in digest mode during one window, and renders them
+ * as a single summary embed. Webhooks without a digest window have a disabled aggregator.
+ *
+ * @since 1.2
+ */
+class DigestAggregator {
+    private static final int MAX_FIELDS = 25; // Discord's limit per embed
+    private static final int MAX_EMBED_LENGTH = 6000; // Discord's limit on an embed's total characters
+    private static final String REMAINDER_NAME = "More keys";
+    private static final int REMAINDER_LENGTH = REMAINDER_NAME.length() + 64; // Room for the remainder field's counts
+    private static final int MAX_SAMPLE_LENGTH = 200;
+
+    private final String webhookName;
+    private final int windowSeconds;
+    private final int topEntries;
+
+    private Map<String, Group> groups = new LinkedHashMap<>();
+    private List<CompletableFuture<WebhookResponse>> futures = new ArrayList<>();
+    private int total;
+    private Integer color;
+
+    /**
+     * Creates a new digest aggregator.
+     *
+     * @param webhookName The name of the webhook
+     * @param windowSeconds The length of a digest window in seconds
+     * @param topEntries The number of groups listed in the summary
+     */
+    DigestAggregator(String webhookName, int windowSeconds, int topEntries) {
+        this.webhookName = webhookName;
+        this.windowSeconds = windowSeconds;
+        this.topEntries = Math.max(1, Math.min(MAX_FIELDS - 1, topEntries));
+    }
+
+    /**
+     * Checks if the webhook is in digest mode.
+     *
+     * @return True if messages should be accumulated
+     */
+    boolean isEnabled() {
+        return windowSeconds > 0;
+    }
+
+    /**
+     * Gets the length of a digest window.
+     *
+     * @return The window in seconds
+     */
+    int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Adds a message to the current window.
+     *
+     * @param key The group key
+     * @param content The message content
+     * @param embeds The message embeds
+     * @param future The future to complete when the digest is sent
+     * @return True if this is the first message of the window, and the window should be scheduled
+     */
+    synchronized boolean add(String key, String content, List<WebhookEmbed> embeds, CompletableFuture<WebhookResponse> future) {
+        Group group = groups.computeIfAbsent(key, k -> new Group());
+        group.count++;
+        group.sample = sample(content, embeds);
+        if (!embeds.isEmpty() && embeds.get(0).getColor() != null) {
+            color = embeds.get(0).getColor();
+        }
+
+        futures.add(future);
+        return total++ == 0;
+    }
+
+    /**
+     * Ends the current window, rendering its summary embed. The groups are listed by count for as
+     * long as they fit in the embed's field and character limits, and the rest are folded into a
+     * final remainder field.
+     *
+     * @return The window's summary and futures, or null if nothing was added
+     */
+    synchronized Window drain() {
+        if (total == 0) {
+            return null;
+        }
+
+        List<Map.Entry<String, Group>> sorted = new ArrayList<>(groups.entrySet());
+        sorted.sort(Comparator.comparingInt((Map.Entry<String, Group> entry) -> entry.getValue().count).reversed());
+
+        String title = "Digest: " + webhookName;
+        String description = total + (total == 1 ? " event" : " events") + " in the last " + windowSeconds + "s";
+        WebhookEmbed.Builder builder = new WebhookEmbed.Builder()
+                .title(title)
+                .description(description)
+                .timestamp(Instant.now());
+        if (color != null) {
+            builder.color(color);
+        }
+
+        // Keep room for the remainder field, in case not every group fits
+        int budget = MAX_EMBED_LENGTH - title.length() - description.length() - REMAINDER_LENGTH;
+        int limit = Math.min(topEntries, sorted.size());
+        int shown = 0;
+        while (shown < limit) {
+            Map.Entry<String, Group> entry = sorted.get(shown);
+            String name = truncate(entry.getKey(), 256);
+            String value = "×" + entry.getValue().count;
+            if (entry.getValue().sample != null) {
+                value += "\n" + entry.getValue().sample;
+            }
+            budget -= name.length() + value.length();
+            if (budget < 0) {
+                break;
+            }
+            builder.addField(name, value, false);
+            shown++;
+        }
+
+        if (sorted.size() > shown) {
+            int remaining = 0;
+            for (int i = shown; i < sorted.size(); i++) {
+                remaining += sorted.get(i).getValue().count;
+            }
+            builder.addField(REMAINDER_NAME, "×" + remaining + " across " + (sorted.size() - shown) + " more keys", false);
+        }
+
+        Window window = new Window(builder.build(), futures);
+        groups = new LinkedHashMap<>();
+        futures = new ArrayList<>();
+        total = 0;
+        color = null;
+        return window;
+    }
+
+    /**
+     * Gets the default group key of a message.
+     *
+     * @param content The message content
+     * @param embeds The message embeds
+     * @return The first embed's title, the content, or a fallback key
+     */
+    static String defaultKey(String content, List<WebhookEmbed> embeds) {
+        if (!embeds.isEmpty() && embeds.get(0).getTitle() != null) {
+            return embeds.get(0).getTitle();
+        }
+        if (content != null && !content.isEmpty()) {
+            return truncate(content, 256);
+        }
+        return "Other";
+    }
+
+    private static String sample(String content, List<WebhookEmbed> embeds) {
+        if (!embeds.isEmpty() && embeds.get(0).getDescription() != null) {
+            return truncate(embeds.get(0).getDescription(), MAX_SAMPLE_LENGTH);
+        }
+        if (content != null && !content.isEmpty()) {
+            return truncate(content, MAX_SAMPLE_LENGTH);
+        }
+        return null;
+    }
+
+    private static String truncate(String text, int length) {
+        return text.length() <= length ? text : text.substring(0, length - 1) + "…";
+    }
+
+    /**
+     * A group of messages sharing a key.
+     */
+    private static class Group {
+        private int count;
+        private String sample;
+    }
+
+    /**
+     * A finished digest window.
+     */
+    static class Window {
+        private final WebhookEmbed summary;
+        private final List<CompletableFuture<WebhookResponse>> futures;
+
+        Window(WebhookEmbed summary, List<CompletableFuture<WebhookResponse>> futures) {
+            this.summary = summary;
+            this.futures = futures;
+        }
+
+        WebhookEmbed getSummary() {
+            return summary;
+        }
+
+        List<CompletableFuture<WebhookResponse>> getFutures() {
+            return futures;
+        }
+    }
+}
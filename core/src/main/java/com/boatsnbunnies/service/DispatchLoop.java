@@ -0,0 +1,211 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.WebhookPlatform;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+
+/**
+ * The single consumer of the {@link SubmissionRingBuffer}.
+ * <p>
+ * Sending threads only publish their submission and, if the loop is asleep, wake it up. All other
+ * work happens on the loop's thread, which takes up to {@value #BATCH_SIZE} published submissions
+ * at a time, orders them fairly across clients with a {@link FairScheduler} and hands each to the
+ * service's handler. Deferred work, such as a message whose rate limit permit has freed up, is
+ * handed to the loop as a task and runs ahead of the next batch. When stopped, the loop delivers its backlog highest priority first until a
+ * deadline, and abandons the rest.
+ *
+ * @since 1.2
+ */
+final class DispatchLoop {
+    static final int BATCH_SIZE = 256;
+
+    private final WebhookPlatform platform;
+    private final SubmissionRingBuffer ringBuffer;
+    private final Consumer<SubmissionRingBuffer.Submission> attach;
+    private final Consumer<SubmissionRingBuffer.Submission> handler;
+    private final FairScheduler scheduler;
+    private final SubmissionRingBuffer.Submission[] batch = new SubmissionRingBuffer.Submission[BATCH_SIZE];
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final AtomicInteger publishing = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+    private volatile long deadline;
+    private volatile int abandoned;
+
+    /**
+     * Creates and starts a new dispatch loop.
+     *
+     * @param platform The platform, used for logging
+     * @param capacity The capacity of the ring buffer
+     * @param attach Attaches the completion callbacks of each submission on the loop's thread, before
+     *               it is handled or abandoned, so that publishing a submission does not allocate them
+     * @param handler The handler processing each submission on the loop's thread
+     * @param weights The weight of each client in the fair ordering of submissions
+     */
+    DispatchLoop(WebhookPlatform platform, int capacity, Consumer<SubmissionRingBuffer.Submission> attach,
+                 Consumer<SubmissionRingBuffer.Submission> handler, ToIntFunction<WebhookClient> weights) {
+        this.platform = platform;
+        this.ringBuffer = new SubmissionRingBuffer(capacity);
+        this.attach = attach;
+        this.handler = handler;
+        this.scheduler = new FairScheduler(BATCH_SIZE, weights);
+        this.thread = new Thread(this::run, "BnBWebhookAPI Dispatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Publishes a submission to the loop.
+     *
+     * @return False if the ring buffer is full or the loop has stopped
+     */
+    boolean offer(String webhookName, String content, List<WebhookEmbed> embeds,
+                  Supplier<List<WebhookEmbed>> embedsSupplier, SendOptions options, WebhookClient client,
+                  CompletableFuture<WebhookResponse> future) {
+        // Announce the publication before checking that the loop runs, so that a stopping loop
+        // either is seen here or waits for it before draining its backlog
+        publishing.incrementAndGet();
+        try {
+            if (!running || !ringBuffer.offer(webhookName, content, embeds, embedsSupplier, options, client, future)) {
+                return false;
+            }
+        } finally {
+            publishing.decrementAndGet();
+        }
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Runs a task on the loop's thread, ahead of the submissions not yet taken. Tasks still queued
+     * when the loop stops are not run, whoever queued them has to account for them at shutdown.
+     *
+     * @param task The task
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Stops accepting submissions and waits for the already published ones to be handled, highest
+     * priority first. Submissions not handled by the deadline are abandoned.
+     *
+     * @param deadline The {@link System#nanoTime()} by which to give up
+     * @return The number of abandoned submissions
+     * @throws InterruptedException If interrupted while waiting
+     */
+    int stop(long deadline) throws InterruptedException {
+        this.deadline = deadline;
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+
+        // A handler is still running, for example an event listener or an embed supplier
+        if (thread.isAlive()) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        return abandoned;
+    }
+
+    private void run() {
+        while (running) {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    platform.log(Level.SEVERE, "Failed to run dispatch task", e);
+                }
+            }
+
+            // Take what has been published so far without releasing it, the slots are handed back
+            // in order once the whole batch has been handled
+            int count = 0;
+            SubmissionRingBuffer.Submission submission;
+            while (count < batch.length && (submission = ringBuffer.peek(count)) != null) {
+                batch[count++] = submission;
+            }
+            if (count == 0) {
+                // Announce that we are going to sleep before the final emptiness check, so that a
+                // producer publishing concurrently either is seen here or sees us sleeping
+                sleeping = true;
+                if (running && ringBuffer.isEmpty() && tasks.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+                continue;
+            }
+
+            int[] order = scheduler.schedule(batch, count);
+            for (int i = 0; i < count; i++) {
+                handle(batch[order[i]]);
+            }
+            ringBuffer.release(count);
+        }
+        drain();
+    }
+
+    private void handle(SubmissionRingBuffer.Submission submission) {
+        attach.accept(submission);
+        process(submission);
+    }
+
+    private void process(SubmissionRingBuffer.Submission submission) {
+        try {
+            handler.accept(submission);
+        } catch (RuntimeException e) {
+            submission.future.complete(WebhookResponse.failure(500, "Failed to dispatch webhook: " + e.getMessage()));
+            platform.log(Level.SEVERE, "Failed to dispatch webhook " + submission.webhookName, e);
+        }
+    }
+
+    /**
+     * Handles the backlog left when the loop was stopped, highest priority first.
+     */
+    private void drain() {
+        // Publications that saw the loop running are part of the backlog
+        while (publishing.get() > 0) {
+            Thread.onSpinWait();
+        }
+
+        List<SubmissionRingBuffer.Submission> backlog = new ArrayList<>();
+        SubmissionRingBuffer.Submission submission;
+        while ((submission = ringBuffer.poll()) != null) {
+            attach.accept(submission);
+            backlog.add(submission.copy());
+            ringBuffer.release(submission);
+        }
+        backlog.sort(Comparator.comparing(s -> s.options.getPriority()));
+
+        int count = 0;
+        for (SubmissionRingBuffer.Submission pending : backlog) {
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                pending.future.complete(WebhookResponse.failure(503, "Abandoned at shutdown"));
+                count++;
+                continue;
+            }
+            process(pending);
+        }
+        abandoned = count;
+    }
+}
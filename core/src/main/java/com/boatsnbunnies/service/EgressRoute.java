@@ -0,0 +1,101 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.Egress;
+
+import java.net.InetSocketAddress;
+
+/**
+ * The runtime state of one outgoing path to Discord: the HTTP transport sending from its local
+ * address or through its proxy, its global rate limiter, and the pause after Discord reported its
+ * global rate limit as hit for the path's IP.
+ *
+ * @since 1.2
+ */
+final class EgressRoute {
+    private final String name;
+    private final HttpTransport transport;
+    private final RateLimiter globalRateLimiter;
+    private volatile long pausedUntil = System.nanoTime();
+
+    /**
+     * Creates a route.
+     *
+     * @param name The name of the egress
+     * @param transport The transport sending through the egress
+     * @param globalRateLimiter The egress's global rate limiter, or null if there is no global limit
+     */
+    EgressRoute(String name, HttpTransport transport, RateLimiter globalRateLimiter) {
+        this.name = name;
+        this.transport = transport;
+        this.globalRateLimiter = globalRateLimiter;
+    }
+
+    /**
+     * Gets the address of an egress's HTTP proxy.
+     *
+     * @param egress The egress, with a proxy
+     * @return The unresolved address of the proxy
+     * @throws IllegalArgumentException If the proxy is not {@code host:port}
+     */
+    static InetSocketAddress parseProxy(Egress egress) {
+        String proxy = egress.getProxy().replaceFirst("^https?://", "");
+        int separator = proxy.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Proxy of egress " + egress.getName() + " is not host:port: " + proxy);
+        }
+        int port = Integer.parseInt(proxy.substring(separator + 1));
+        String host = proxy.substring(0, separator).replace("[", "").replace("]", "");
+        return InetSocketAddress.createUnresolved(host, port);
+    }
+
+    /**
+     * Gets the name of the egress.
+     *
+     * @return The name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the transport sending through the egress.
+     *
+     * @return The HTTP transport
+     */
+    HttpTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Gets the egress's global rate limiter.
+     *
+     * @return The global rate limiter, or null if there is no global limit
+     */
+    RateLimiter getGlobalRateLimiter() {
+        return globalRateLimiter;
+    }
+
+    /**
+     * Holds the egress's traffic after Discord reported its global rate limit as hit.
+     *
+     * @param pause The time to pause in nanoseconds
+     * @return True if the pause was extended, false if an equal or longer one is in effect
+     */
+    boolean pause(long pause) {
+        long until = System.nanoTime() + pause;
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets how long the egress's global rate limit pause still lasts.
+     *
+     * @return The time in nanoseconds, 0 if the egress is not paused
+     */
+    long nanosUntilResume() {
+        return Math.max(0, pausedUntil - System.nanoTime());
+    }
+}
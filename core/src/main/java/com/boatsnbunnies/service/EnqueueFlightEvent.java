@@ -0,0 +1,17 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a message is handed to the dispatch loop, on the sending thread. The status code is
+ * 503 if the dispatch queue was full.
+ *
+ * @since 1.2
+ */
+@Name("bnbwebhookapi.Enqueue")
+@Label("Webhook Enqueue")
+@Description("A message was handed to the dispatch queue")
+final class EnqueueFlightEvent extends WebhookFlightEvent {
+}
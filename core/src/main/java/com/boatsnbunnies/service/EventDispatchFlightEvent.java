@@ -0,0 +1,18 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans the delivery of a webhook event to the platform's listeners, on the thread that calls them.
+ *
+ * @since 1.2
+ */
+@Name("bnbwebhookapi.EventDispatch")
+@Label("Webhook Event Dispatch")
+@Description("A webhook event was delivered to the listeners")
+final class EventDispatchFlightEvent extends WebhookFlightEvent {
+    @Label("Event Type")
+    String eventType;
+}
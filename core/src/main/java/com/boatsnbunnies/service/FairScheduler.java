@@ -0,0 +1,105 @@
+package com.boatsnbunnies.service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Orders a batch of submissions by weighted round robin across the clients that sent them.
+ * <p>
+ * Each client's submissions keep their order, but rather than being handled in arrival order the
+ * clients take turns, each handing over as many submissions per turn as its weight. Rate limit
+ * permits are handed out in the order submissions are handled, so a client flooding a webhook no
+ * longer takes every permit ahead of the others. Messages sent without a client share one turn.
+ * <p>
+ * Only used on the dispatch loop's thread. A batch with a single client is returned in order
+ * without further work, and the per-client queues are reused across batches.
+ *
+ * @since 1.2
+ */
+final class FairScheduler {
+    private final ToIntFunction<WebhookClient> weights;
+    private final Map<WebhookClient, ClientQueue> queues = new IdentityHashMap<>();
+    private final ClientQueue unattributed;
+    private final List<ClientQueue> active = new ArrayList<>();
+    private final int[] order;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param batchSize The largest batch to schedule
+     * @param weights The weight of each client, the client being null for unattributed messages
+     */
+    FairScheduler(int batchSize, ToIntFunction<WebhookClient> weights) {
+        this.weights = weights;
+        this.order = new int[batchSize];
+        this.unattributed = new ClientQueue(batchSize);
+    }
+
+    /**
+     * Orders a batch.
+     *
+     * @param batch The submissions, in arrival order
+     * @param count The number of submissions in the batch
+     * @return The indexes of the submissions in the order to handle them, valid until the next call
+     */
+    int[] schedule(SubmissionRingBuffer.Submission[] batch, int count) {
+        boolean shared = false;
+        for (int i = 1; i < count && !shared; i++) {
+            shared = batch[i].client != batch[0].client;
+        }
+        if (!shared) {
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+
+        for (int i = 0; i < count; i++) {
+            WebhookClient client = batch[i].client;
+            ClientQueue queue = client != null ? queues.get(client) : unattributed;
+            if (queue == null) {
+                queue = new ClientQueue(order.length);
+                queues.put(client, queue);
+            }
+            if (queue.size == 0) {
+                queue.weight = Math.max(1, weights.applyAsInt(client));
+                active.add(queue);
+            }
+            queue.indexes[queue.size++] = i;
+        }
+
+        int scheduled = 0;
+        while (scheduled < count) {
+            for (ClientQueue queue : active) {
+                int turn = Math.min(queue.weight, queue.size - queue.next);
+                for (int i = 0; i < turn; i++) {
+                    order[scheduled++] = queue.indexes[queue.next++];
+                }
+            }
+        }
+
+        for (ClientQueue queue : active) {
+            queue.size = 0;
+            queue.next = 0;
+        }
+        active.clear();
+        return order;
+    }
+
+    /**
+     * The indexes of one client's submissions within the current batch.
+     */
+    private static final class ClientQueue {
+        final int[] indexes;
+        int size;
+        int next;
+        int weight;
+
+        ClientQueue(int capacity) {
+            this.indexes = new int[capacity];
+        }
+    }
+}
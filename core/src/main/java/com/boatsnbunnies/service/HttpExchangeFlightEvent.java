@@ -0,0 +1,19 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans the HTTP request of a message and the parsing of Discord's response. The status code is
+ * 500 if the request failed without a response.
+ *
+ * @since 1.2
+ */
+@Name("bnbwebhookapi.HttpExchange")
+@Label("Webhook HTTP Exchange")
+@Description("A message was sent to Discord")
+final class HttpExchangeFlightEvent extends WebhookFlightEvent {
+    @Label("Egress")
+    String egress;
+}
@@ -0,0 +1,82 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.Egress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends webhook payloads to Discord over HTTP, so that the service does not depend on one HTTP
+ * client.
+ * <p>
+ * {@link OkHttpTransport} sends with OkHttp on the calling thread, straight from the thread's
+ * payload buffer. {@link JdkHttpTransport} sends with the JDK's {@link java.net.http.HttpClient},
+ * asynchronously and multiplexing concurrent requests over one HTTP/2 connection per host.
+ * <p>
+ * This is an internal seam rather than an extension point: the transports read the package's
+ * {@link PayloadWriter} directly, and other clients are added here, not by plugins.
+ *
+ * @since 1.2
+ */
+interface HttpTransport extends Closeable {
+
+    /**
+     * Creates the transport configured in {@code connection.transport}.
+     *
+     * @param name {@code okhttp} or {@code jdk}, OkHttp if null or unknown
+     * @param pooledConnections The number of idle connections to keep per host
+     * @return The transport
+     */
+    static HttpTransport create(String name, int pooledConnections) {
+        if ("jdk".equalsIgnoreCase(name)) {
+            return new JdkHttpTransport();
+        }
+        return new OkHttpTransport(pooledConnections);
+    }
+
+    /**
+     * Gets the name of the transport.
+     *
+     * @return {@code okhttp} or {@code jdk}
+     */
+    String getName();
+
+    /**
+     * Derives a transport sending from an egress's local address or through its proxy. OkHttp
+     * shares the connection pool with the derived transport, the JDK client cannot.
+     *
+     * @param egress The egress
+     * @return The egress's transport
+     * @throws IOException If the egress's local address or proxy is not valid
+     */
+    HttpTransport forEgress(Egress egress) throws IOException;
+
+    /**
+     * Sends the payload last written by the current thread's {@link PayloadWriter}. The payload
+     * is read before this method returns, so the thread may write its next one right away.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param wait Whether to add {@code ?wait=true}, so that Discord returns the created message
+     * @param payload The current thread's payload writer
+     * @param timings The request's timings, to record the connection and response timestamps in
+     * @return A future completed with the parsed response, or exceptionally with an
+     *         {@link IOException} if no response was received
+     */
+    CompletableFuture<WebhookResponse> send(String webhookUrl, boolean wait, PayloadWriter payload, WebhookTimings timings);
+
+    /**
+     * Opens a connection to a host with a {@code HEAD} request to its root, without following
+     * redirects.
+     *
+     * @param webhookUrl The URL of a webhook on the host
+     * @throws IOException If the host could not be reached
+     */
+    void warmUp(String webhookUrl) throws IOException;
+
+    /**
+     * Releases the transport's threads and connections. Derived transports are closed separately.
+     */
+    @Override
+    void close();
+}
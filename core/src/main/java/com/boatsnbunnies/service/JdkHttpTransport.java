@@ -0,0 +1,150 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.Egress;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends webhooks with the JDK's {@link HttpClient}, asynchronously and over HTTP/2 where the host
+ * supports it, so that concurrent requests to a host are multiplexed over one connection.
+ * <p>
+ * The payload is copied out of the calling thread's buffer, since it is written to the connection
+ * by the client's own threads. The response body is only read when the parser needs it. The client
+ * does not report connection events, so of the connection timings only the time the response
+ * headers arrived is recorded.
+ *
+ * @since 1.2
+ */
+final class JdkHttpTransport implements HttpTransport {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(40);
+
+    private final HttpClient httpClient;
+    private final Map<String, URI> uris;
+    private final Map<String, URI> waitUris;
+
+    /**
+     * Creates a new JDK transport.
+     */
+    JdkHttpTransport() {
+        this(newBuilder().build(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private JdkHttpTransport(HttpClient httpClient, Map<String, URI> uris, Map<String, URI> waitUris) {
+        this.httpClient = httpClient;
+        this.uris = uris;
+        this.waitUris = waitUris;
+    }
+
+    private static HttpClient.Builder newBuilder() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER);
+    }
+
+    @Override
+    public String getName() {
+        return "jdk";
+    }
+
+    @Override
+    public HttpTransport forEgress(Egress egress) throws IOException {
+        HttpClient.Builder builder = newBuilder();
+        if (egress.getLocalAddress() != null) {
+            builder.localAddress(InetAddress.getByName(egress.getLocalAddress()));
+        }
+        if (egress.getProxy() != null) {
+            builder.proxy(ProxySelector.of(EgressRoute.parseProxy(egress)));
+        }
+        return new JdkHttpTransport(builder.build(), uris, waitUris);
+    }
+
+    @Override
+    public CompletableFuture<WebhookResponse> send(String webhookUrl, boolean wait, PayloadWriter payload,
+                                                   WebhookTimings timings) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(getUri(webhookUrl, wait))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", PayloadWriter.CONTENT_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload.toByteArray()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid webhook URL: " + e.getMessage(), e));
+        }
+
+        // Only keep the body of responses the parser reads, discard it otherwise
+        HttpResponse.BodyHandler<byte[]> bodyHandler = info -> {
+            timings.headersReceived = System.nanoTime();
+            boolean success = info.statusCode() >= 200 && info.statusCode() < 300;
+            return !success || wait
+                    ? HttpResponse.BodySubscribers.ofByteArray()
+                    : HttpResponse.BodySubscribers.replacing(null);
+        };
+
+        timings.requestSent = System.nanoTime();
+        return httpClient.sendAsync(request, bodyHandler).thenApply(response -> {
+            byte[] body = response.body();
+            return ResponseParser.parse(response.statusCode(), "", name -> response.headers().firstValue(name).orElse(null),
+                    response.headers().firstValue("Content-Type").orElse(null),
+                    body != null ? () -> new ByteArrayInputStream(body) : null, wait, timings);
+        });
+    }
+
+    @Override
+    public void warmUp(String webhookUrl) throws IOException {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(webhookUrl).resolve("/"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Not an HTTP URL: " + webhookUrl, e);
+        }
+        try {
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while warming up a connection", e);
+        }
+    }
+
+    /**
+     * Gets the parsed form of a webhook URL, so that it is not parsed again for every request.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param wait Whether to add {@code ?wait=true}
+     * @return The parsed URL
+     */
+    private URI getUri(String webhookUrl, boolean wait) {
+        Map<String, URI> cache = wait ? waitUris : uris;
+        URI uri = cache.get(webhookUrl);
+        if (uri == null) {
+            String url = webhookUrl;
+            if (wait) {
+                url += (webhookUrl.indexOf('?') < 0 ? "?" : "&") + "wait=true";
+            }
+            uri = URI.create(url);
+            cache.put(webhookUrl, uri);
+        }
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        httpClient.shutdownNow();
+    }
+}
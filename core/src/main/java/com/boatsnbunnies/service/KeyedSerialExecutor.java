@@ -0,0 +1,187 @@
+package com.boatsnbunnies.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs tasks strictly one after another per key, and in parallel across keys, on a shared
+ * executor.
+ * <p>
+ * No thread is dedicated to a key, and a key only exists while it has a task running. The first
+ * task of an idle key is handed to the executor; tasks submitted while it runs wait in the key's
+ * queue and are run in submission order by the same worker once it finishes. A task is finished
+ * when it returns, so anything that has to stay in order with the tasks behind it, such as a
+ * retry, must happen within the task.
+ * <p>
+ * A {@link Gated} task may have to wait for something before it starts, such as a concurrency
+ * slot. It then gives up its thread, and the key's later tasks wait with it until it is resumed.
+ *
+ * @since 1.2
+ */
+final class KeyedSerialExecutor {
+    private final ExecutorService executor;
+    private final Map<String, Deque<Runnable>> waiting = new HashMap<>(); // Guarded by itself
+    private final Map<String, Runnable> suspended = new HashMap<>(); // Guarded by waiting
+    private boolean shutdown; // Guarded by waiting
+
+    /**
+     * Creates a new serial executor.
+     *
+     * @param executor The executor running the tasks
+     */
+    KeyedSerialExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a task once every task submitted earlier under the same key has finished. If the
+     * executor rejects the task, for example because it is shutting down, the key's tasks are run
+     * on the calling thread instead, so that none is lost, as are tasks executed after
+     * {@link #shutdownNow()}.
+     *
+     * @param key The ordering key
+     * @param task The task
+     */
+    void execute(String key, Runnable task) {
+        boolean stopped;
+        synchronized (waiting) {
+            stopped = shutdown;
+            if (!stopped) {
+                Deque<Runnable> queue = waiting.get(key);
+                if (queue != null) {
+                    queue.addLast(task);
+                    return;
+                }
+                waiting.put(key, new ArrayDeque<>());
+            }
+        }
+        if (stopped) {
+            task.run();
+            return;
+        }
+
+        submit(key, task, false);
+    }
+
+    /**
+     * Stops the executor and removes the tasks that have not started: those waiting behind their
+     * key, gated tasks waiting to start and those the executor has not picked up yet. Running tasks
+     * are interrupted, and no task is started after the ones running finish.
+     *
+     * @return The tasks that were not started, so that the caller can fail them
+     */
+    List<Runnable> shutdownNow() {
+        List<Runnable> unstarted = new ArrayList<>();
+        synchronized (waiting) {
+            shutdown = true;
+            unstarted.addAll(suspended.values());
+            suspended.clear();
+            for (Deque<Runnable> queue : waiting.values()) {
+                unstarted.addAll(queue);
+                queue.clear();
+            }
+        }
+        for (Runnable runnable : executor.shutdownNow()) {
+            unstarted.add(runnable instanceof KeyedTask ? ((KeyedTask) runnable).task : runnable);
+        }
+        return unstarted;
+    }
+
+    private void submit(String key, Runnable task, boolean admitted) {
+        try {
+            executor.execute(new KeyedTask(key, task, admitted));
+        } catch (RejectedExecutionException e) {
+            run(key, task, admitted);
+        }
+    }
+
+    private void run(String key, Runnable task, boolean admitted) {
+        while (task != null) {
+            if (!admitted && task instanceof Gated) {
+                // Registered before trying, since the task may be resumed before tryStart returns
+                Runnable gated = task;
+                synchronized (waiting) {
+                    suspended.put(key, gated);
+                }
+                if (!((Gated) gated).tryStart(() -> resume(key, gated))) {
+                    return;
+                }
+                synchronized (waiting) {
+                    suspended.remove(key);
+                }
+            }
+            admitted = false;
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Keep the key's queue moving, the failed task is reported like any other
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+
+            synchronized (waiting) {
+                task = waiting.get(key).pollFirst();
+                if (task == null) {
+                    waiting.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands a gated task that may start now back to the executor, together with the tasks queued
+     * behind it, unless shutdown has taken it.
+     */
+    private void resume(String key, Runnable task) {
+        synchronized (waiting) {
+            if (suspended.get(key) != task) {
+                return;
+            }
+            suspended.remove(key);
+        }
+        submit(key, task, true);
+    }
+
+    /**
+     * A task that may have to wait for something before it starts, without holding a thread.
+     */
+    interface Gated extends Runnable {
+
+        /**
+         * Tries to start the task. If it cannot start yet, it has to arrange for the resume
+         * callback to be run once it can, which runs the task and those queued behind it.
+         *
+         * @param resume Resumes the task
+         * @return True if the task may run now
+         */
+        boolean tryStart(Runnable resume);
+    }
+
+    /**
+     * The first task of an idle key, or a resumed one, handed to the executor together with the
+     * tasks queued behind it.
+     */
+    private final class KeyedTask implements Runnable {
+        final String key;
+        final Runnable task;
+        final boolean admitted;
+
+        KeyedTask(String key, Runnable task, boolean admitted) {
+            this.key = key;
+            this.task = task;
+            this.admitted = admitted;
+        }
+
+        @Override
+        public void run() {
+            KeyedSerialExecutor.this.run(key, task, admitted);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in fixed buckets, from a few milliseconds to a minute, so that percentiles can
+ * be estimated without keeping the samples. Recording is a single atomic increment.
+ *
+ * @since 1.2
+ */
+final class LatencyHistogram {
+    /**
+     * The upper bound of each bucket in milliseconds. A last bucket counts everything above.
+     */
+    static final long[] BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds, ignored if negative
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+
+    /**
+     * Copies the counts of the buckets.
+     *
+     * @return The count of each bucket, the last one for latencies above all bounds
+     */
+    long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket it falls in.
+     *
+     * @param counts The count of each bucket
+     * @param percentile The percentile, between 0 and 1
+     * @return The latency in milliseconds, -1 if there are no latencies, or {@link Long#MAX_VALUE}
+     *         if it is above all bounds
+     */
+    static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BOUNDS_MILLIS[i];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
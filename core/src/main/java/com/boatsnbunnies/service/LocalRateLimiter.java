@@ -0,0 +1,87 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rate limiter that limits the number of requests per time period within this JVM.
+ * <p>
+ * The timestamps of the last {@code maxRequests} requests are kept in a ring of primitive longs,
+ * so acquiring a permit does not allocate.
+ *
+ * @since 1.2
+ */
+class LocalRateLimiter implements RateLimiter {
+    private final long periodNanos;
+    private final long[] requestTimestamps;
+    private int oldest;
+    private int count;
+
+    /**
+     * Creates a new rate limiter.
+     *
+     * @param maxRequests The maximum number of requests per period
+     * @param period The time period
+     * @param unit The time unit of the period
+     */
+    LocalRateLimiter(int maxRequests, long period, TimeUnit unit) {
+        this.periodNanos = unit.toNanos(period);
+        this.requestTimestamps = new long[Math.max(0, maxRequests)];
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        if (requestTimestamps.length == 0) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+
+        // Check if we can make another request
+        if (count < requestTimestamps.length) {
+            requestTimestamps[(oldest + count++) % requestTimestamps.length] = now;
+            return true;
+        }
+
+        // The window is full, the oldest request has to be outside of the period
+        if (now - requestTimestamps[oldest] > periodNanos) {
+            requestTimestamps[oldest] = now;
+            oldest = (oldest + 1) % requestTimestamps.length;
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public synchronized void refund() {
+        // Dropping the newest timestamp from the window frees its permit, whether or not acquiring
+        // it evicted an expired one
+        if (count > 0) {
+            count--;
+        }
+    }
+
+    @Override
+    public synchronized long nanosUntilPermit() {
+        if (requestTimestamps.length == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (count < requestTimestamps.length) {
+            return 0;
+        }
+
+        // The oldest request leaves the window strictly after one period
+        return Math.max(0, requestTimestamps[oldest] + periodNanos + 1 - System.nanoTime());
+    }
+
+    @Override
+    public synchronized int availablePermits() {
+        // Timestamps are in order from the oldest, so the expired ones come first
+        long now = System.nanoTime();
+        int expired = 0;
+        while (expired < count && now - requestTimestamps[(oldest + expired) % requestTimestamps.length] > periodNanos) {
+            expired++;
+        }
+        return requestTimestamps.length - count + expired;
+    }
+}
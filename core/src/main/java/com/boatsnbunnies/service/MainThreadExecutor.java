@@ -0,0 +1,93 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.platform.ScheduledTask;
+import com.boatsnbunnies.platform.WebhookPlatform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+
+/**
+ * An executor that runs its tasks on the platform's main thread.
+ * <p>
+ * Rather than scheduling one task per completion, tasks are queued and drained once per tick by a
+ * single repeating task, which is only scheduled once the executor is first used.
+ *
+ * @since 1.2
+ */
+final class MainThreadExecutor implements Executor {
+    private final WebhookPlatform platform;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final Object lock = new Object();
+    private ScheduledTask tickTask; // Guarded by lock
+    private volatile boolean started;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new main thread executor.
+     *
+     * @param platform The platform to schedule the tick task on
+     */
+    MainThreadExecutor(WebhookPlatform platform) {
+        this.platform = platform;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        pending.add(task);
+
+        // Nothing drains the queue after shutdown, so whoever queues a task runs it. Queued before
+        // the check, it is either seen by the final drain or run here
+        if (shutdown) {
+            drain();
+            return;
+        }
+        if (!started) {
+            start();
+        }
+    }
+
+    /**
+     * Schedules the tick task, unless it is scheduled already or the executor was shut down. The
+     * task is scheduled under the same lock as {@link #shutdown()} cancels it, so that a concurrent
+     * shutdown cannot miss it.
+     */
+    private void start() {
+        synchronized (lock) {
+            if (started || shutdown) {
+                return;
+            }
+            tickTask = platform.scheduleTickTask(this::drain);
+            started = true;
+        }
+    }
+
+    /**
+     * Runs all queued tasks. Must be called on the main thread, except after {@link #shutdown()}.
+     */
+    void drain() {
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                platform.log(Level.WARNING, "Webhook completion callback threw an exception", e);
+            }
+        }
+    }
+
+    /**
+     * Cancels the tick task. Tasks queued afterwards, such as the completions of requests that were
+     * still in flight, are run right away on the thread queuing them, since the main thread no longer
+     * drains the queue. Call {@link #drain()} once more afterwards for the tasks queued before.
+     */
+    void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            if (tickTask != null) {
+                tickTask.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.platform.ScheduledTask;
+import com.boatsnbunnies.platform.WebhookPlatform;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Appends periodic snapshots of the pipeline's counters and latency histograms to rolling files,
+ * for offline analysis on servers without a metrics agent.
+ * <p>
+ * Every snapshot writes one row per registered webhook and a row for all webhooks together,
+ * named {@code *}. Counts and histogram buckets are for the interval since the previous snapshot;
+ * queue sizes and limits are the current values. Each row also carries the server's ticks per
+ * second over the interval, counted by a tick task, so that webhook traffic can be charted against
+ * server performance. Rows are encoded into a reusable buffer and written through a file channel
+ * on the exporter's own thread. A new file is started once the current one reaches its maximum
+ * size or age, and the oldest files are deleted beyond the maximum count.
+ *
+ * @since 1.2
+ */
+final class MetricsExporter implements Closeable {
+    private static final List<String> COLUMNS = createColumns();
+
+    private final WebhookService service;
+    private final WebhookPlatform platform;
+    private final File directory;
+    private final Format format;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final int maxFiles;
+    private final ScheduledExecutorService executor;
+    private final AtomicLong ticks = new AtomicLong();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    // Only touched on the exporter's thread
+    private final Map<String, long[]> previous = new HashMap<>();
+    private long previousTicks;
+    private long previousSnapshot = System.nanoTime();
+    private FileChannel channel;
+    private long fileOpened;
+    private long fileSize;
+    private String fileTimestamp;
+    private int fileIndex;
+    private boolean failed;
+
+    private ScheduledTask tickTask;
+
+    /**
+     * The format of the metrics files.
+     */
+    enum Format {
+        JSON_LINES("jsonl"),
+        CSV("csv");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Gets the format with an extension.
+         *
+         * @param extension The extension, {@code jsonl} or {@code csv}
+         * @return The format, JSON lines if the extension is unknown
+         */
+        static Format of(String extension) {
+            return "csv".equalsIgnoreCase(extension) ? CSV : JSON_LINES;
+        }
+    }
+
+    /**
+     * Creates a new exporter. Nothing is written until it is started.
+     *
+     * @param service The service to take snapshots of
+     * @param platform The platform, for the tick task and logging
+     * @param directory The directory to write the files to
+     * @param format The format of the files
+     * @param maxBytes The size at which a new file is started
+     * @param maxAge The age at which a new file is started
+     * @param maxAgeUnit The time unit of the age
+     * @param maxFiles The number of files kept
+     */
+    MetricsExporter(WebhookService service, WebhookPlatform platform, File directory, Format format, long maxBytes,
+                    long maxAge, TimeUnit maxAgeUnit, int maxFiles) {
+        this.service = service;
+        this.platform = platform;
+        this.directory = directory;
+        this.format = format;
+        this.maxBytes = Math.max(1, maxBytes);
+        this.maxAgeMillis = Math.max(1, maxAgeUnit.toMillis(maxAge));
+        this.maxFiles = Math.max(1, maxFiles);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BnBWebhookAPI Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts counting ticks and taking snapshots.
+     *
+     * @param interval The time between snapshots
+     * @param unit The time unit of the interval
+     */
+    void start(long interval, TimeUnit unit) {
+        tickTask = platform.scheduleTickTask(ticks::incrementAndGet);
+        long period = Math.max(1, unit.toMillis(interval));
+        executor.scheduleAtFixedRate(this::export, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a snapshot. Runs on the exporter's thread, except in tests.
+     */
+    void export() {
+        if (failed) {
+            return;
+        }
+
+        try {
+            if (channel == null || fileSize >= maxBytes || System.currentTimeMillis() - fileOpened >= maxAgeMillis) {
+                roll();
+            }
+            for (List<Object> row : snapshot()) {
+                write(format == Format.CSV ? toCsv(row) : toJson(row));
+            }
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // Give up rather than logging every interval, the files written so far stay readable
+            failed = true;
+            platform.log(Level.WARNING, "Could not export webhook metrics, stopping the export", e);
+        }
+    }
+
+    /**
+     * Takes a snapshot of every webhook and their total.
+     *
+     * @return The rows, in the order of {@link #COLUMNS}
+     */
+    private List<List<Object>> snapshot() {
+        long now = System.nanoTime();
+        long currentTicks = ticks.get();
+        double seconds = Math.max(1, now - previousSnapshot) / 1_000_000_000.0;
+        double tps = (currentTicks - previousTicks) / seconds;
+        previousSnapshot = now;
+        previousTicks = currentTicks;
+
+        String time = Instant.now().toString();
+        long[] total = new long[4 + LatencyHistogram.BOUNDS_MILLIS.length + 1];
+        long totalOutstanding = 0;
+        List<List<Object>> rows = new ArrayList<>();
+        for (String webhookName : service.getWebhooks().keySet()) {
+            WebhookStats stats = service.getStats(webhookName);
+            if (stats == null) {
+                continue;
+            }
+            long[] current = new long[total.length];
+            current[0] = stats.getSent();
+            current[1] = stats.getRateLimited();
+            current[2] = stats.getFailed();
+            current[3] = stats.getNotSampled();
+            System.arraycopy(stats.latencyCounts, 0, current, 4, stats.latencyCounts.length);
+
+            long[] last = previous.put(webhookName, current);
+            long[] delta = new long[current.length];
+            for (int i = 0; i < current.length; i++) {
+                delta[i] = current[i] - (last != null ? last[i] : 0);
+                total[i] += delta[i];
+            }
+            totalOutstanding += stats.getOutstanding();
+            rows.add(row(time, webhookName, delta, stats.getOutstanding(), tps));
+        }
+        rows.add(row(time, "*", total, totalOutstanding, tps));
+        return rows;
+    }
+
+    private List<Object> row(String time, String webhookName, long[] counts, long outstanding, double tps) {
+        long[] histogram = Arrays.copyOfRange(counts, 4, counts.length);
+        List<Object> row = new ArrayList<>(COLUMNS.size());
+        row.add(time);
+        row.add(webhookName);
+        row.add(counts[0]);
+        row.add(counts[1]);
+        row.add(counts[2]);
+        row.add(counts[3]);
+        row.add(outstanding);
+        row.add(service.getInFlightRequests());
+        row.add(service.getConcurrencyLimit());
+        row.add(service.getWaitingForPermit());
+        row.add(service.getScheduledCount());
+        row.add(Math.round(tps * 100) / 100.0);
+        row.add(LatencyHistogram.percentile(histogram, 0.5));
+        row.add(LatencyHistogram.percentile(histogram, 0.9));
+        row.add(LatencyHistogram.percentile(histogram, 0.99));
+        for (long count : histogram) {
+            row.add(count);
+        }
+        return row;
+    }
+
+    private static List<String> createColumns() {
+        List<String> columns = new ArrayList<>(Arrays.asList("time", "webhook", "sent", "rate_limited", "failed",
+                "not_sampled", "outstanding", "in_flight", "concurrency_limit", "waiting_for_permit", "scheduled", "tps",
+                "p50_ms", "p90_ms", "p99_ms"));
+        for (long bound : LatencyHistogram.BOUNDS_MILLIS) {
+            columns.add("le_" + bound + "ms");
+        }
+        columns.add("gt_" + LatencyHistogram.BOUNDS_MILLIS[LatencyHistogram.BOUNDS_MILLIS.length - 1] + "ms");
+        return columns;
+    }
+
+    private static String toJson(List<Object> row) {
+        StringBuilder json = new StringBuilder(512).append('{');
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(COLUMNS.get(i)).append("\":");
+            Object value = row.get(i);
+            if (value instanceof String) {
+                json.append('"').append(JsonStringEncoder.getInstance().quoteAsString((String) value)).append('"');
+            } else {
+                json.append(number(value, "null"));
+            }
+        }
+        return json.append("}\n").toString();
+    }
+
+    private static String toCsv(List<Object> row) {
+        StringBuilder csv = new StringBuilder(256);
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = row.get(i);
+            if (value instanceof String) {
+                csv.append(escapeCsv((String) value));
+            } else {
+                csv.append(number(value, ""));
+            }
+        }
+        return csv.append('\n').toString();
+    }
+
+    /**
+     * Formats a number, writing percentiles that are unknown or above all bounds as missing.
+     */
+    private static String number(Object value, String missing) {
+        if (value instanceof Long && ((Long) value == -1 || (Long) value == Long.MAX_VALUE)) {
+            return missing;
+        }
+        return String.valueOf(value);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Closes the current file and starts a new one, deleting the oldest beyond the maximum count.
+     */
+    private void roll() throws IOException {
+        closeFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+
+        // Files started within the same second are numbered, counting on from the previous one so
+        // that a new file never reuses the name of an older one that was already deleted
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        fileIndex = timestamp.equals(fileTimestamp) ? fileIndex + 1 : 0;
+        fileTimestamp = timestamp;
+        File file = fileName(timestamp, fileIndex);
+        while (file.exists()) {
+            file = fileName(timestamp, ++fileIndex);
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        fileOpened = System.currentTimeMillis();
+        fileSize = 0;
+        if (format == Format.CSV) {
+            write(String.join(",", COLUMNS) + "\n");
+        }
+
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("metrics-")
+                && (name.endsWith(".jsonl") || name.endsWith(".csv")));
+        if (files != null && files.length > maxFiles) {
+            Arrays.sort(files, Comparator.comparing(MetricsExporter::creationKey));
+            for (int i = 0; i < files.length - maxFiles; i++) {
+                if (!files[i].delete()) {
+                    platform.log(Level.FINE, "Could not delete old metrics file " + files[i]);
+                }
+            }
+        }
+    }
+
+    private File fileName(String timestamp, int index) {
+        String suffix = index == 0 ? "" : "-" + index;
+        return new File(directory, "metrics-" + timestamp + suffix + "." + format.extension);
+    }
+
+    /**
+     * Gets a key sorting files by creation, from their timestamp and then their index.
+     */
+    private static String creationKey(File file) {
+        String name = file.getName();
+        String base = name.substring(0, name.lastIndexOf('.'));
+        String timestamp = base.substring(0, Math.min(base.length(), "metrics-yyyyMMdd-HHmmss".length()));
+        String index = base.substring(timestamp.length()).replace("-", "");
+        return timestamp + String.format("%10s", index).replace(' ', '0');
+    }
+
+    private void write(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            drain(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+        fileSize += bytes.length;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    private void drain(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void closeFile() throws IOException {
+        if (channel != null) {
+            try {
+                flush();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Stops the tick task, writes a last snapshot and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        executor.execute(this::export);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeFile();
+    }
+}
@@ -0,0 +1,253 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.Egress;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends webhooks with OkHttp, synchronously on the calling thread.
+ * <p>
+ * The request body reads the calling thread's payload buffer while the request is executed, so
+ * nothing is copied, and {@link TimingEventListener} records the connection timings of each request.
+ *
+ * @since 1.2
+ */
+final class OkHttpTransport implements HttpTransport {
+    private static final MediaType JSON = MediaType.get(PayloadWriter.CONTENT_TYPE);
+
+    private final OkHttpClient httpClient;
+    private final OkHttpClient pingClient;
+    private final Map<String, HttpUrl> httpUrls;
+    private final Map<String, HttpUrl> waitHttpUrls;
+
+    /**
+     * Creates a new OkHttp transport.
+     *
+     * @param pooledConnections The number of idle connections to keep per host
+     */
+    OkHttpTransport(int pooledConnections) {
+        this(new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .writeTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(Math.max(1, pooledConnections), 5, TimeUnit.MINUTES))
+                .eventListener(TimingEventListener.INSTANCE)
+                .build(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private OkHttpTransport(OkHttpClient httpClient, Map<String, HttpUrl> httpUrls, Map<String, HttpUrl> waitHttpUrls) {
+        this.httpClient = httpClient;
+        this.pingClient = httpClient.newBuilder().followRedirects(false).build();
+        this.httpUrls = httpUrls;
+        this.waitHttpUrls = waitHttpUrls;
+    }
+
+    @Override
+    public String getName() {
+        return "okhttp";
+    }
+
+    @Override
+    public HttpTransport forEgress(Egress egress) throws IOException {
+        return new OkHttpTransport(createClient(httpClient, egress), httpUrls, waitHttpUrls);
+    }
+
+    /**
+     * Derives the client of an egress from the transport's client. The derived client shares the
+     * connection pool, which keeps connections of different egresses apart.
+     *
+     * @param httpClient The transport's client
+     * @param egress The egress
+     * @return The egress's client
+     * @throws UnknownHostException If the local address is not a valid address
+     */
+    static OkHttpClient createClient(OkHttpClient httpClient, Egress egress) throws UnknownHostException {
+        OkHttpClient.Builder builder = httpClient.newBuilder();
+        if (egress.getLocalAddress() != null) {
+            InetAddress localAddress = InetAddress.getByName(egress.getLocalAddress());
+            builder.socketFactory(new BoundSocketFactory(localAddress));
+            if (egress.getProxy() == null) {
+                // A socket bound to an IPv6 address cannot reach an IPv4 one, and vice versa
+                builder.dns(new FamilyDns(localAddress instanceof Inet6Address));
+            }
+        }
+        if (egress.getProxy() != null) {
+            builder.proxy(new Proxy(Proxy.Type.HTTP, EgressRoute.parseProxy(egress)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public CompletableFuture<WebhookResponse> send(String webhookUrl, boolean wait, PayloadWriter payload,
+                                                   WebhookTimings timings) {
+        HttpUrl url = getHttpUrl(webhookUrl, wait);
+        if (url == null) {
+            return CompletableFuture.failedFuture(new IOException("Invalid webhook URL: " + webhookUrl));
+        }
+
+        // Tagged with its timings for the event listener
+        Request request = new Request.Builder()
+                .url(url)
+                .post(PayloadBody.INSTANCE)
+                .tag(WebhookTimings.class, timings)
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            return CompletableFuture.completedFuture(ResponseParser.parse(response, wait, timings));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void warmUp(String webhookUrl) throws IOException {
+        HttpUrl parsed = HttpUrl.parse(webhookUrl);
+        HttpUrl root = parsed != null ? parsed.resolve("/") : null;
+        if (root == null) {
+            throw new IOException("Not an HTTP URL: " + webhookUrl);
+        }
+        Request request = new Request.Builder()
+                .url(root)
+                .head()
+                .build();
+        pingClient.newCall(request).execute().close();
+    }
+
+    /**
+     * Gets the parsed form of a webhook URL, so that it is not parsed again for every request.
+     *
+     * @param webhookUrl The URL of the webhook
+     * @param wait Whether to add {@code ?wait=true}
+     * @return The parsed URL, or null if it is not a valid HTTP or HTTPS URL
+     */
+    private HttpUrl getHttpUrl(String webhookUrl, boolean wait) {
+        Map<String, HttpUrl> cache = wait ? waitHttpUrls : httpUrls;
+        HttpUrl url = cache.get(webhookUrl);
+        if (url == null) {
+            url = HttpUrl.parse(webhookUrl);
+            if (url == null) {
+                return null;
+            }
+            if (wait) {
+                url = url.newBuilder().addQueryParameter("wait", "true").build();
+            }
+            cache.put(webhookUrl, url);
+        }
+        return url;
+    }
+
+    @Override
+    public void close() {
+        // Egress clients share the dispatcher and pool, so this releases theirs too
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * A request body reading the calling thread's payload buffer. Requests are executed on the thread
+     * that wrote the payload, so one stateless body serves all of them.
+     */
+    private static final class PayloadBody extends RequestBody {
+        static final PayloadBody INSTANCE = new PayloadBody();
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public long contentLength() {
+            return PayloadWriter.get().size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            PayloadWriter.get().writeTo(sink.outputStream());
+        }
+    }
+
+    /**
+     * Creates sockets bound to a local address.
+     */
+    private static final class BoundSocketFactory extends SocketFactory {
+        private final InetAddress localAddress;
+
+        BoundSocketFactory(InetAddress localAddress) {
+            this.localAddress = localAddress;
+        }
+
+        @Override
+        public Socket createSocket() throws IOException {
+            Socket socket = new Socket();
+            socket.bind(new InetSocketAddress(localAddress, 0));
+            return socket;
+        }
+
+        @Override
+        public Socket createSocket(String host, int port) throws IOException {
+            return new Socket(host, port, localAddress, 0);
+        }
+
+        @Override
+        public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+            return new Socket(host, port, localHost, localPort);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress host, int port) throws IOException {
+            return new Socket(host, port, localAddress, 0);
+        }
+
+        @Override
+        public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+            return new Socket(address, port, localAddress, localPort);
+        }
+    }
+
+    /**
+     * Resolves only the addresses of one family.
+     */
+    private static final class FamilyDns implements Dns {
+        private final boolean ipv6;
+
+        FamilyDns(boolean ipv6) {
+            this.ipv6 = ipv6;
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            List<InetAddress> addresses = new ArrayList<>();
+            for (InetAddress address : Dns.SYSTEM.lookup(hostname)) {
+                if (address instanceof Inet6Address == ipv6) {
+                    addresses.add(address);
+                }
+            }
+            if (addresses.isEmpty()) {
+                throw new UnknownHostException("No " + (ipv6 ? "IPv6" : "IPv4") + " address for " + hostname);
+            }
+            return addresses;
+        }
+    }
+}
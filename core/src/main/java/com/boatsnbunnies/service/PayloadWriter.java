@@ -0,0 +1,193 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.model.WebhookField;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Serializes webhook payloads with a streaming generator into a buffer owned by the current thread.
+ * <p>
+ * Each thread keeps one growable byte buffer and one {@link JsonGenerator} writing into it, and
+ * reuses them for every payload. The generator writes each payload as a new root-level value without
+ * a separator, so it never has to be recreated.
+ * <p>
+ * The payload is only valid until the thread writes its next one, so a transport must either send it
+ * synchronously on the same thread, reading it with {@link #writeTo(OutputStream)}, or copy it.
+ *
+ * @since 1.2
+ */
+final class PayloadWriter {
+    /**
+     * The media type of webhook payloads.
+     */
+    static final String CONTENT_TYPE = "application/json";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<PayloadWriter> WRITERS = ThreadLocal.withInitial(PayloadWriter::new);
+
+    private final PayloadBuffer buffer = new PayloadBuffer();
+    private final JsonGenerator generator;
+
+    private PayloadWriter() {
+        try {
+            this.generator = JSON_FACTORY.createGenerator(buffer);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create JSON generator", e);
+        }
+    }
+
+    /**
+     * Gets the payload writer of the current thread.
+     *
+     * @return The payload writer
+     */
+    static PayloadWriter get() {
+        return WRITERS.get();
+    }
+
+    /**
+     * Discards the current thread's payload writer, after a failed write left its generator in an
+     * unknown state.
+     */
+    static void discard() {
+        WRITERS.remove();
+    }
+
+    /**
+     * Serializes a payload into this thread's buffer.
+     *
+     * @param content The message content
+     * @param embeds The embeds to include in the payload
+     * @return The size of the payload in bytes
+     * @throws IOException If the JSON could not be created
+     */
+    int write(String content, List<WebhookEmbed> embeds) throws IOException {
+        buffer.reset();
+
+        generator.writeStartObject();
+
+        if (content != null && !content.isEmpty()) {
+            generator.writeStringField("content", content);
+        }
+
+        generator.writeArrayFieldStart("embeds");
+        for (WebhookEmbed embed : embeds) {
+            generator.writeStartObject();
+
+            // Add title and description
+            if (embed.getTitle() != null) {
+                generator.writeStringField("title", embed.getTitle());
+            }
+            if (embed.getDescription() != null) {
+                generator.writeStringField("description", embed.getDescription());
+            }
+
+            // Add color
+            if (embed.getColor() != null) {
+                generator.writeNumberField("color", embed.getColor());
+            }
+
+            // Add fields
+            if (!embed.getFields().isEmpty()) {
+                generator.writeArrayFieldStart("fields");
+                for (WebhookField field : embed.getFields()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("name", field.getName());
+                    generator.writeStringField("value", field.getValue());
+                    generator.writeBooleanField("inline", field.isInline());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+
+            // Add footer
+            if (embed.getFooter() != null) {
+                generator.writeObjectFieldStart("footer");
+                generator.writeStringField("text", embed.getFooter().getText());
+                if (embed.getFooter().getIconUrl() != null) {
+                    generator.writeStringField("icon_url", embed.getFooter().getIconUrl());
+                }
+                generator.writeEndObject();
+            }
+
+            // Add timestamp
+            if (embed.getTimestamp() != null) {
+                generator.writeStringField("timestamp", DateTimeFormatter.ISO_INSTANT.format(embed.getTimestamp()));
+            }
+
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.flush();
+        return buffer.count;
+    }
+
+    /**
+     * Gets the size of the last written payload.
+     *
+     * @return The payload size in bytes
+     */
+    int size() {
+        return buffer.count;
+    }
+
+    /**
+     * Writes the last written payload to a stream, without copying it.
+     *
+     * @param out The stream
+     * @throws IOException If the stream could not be written to
+     */
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buffer.bytes, 0, buffer.count);
+    }
+
+    /**
+     * Copies the last written payload, for a transport sending it from another thread.
+     *
+     * @return The payload
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer.bytes, buffer.count);
+    }
+
+    /**
+     * A growable byte buffer that is reset rather than reallocated between payloads.
+     */
+    private static final class PayloadBuffer extends OutputStream {
+        private byte[] bytes = new byte[2048];
+        private int count;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length << 1));
+            }
+        }
+
+        void reset() {
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.boatsnbunnies.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * The messages waiting for one webhook's rate limit permits, handed the permits by deficit round
+ * robin across the clients that sent them.
+ * <p>
+ * Each client has a queue that lasts for as long as it has messages waiting, rather than for one
+ * batch of the dispatch loop. Whenever the webhook frees up permits the clients with waiting
+ * messages take turns, each taking as many permits per turn as its weight, so a client that flooded
+ * the webhook earlier does not keep every permit ahead of the others. Each client's messages keep
+ * their order. Messages sent without a client share one queue.
+ * <p>
+ * Only used on the dispatch loop's thread.
+ *
+ * @param <T> The type of the waiting messages
+ * @since 1.2
+ */
+final class PermitQueue<T> {
+    private final ToIntFunction<WebhookClient> weights;
+    private final Map<WebhookClient, ClientQueue<T>> queues = new IdentityHashMap<>();
+    private final ClientQueue<T> unattributed = new ClientQueue<>(null);
+    private final ArrayDeque<ClientQueue<T>> active = new ArrayDeque<>();
+    private int size;
+    private boolean scheduled;
+
+    /**
+     * Creates a new queue.
+     *
+     * @param weights The weight of each client, the client being null for unattributed messages
+     */
+    PermitQueue(ToIntFunction<WebhookClient> weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Adds a message behind the client's other waiting messages.
+     *
+     * @param client The client that sent the message, or null if unattributed
+     * @param message The message
+     */
+    void add(WebhookClient client, T message) {
+        ClientQueue<T> queue = client != null ? queues.computeIfAbsent(client, ClientQueue::new) : unattributed;
+        if (!queue.active) {
+            queue.active = true;
+            queue.weight = Math.max(1, weights.applyAsInt(client));
+            queue.deficit = 0;
+            active.addLast(queue);
+        }
+        queue.messages.addLast(message);
+        size++;
+    }
+
+    /**
+     * Takes the message that gets the next permit. The client at the head of the round gets its
+     * weight in permits when its turn starts, and goes to the back once it has spent them. A client
+     * whose queue runs empty keeps the rest of its turn until the next call, so that a message it
+     * adds in the meantime, such as one that was held behind the taken message, is served in the
+     * same turn.
+     *
+     * @return The message, or null if none are waiting
+     */
+    T poll() {
+        ClientQueue<T> queue;
+        while ((queue = active.peekFirst()) != null && queue.messages.isEmpty()) {
+            deactivate(active.pollFirst());
+        }
+        if (queue == null) {
+            return null;
+        }
+        if (queue.deficit <= 0) {
+            queue.deficit += queue.weight;
+        }
+
+        T message = queue.messages.pollFirst();
+        queue.deficit--;
+        size--;
+        if (queue.deficit <= 0) {
+            active.pollFirst();
+            if (queue.messages.isEmpty()) {
+                deactivate(queue);
+            } else {
+                active.addLast(queue);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Removes the messages that match a condition, for example because they waited too long.
+     *
+     * @param condition The condition
+     * @return The removed messages, handed back rather than to a callback so that handling them
+     *         may add messages again
+     */
+    List<T> removeIf(Predicate<T> condition) {
+        List<T> removed = new ArrayList<>();
+        Iterator<ClientQueue<T>> clients = active.iterator();
+        while (clients.hasNext()) {
+            ClientQueue<T> queue = clients.next();
+            Iterator<T> messages = queue.messages.iterator();
+            while (messages.hasNext()) {
+                T message = messages.next();
+                if (condition.test(message)) {
+                    messages.remove();
+                    size--;
+                    removed.add(message);
+                }
+            }
+            if (queue.messages.isEmpty()) {
+                clients.remove();
+                deactivate(queue);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the number of waiting messages.
+     *
+     * @return The number of messages
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if no messages are waiting.
+     *
+     * @return True if the queue is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Marks that a timer will hand out the next permits, so that only one is pending at a time.
+     *
+     * @return True if no timer was pending yet
+     */
+    boolean schedule() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * Marks that the pending timer fired, or could not be started.
+     */
+    void unschedule() {
+        scheduled = false;
+    }
+
+    /**
+     * Ends the turns of a client without waiting messages, and drops its queue so that clients do
+     * not accumulate.
+     */
+    private void deactivate(ClientQueue<T> queue) {
+        queue.active = false;
+        if (queue.client != null) {
+            queues.remove(queue.client);
+        }
+    }
+
+    /**
+     * The waiting messages of one client, and what is left of its turn.
+     */
+    private static final class ClientQueue<T> {
+        final WebhookClient client;
+        final ArrayDeque<T> messages = new ArrayDeque<>();
+        boolean active;
+        int weight;
+        int deficit;
+
+        ClientQueue(WebhookClient client) {
+            this.client = client;
+        }
+    }
+}
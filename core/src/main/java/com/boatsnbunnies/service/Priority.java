@@ -0,0 +1,25 @@
+package com.boatsnbunnies.service;
+
+/**
+ * The priority of a message. Messages are dispatched in the order they were sent; the priority
+ * decides which messages are delivered first, and which are abandoned, when the service shuts down
+ * with a backlog.
+ *
+ * @since 1.2
+ */
+public enum Priority {
+    /**
+     * Delivered before any other message of the backlog at shutdown, and abandoned last.
+     */
+    HIGH,
+
+    /**
+     * The priority of messages sent without one.
+     */
+    NORMAL,
+
+    /**
+     * Delivered after every other message of the backlog at shutdown, and abandoned first.
+     */
+    LOW
+}
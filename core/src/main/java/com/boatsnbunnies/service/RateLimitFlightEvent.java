@@ -0,0 +1,30 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted when a rate limit has no permit for a message, which then either waits for one or is
+ * rejected with status code 429.
+ *
+ * @since 1.2
+ */
+@Name("bnbwebhookapi.RateLimit")
+@Label("Webhook Rate Limit")
+@Description("A rate limit had no permit for a message")
+final class RateLimitFlightEvent extends WebhookFlightEvent {
+    @Label("Limit")
+    @Description("Which limit had no permit")
+    String limit;
+
+    @Label("Permit Wait")
+    @Description("How long until the limit frees a permit")
+    @Timespan
+    long permitWait;
+
+    @Label("Rejected")
+    @Description("Whether the message was rejected rather than waiting")
+    boolean rejected;
+}
@@ -0,0 +1,41 @@
+package com.boatsnbunnies.service;
+
+/**
+ * Limits the number of requests that may be sent to a webhook per time period.
+ *
+ * @since 1.2
+ */
+public interface RateLimiter {
+
+    /**
+     * Tries to acquire a permit from the rate limiter.
+     *
+     * @return True if a permit was acquired, false if the rate limit was exceeded
+     */
+    boolean tryAcquire();
+
+    /**
+     * Returns the most recently acquired permit, for when a later level of a hierarchical limit
+     * rejects the request it was acquired for.
+     */
+    void refund();
+
+    /**
+     * Gets how long until a permit becomes available, so that a request can be retried exactly
+     * when it would be let through. Another request may take the permit first.
+     *
+     * @return The time in nanoseconds, 0 if a permit is available now, or {@link Long#MAX_VALUE} if
+     *         the limiter never lets a request through
+     */
+    long nanosUntilPermit();
+
+    /**
+     * Gets how many permits could be acquired right now, the remaining budget of the current
+     * period. Other requests may take them first.
+     *
+     * @return The number of permits, 0 if none is available now
+     */
+    default int availablePermits() {
+        return nanosUntilPermit() == 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.boatsnbunnies.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads Discord's rate limit headers and JSON body into a {@link WebhookResponse}.
+ * <p>
+ * The body is only read when it carries something of interest: the error of a failed request, or
+ * the created message of a request sent with {@code ?wait=true}. It is parsed with a streaming
+ * parser that skips every field it does not need, so nothing is buffered or bound to objects.
+ *
+ * @since 1.2
+ */
+final class ResponseParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ResponseParser() {
+    }
+
+    /**
+     * Parses an OkHttp response.
+     *
+     * @param response The HTTP response
+     * @param wait Whether the request was sent with {@code ?wait=true}
+     * @param timings The request's timings
+     * @return The webhook response
+     */
+    static WebhookResponse parse(Response response, boolean wait, WebhookTimings timings) {
+        ResponseBody body = response.body();
+        MediaType contentType = body != null ? body.contentType() : null;
+        return parse(response.code(), response.message(), response::header,
+                contentType != null ? contentType.toString() : null, body != null ? body::byteStream : null,
+                wait, timings);
+    }
+
+    /**
+     * Parses a response independently of the HTTP client that received it.
+     *
+     * @param statusCode The HTTP status code
+     * @param message The HTTP status message, empty over HTTP/2
+     * @param headers Looks up the first value of a header, or null if it is absent
+     * @param contentType The content type of the body, or null if unknown
+     * @param body Opens the body, or null if there is none. Only called if the body is needed
+     * @param wait Whether the request was sent with {@code ?wait=true}
+     * @param timings The request's timings
+     * @return The webhook response
+     */
+    static WebhookResponse parse(int statusCode, String message, Function<String, String> headers, String contentType,
+                                 Supplier<InputStream> body, boolean wait, WebhookTimings timings) {
+        boolean success = statusCode >= 200 && statusCode < 300;
+        WebhookResponse.Builder builder = new WebhookResponse.Builder(success, statusCode, message)
+                .timings(timings);
+
+        String remaining = headers.apply("X-RateLimit-Remaining");
+        if (remaining != null) {
+            builder.rateLimitRemaining((int) parseNumber(remaining, -1));
+        }
+        String resetAfter = headers.apply("X-RateLimit-Reset-After");
+        if (resetAfter != null) {
+            builder.rateLimitResetAfter(toMillis(parseNumber(resetAfter, -1)));
+        }
+        builder.rateLimitBucket(headers.apply("X-RateLimit-Bucket"));
+        String retryAfter = headers.apply("Retry-After");
+        if (retryAfter != null) {
+            builder.retryAfter(toMillis(parseNumber(retryAfter, -1)));
+        }
+        if ("true".equalsIgnoreCase(headers.apply("X-RateLimit-Global"))) {
+            builder.globalRateLimit(true);
+        }
+
+        if ((!success || wait) && body != null && isJson(contentType)) {
+            try (JsonParser parser = JSON_FACTORY.createParser(body.get())) {
+                if (success) {
+                    parseMessage(parser, builder);
+                } else {
+                    parseError(parser, builder);
+                }
+            } catch (IOException e) {
+                // A truncated or malformed body does not change the outcome of the request
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the id of a created message object.
+     */
+    private static void parseMessage(JsonParser parser, WebhookResponse.Builder builder) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("id".equals(name)) {
+                builder.messageId(parser.getValueAsString());
+                return;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Reads the code, message, retry delay, global flag and first rejected field of an error object.
+     */
+    private static void parseError(JsonParser parser, WebhookResponse.Builder builder) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "code":
+                    builder.errorCode(parser.getValueAsInt());
+                    break;
+                case "message":
+                    builder.errorMessage(parser.getValueAsString());
+                    break;
+                case "retry_after":
+                    // More precise than the header, which is rounded up to whole seconds
+                    builder.retryAfter(toMillis(parser.getValueAsDouble(-1)));
+                    break;
+                case "global":
+                    if (value == JsonToken.VALUE_TRUE) {
+                        builder.globalRateLimit(true);
+                    }
+                    break;
+                case "errors":
+                    if (value == JsonToken.START_OBJECT) {
+                        builder.errorField(findErrorField(parser, ""));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Finds the path of the first object in an error tree that holds an {@code _errors} array,
+     * consuming the rest of the tree.
+     *
+     * @param parser The parser, positioned on the start of an object
+     * @param path The path of that object
+     * @return The path, or null if the tree has no errors
+     */
+    private static String findErrorField(JsonParser parser, String path) throws IOException {
+        String found = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (found == null && "_errors".equals(name)) {
+                found = path;
+                parser.skipChildren();
+            } else if (found == null && value == JsonToken.START_OBJECT) {
+                found = findErrorField(parser, path.isEmpty() ? name : path + "." + name);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return found;
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int slash = contentType.indexOf('/');
+        int parameters = contentType.indexOf(';');
+        String subtype = contentType.substring(slash + 1, parameters < 0 ? contentType.length() : parameters).trim();
+        return slash > 0 && "json".equalsIgnoreCase(subtype);
+    }
+
+    private static double parseNumber(String value, double fallback) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static long toMillis(double seconds) {
+        return seconds < 0 ? -1 : (long) Math.ceil(seconds * 1000);
+    }
+}
@@ -0,0 +1,197 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.model.WebhookField;
+import com.boatsnbunnies.model.WebhookFooter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the pending scheduled messages on shutdown and loads them on the next start.
+ * <p>
+ * The file starts with the magic {@code BNBSCH02} and the number of messages. Each message is its
+ * due time in epoch milliseconds, the webhook name, the content, the options that outlive a
+ * restart (priority, digest key, ordering key, wait for message and the permit wait) and the
+ * embeds. Strings are UTF-8 preceded by their length in bytes, so that they are not limited to the
+ * 64 KB of {@link DataOutputStream#writeUTF}, and optional ones by a presence flag. Completion
+ * settings are not saved, a
+ * loaded message completes on the thread that sent it.
+ *
+ * @since 1.2
+ */
+final class ScheduleStore {
+    static final long MAGIC = 0x424E425343483032L; // "BNBSCH02"
+
+    private ScheduleStore() {
+    }
+
+    /**
+     * Writes messages to a file, replacing it atomically.
+     *
+     * @param file The file
+     * @param sends The messages
+     * @throws IOException If the file could not be written
+     */
+    static void write(File file, Collection<ScheduledSend> sends) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeLong(MAGIC);
+            out.writeInt(sends.size());
+            for (ScheduledSend send : sends) {
+                out.writeLong(send.time.toEpochMilli());
+                writeText(out, send.webhookName);
+                writeString(out, send.content);
+
+                SendOptions options = send.options;
+                writeText(out, options.getPriority().name());
+                writeString(out, options.getDigestKey());
+                writeString(out, options.getOrderingKey());
+                out.writeBoolean(options.isWaitForMessage());
+                out.writeLong(options.getMaxPermitWait());
+
+                out.writeInt(send.embeds.size());
+                for (WebhookEmbed embed : send.embeds) {
+                    writeEmbed(out, embed);
+                }
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the messages of a file.
+     *
+     * @param file The file
+     * @param service The service the messages are scheduled with
+     * @return The messages, or an empty list if the file does not exist
+     * @throws IOException If the file could not be read or is not a schedule file
+     */
+    static List<ScheduledSend> read(File file, WebhookService service) throws IOException {
+        List<ScheduledSend> sends = new ArrayList<>();
+        if (!file.isFile()) {
+            return sends;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readLong() != MAGIC) {
+                throw new IOException("Not a schedule file: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Instant time = Instant.ofEpochMilli(in.readLong());
+                String webhookName = readText(in);
+                String content = readString(in);
+
+                SendOptions.Builder options = new SendOptions.Builder()
+                        .priority(Priority.valueOf(readText(in)))
+                        .digestKey(readString(in))
+                        .orderingKey(readString(in));
+                if (in.readBoolean()) {
+                    options.waitForMessage();
+                }
+                options.waitForPermit(in.readLong(), TimeUnit.NANOSECONDS);
+
+                int embedCount = in.readInt();
+                List<WebhookEmbed> embeds = new ArrayList<>(embedCount);
+                for (int j = 0; j < embedCount; j++) {
+                    embeds.add(readEmbed(in));
+                }
+                sends.add(new ScheduledSend(service, webhookName, time, content, embeds, options.build()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt schedule file: " + file, e);
+        }
+        return sends;
+    }
+
+    private static void writeEmbed(DataOutputStream out, WebhookEmbed embed) throws IOException {
+        writeString(out, embed.getTitle());
+        writeString(out, embed.getDescription());
+        out.writeBoolean(embed.getColor() != null);
+        if (embed.getColor() != null) {
+            out.writeInt(embed.getColor());
+        }
+        out.writeInt(embed.getFields().size());
+        for (WebhookField field : embed.getFields()) {
+            writeString(out, field.getName());
+            writeString(out, field.getValue());
+            out.writeBoolean(field.isInline());
+        }
+        out.writeBoolean(embed.getFooter() != null);
+        if (embed.getFooter() != null) {
+            writeString(out, embed.getFooter().getText());
+            writeString(out, embed.getFooter().getIconUrl());
+        }
+        out.writeBoolean(embed.getTimestamp() != null);
+        if (embed.getTimestamp() != null) {
+            out.writeLong(embed.getTimestamp().toEpochMilli());
+        }
+    }
+
+    private static WebhookEmbed readEmbed(DataInputStream in) throws IOException {
+        WebhookEmbed.Builder embed = new WebhookEmbed.Builder()
+                .title(readString(in))
+                .description(readString(in));
+        if (in.readBoolean()) {
+            embed.color(in.readInt());
+        }
+        int fields = in.readInt();
+        for (int i = 0; i < fields; i++) {
+            embed.addField(readString(in), readString(in), in.readBoolean());
+        }
+        if (in.readBoolean()) {
+            embed.footer(new WebhookFooter(readString(in), readString(in)));
+        }
+        if (in.readBoolean()) {
+            embed.timestamp(Instant.ofEpochMilli(in.readLong()));
+        }
+        return embed.build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeText(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readText(in) : null;
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt schedule file: negative string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A message scheduled with {@link WebhookService#sendAt} or {@link WebhookService#sendAfter},
+ * which can be cancelled until it is due.
+ *
+ * @since 1.2
+ */
+public final class ScheduledSend {
+    private final WebhookService service;
+    final String webhookName;
+    final Instant time;
+    final String content;
+    final List<WebhookEmbed> embeds;
+    final SendOptions options;
+    final CompletableFuture<WebhookResponse> future = new CompletableFuture<>();
+    TimingWheel.Entry<ScheduledSend> entry;
+
+    ScheduledSend(WebhookService service, String webhookName, Instant time, String content,
+                  List<WebhookEmbed> embeds, SendOptions options) {
+        this.service = service;
+        this.webhookName = webhookName;
+        this.time = time;
+        this.content = content;
+        this.embeds = embeds;
+        this.options = options != null ? options : SendOptions.DEFAULT;
+    }
+
+    /**
+     * Gets the name of the webhook the message is sent to.
+     *
+     * @return The webhook name
+     */
+    public String getWebhookName() {
+        return webhookName;
+    }
+
+    /**
+     * Gets the time the message is due.
+     *
+     * @return The time
+     */
+    public Instant getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the future completed with the response once the message was sent. It is cancelled if
+     * the message is.
+     *
+     * @return The future
+     */
+    public CompletableFuture<WebhookResponse> getFuture() {
+        return future;
+    }
+
+    /**
+     * Cancels the message if it is not due yet.
+     *
+     * @return True if the message was cancelled, false if it was already sent or cancelled
+     */
+    public boolean cancel() {
+        return service.cancel(this);
+    }
+
+    /**
+     * Checks if the message was cancelled.
+     *
+     * @return True if the message was cancelled
+     */
+    public boolean isCancelled() {
+        return future.isCancelled();
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledSend{webhook=" + webhookName + ", time=" + time + "}";
+    }
+}
@@ -0,0 +1,233 @@
+package com.boatsnbunnies.service;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options controlling how a single webhook message is sent.
+ * This class uses the Builder pattern for creating options.
+ *
+ * @since 1.2
+ */
+public class SendOptions {
+    /**
+     * The options used when none are given.
+     */
+    public static final SendOptions DEFAULT = new Builder().build();
+
+    private final String digestKey;
+    private final CompletionMode completionMode;
+    private final Executor completionExecutor;
+    private final boolean waitForMessage;
+    private final Priority priority;
+    private final String orderingKey;
+    private final String orderingQueue;
+    private final long maxPermitWait;
+
+    private SendOptions(Builder builder) {
+        this.digestKey = builder.digestKey;
+        this.completionMode = builder.completionMode;
+        this.completionExecutor = builder.completionExecutor;
+        this.waitForMessage = builder.waitForMessage;
+        this.priority = builder.priority;
+        this.orderingKey = builder.orderingKey;
+        this.orderingQueue = builder.orderingKey != null ? "k:" + builder.orderingKey : null;
+        this.maxPermitWait = builder.maxPermitWait;
+    }
+
+    /**
+     * Gets the key this message is grouped under when the webhook is in digest mode.
+     *
+     * @return The digest key, or null to group by the first embed's title or the content
+     */
+    public String getDigestKey() {
+        return digestKey;
+    }
+
+    /**
+     * Gets the thread the returned future is completed on.
+     *
+     * @return The completion mode
+     */
+    public CompletionMode getCompletionMode() {
+        return completionMode;
+    }
+
+    /**
+     * Gets the executor the returned future is completed on in {@link CompletionMode#EXECUTOR} mode.
+     *
+     * @return The completion executor, or null for other modes
+     */
+    public Executor getCompletionExecutor() {
+        return completionExecutor;
+    }
+
+    /**
+     * Checks if Discord should return the created message, so that its id is available in the response.
+     *
+     * @return True if the message is sent with {@code ?wait=true}
+     */
+    public boolean isWaitForMessage() {
+        return waitForMessage;
+    }
+
+    /**
+     * Gets the priority of this message when the service shuts down with a backlog.
+     *
+     * @return The priority
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the key this message is delivered in order under.
+     *
+     * @return The ordering key, or null to order by webhook
+     */
+    public String getOrderingKey() {
+        return orderingKey;
+    }
+
+    /**
+     * Gets the queue this message is delivered in order in, the ordering key in a namespace apart
+     * from the webhook names that messages without one are ordered by.
+     *
+     * @return The ordering queue, or null to order by webhook
+     */
+    String getOrderingQueue() {
+        return orderingQueue;
+    }
+
+    /**
+     * Gets how long this message may wait for a rate limit permit before it fails with status 429.
+     *
+     * @return The time in nanoseconds since the message was submitted, or 0 to fail right away
+     */
+    public long getMaxPermitWait() {
+        return maxPermitWait;
+    }
+
+    /**
+     * Builder class for creating SendOptions instances.
+     */
+    public static class Builder {
+        private String digestKey;
+        private CompletionMode completionMode = CompletionMode.SENDER_THREAD;
+        private Executor completionExecutor;
+        private boolean waitForMessage;
+        private Priority priority = Priority.NORMAL;
+        private String orderingKey;
+        private long maxPermitWait;
+
+        /**
+         * Sets the key this message is grouped under when the webhook is in digest mode.
+         * Messages with the same key are counted together in the summary embed.
+         *
+         * @param digestKey The digest key
+         * @return This builder
+         */
+        public Builder digestKey(String digestKey) {
+            this.digestKey = digestKey;
+            return this;
+        }
+
+        /**
+         * Completes the returned future on the thread that finished the request. This is the default.
+         *
+         * @return This builder
+         */
+        public Builder completeOnSenderThread() {
+            this.completionMode = CompletionMode.SENDER_THREAD;
+            this.completionExecutor = null;
+            return this;
+        }
+
+        /**
+         * Completes the returned future on the given executor.
+         *
+         * @param executor The executor
+         * @return This builder
+         */
+        public Builder completeOn(Executor executor) {
+            this.completionMode = CompletionMode.EXECUTOR;
+            this.completionExecutor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Completes the returned future on the main server thread, batched once per tick, so that
+         * callbacks may use the server API directly. Never wait for such a future on the main thread.
+         *
+         * @return This builder
+         */
+        public Builder completeOnMainThread() {
+            this.completionMode = CompletionMode.MAIN_THREAD;
+            this.completionExecutor = null;
+            return this;
+        }
+
+        /**
+         * Sends the message with {@code ?wait=true}, so that Discord only responds once the message
+         * was created, and the response carries its id.
+         *
+         * @return This builder
+         */
+        public Builder waitForMessage() {
+            this.waitForMessage = true;
+            return this;
+        }
+
+        /**
+         * Sets the priority of this message when the service shuts down with a backlog.
+         *
+         * @param priority The priority
+         * @return This builder
+         */
+        public Builder priority(Priority priority) {
+            this.priority = Objects.requireNonNull(priority, "priority");
+            return this;
+        }
+
+        /**
+         * Sets the key this message is delivered in order under. Messages with the same key are
+         * sent one at a time, in the order they were submitted, even across webhooks. By default
+         * messages are ordered per webhook.
+         *
+         * @param orderingKey The ordering key, or null to order by webhook
+         * @return This builder
+         */
+        public Builder orderingKey(String orderingKey) {
+            this.orderingKey = orderingKey;
+            return this;
+        }
+
+        /**
+         * Keeps a rate limited message pending until the rate limits let it through, instead of
+         * failing it with status 429 right away. The message is sent again when the limiter's next
+         * permit frees up, without holding a thread while it waits, and only fails if that would be
+         * later than the given time after it was submitted.
+         *
+         * @param maxWait The longest time to wait, or 0 to fail right away
+         * @param unit The time unit of the wait
+         * @return This builder
+         */
+        public Builder waitForPermit(long maxWait, TimeUnit unit) {
+            if (maxWait < 0) {
+                throw new IllegalArgumentException("maxWait must not be negative: " + maxWait);
+            }
+            this.maxPermitWait = unit.toNanos(maxWait);
+            return this;
+        }
+
+        /**
+         * Builds the SendOptions instance.
+         *
+         * @return A new SendOptions instance
+         */
+        public SendOptions build() {
+            return new SendOptions(this);
+        }
+    }
+}
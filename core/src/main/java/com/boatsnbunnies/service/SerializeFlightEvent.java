@@ -0,0 +1,16 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans the serialization of a message's JSON payload. The status code is 400 if it failed.
+ *
+ * @since 1.2
+ */
+@Name("bnbwebhookapi.Serialize")
+@Label("Webhook Serialize")
+@Description("A message was serialized to its JSON payload")
+final class SerializeFlightEvent extends WebhookFlightEvent {
+}
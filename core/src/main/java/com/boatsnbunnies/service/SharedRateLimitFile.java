@@ -0,0 +1,132 @@
+package com.boatsnbunnies.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A memory-mapped file holding rate limit buckets that are shared by every JVM on the host.
+ * <p>
+ * The file consists of a 64 byte header followed by a fixed number of 64 byte slots. Each slot
+ * holds the hash of the webhook URL it belongs to and the bucket state of that webhook. All reads
+ * and writes go through a {@link VarHandle} so that processes coordinate using compare-and-set
+ * directly on the mapped memory, without any locks or network services.
+ *
+ * @since 1.2
+ */
+final class SharedRateLimitFile implements Closeable {
+    private static final long MAGIC = 0x424E4257524C3031L; // "BNBWRL01"
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 64;
+    private static final int SLOT_COUNT = 1024;
+    private static final int FILE_SIZE = HEADER_SIZE + SLOT_SIZE * SLOT_COUNT;
+
+    private static final int KEY_OFFSET = 0;
+    private static final int STATE_OFFSET = 8;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Opens (or creates) the shared rate limit file.
+     *
+     * @param file The file to map
+     * @throws IOException If the file could not be mapped or belongs to an incompatible version
+     */
+    SharedRateLimitFile(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Mapping beyond the end of the file grows it, and a freshly grown file is all zeroes,
+            // which is a valid empty table. This makes concurrent creation by several JVMs safe.
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            long magic = (long) LONGS.compareAndExchange(buffer, 0, 0L, MAGIC);
+            if (magic != 0L && magic != MAGIC) {
+                throw new IOException("Incompatible shared rate limit file: " + file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Finds or claims the slot for a webhook URL.
+     *
+     * @param webhookUrl The webhook URL
+     * @return The byte offset of the slot's state word
+     * @throws IllegalStateException If all slots are taken
+     */
+    int slotFor(String webhookUrl) {
+        long key = hash(webhookUrl);
+        int start = (int) (key ^ (key >>> 32)) & (SLOT_COUNT - 1);
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            int offset = HEADER_SIZE + ((start + i) & (SLOT_COUNT - 1)) * SLOT_SIZE;
+            long existing = (long) LONGS.getVolatile(buffer, offset + KEY_OFFSET);
+            if (existing == 0L) {
+                existing = (long) LONGS.compareAndExchange(buffer, offset + KEY_OFFSET, 0L, key);
+                if (existing == 0L) {
+                    return offset + STATE_OFFSET;
+                }
+            }
+            if (existing == key) {
+                return offset + STATE_OFFSET;
+            }
+        }
+
+        throw new IllegalStateException("No free slots left in the shared rate limit file");
+    }
+
+    /**
+     * Reads a slot's state word.
+     *
+     * @param offset The offset returned by {@link #slotFor(String)}
+     * @return The current state
+     */
+    long get(int offset) {
+        return (long) LONGS.getVolatile(buffer, offset);
+    }
+
+    /**
+     * Atomically replaces a slot's state word.
+     *
+     * @param offset The offset returned by {@link #slotFor(String)}
+     * @param expected The expected current state
+     * @param value The new state
+     * @return True if the state was replaced
+     */
+    boolean compareAndSet(int offset, long expected, long value) {
+        return LONGS.compareAndSet(buffer, offset, expected, value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Hashes a webhook URL with 64-bit FNV-1a. Zero is reserved for empty slots.
+     */
+    private static long hash(String webhookUrl) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : webhookUrl.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash == 0L ? 1L : hash;
+    }
+}
@@ -0,0 +1,94 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rate limiter whose state lives in a {@link SharedRateLimitFile}, so that every server on the
+ * host draws permits for the same webhook URL, or for the global limit, from the same bucket.
+ * <p>
+ * The bucket is a generic cell rate algorithm: a single word holds the theoretical arrival time of
+ * the next request, which allows bursts of up to {@code maxRequests} and then one request every
+ * {@code period / maxRequests}. Because the whole state is one word it can be updated with a single
+ * compare-and-set. Wall clock time is used since {@link System#nanoTime()} is not comparable
+ * between processes. Like a {@link LocalRateLimiter}, a limit of 0 never lets a request through.
+ *
+ * @since 1.2
+ */
+class SharedRateLimiter implements RateLimiter {
+    private final SharedRateLimitFile file;
+    private final int slot;
+    private final long periodNanos;
+    private final long emissionNanos;
+    private final boolean blocked;
+
+    /**
+     * Creates a new shared rate limiter.
+     *
+     * @param file The shared rate limit file
+     * @param key The bucket key across servers, the webhook URL or {@code "global"}
+     * @param maxRequests The maximum number of requests per period
+     * @param period The time period
+     * @param unit The time unit of the period
+     */
+    SharedRateLimiter(SharedRateLimitFile file, String key, int maxRequests, long period, TimeUnit unit) {
+        this.file = file;
+        this.slot = file.slotFor(key);
+        this.periodNanos = unit.toNanos(period);
+        this.emissionNanos = periodNanos / Math.max(1, maxRequests);
+        this.blocked = maxRequests <= 0;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        if (blocked) {
+            return false;
+        }
+        while (true) {
+            long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+            long tat = file.get(slot);
+            long next = Math.max(tat, now) + emissionNanos;
+            if (next - now > periodNanos) {
+                return false;
+            }
+            if (file.compareAndSet(slot, tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void refund() {
+        if (blocked) {
+            return;
+        }
+        while (true) {
+            long tat = file.get(slot);
+            if (file.compareAndSet(slot, tat, tat - emissionNanos)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long nanosUntilPermit() {
+        if (blocked) {
+            return Long.MAX_VALUE;
+        }
+
+        // A request is let through once its theoretical arrival time is at most one period ahead
+        long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        return Math.max(0, file.get(slot) + emissionNanos - periodNanos - now);
+    }
+
+    @Override
+    public int availablePermits() {
+        if (blocked) {
+            return 0;
+        }
+
+        // Each permit moves the theoretical arrival time one emission interval ahead, up to a period
+        long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        long backlog = Math.max(0, file.get(slot) - now);
+        return (int) Math.max(0, (periodNanos - backlog) / Math.max(1, emissionNanos));
+    }
+}
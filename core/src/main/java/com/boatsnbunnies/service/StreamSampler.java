@@ -0,0 +1,275 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.model.WebhookField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Samples the messages sent to a webhook during one window, so that a high-volume stream is
+ * represented by a few of its messages instead of being cut off by the rate limit. Webhooks
+ * without a sampling window have a disabled sampler.
+ * <p>
+ * A reservoir of at most {@code maxSamples} messages is kept per window (Algorithm R), so every
+ * message of the window has the same chance of being kept whatever the volume, and memory does not
+ * grow with it. When the window ends, a uniform subset of the reservoir is sent: a fixed fraction
+ * of the window's messages, or, in adaptive mode, as many as the webhook's rate limit allows right
+ * then. Each sent message carries a {@code sampled 1 of N, M total} footer. Messages that are left
+ * out complete right away with {@link #NOT_SAMPLED}.
+ *
+ * @since 1.2
+ */
+class StreamSampler {
+    /**
+     * The response of a message that was left out of the sample.
+     */
+    static final WebhookResponse NOT_SAMPLED = WebhookResponse.success(202, "Not sampled");
+
+    private final String webhookName;
+    private final int windowSeconds;
+    private final double rate;
+    private final boolean adaptive;
+    private final Sample[] reservoir;
+
+    private int size;
+    private long seen;
+
+    /**
+     * Creates a new sampler.
+     *
+     * @param webhookName The name of the webhook
+     * @param windowSeconds The length of a sampling window in seconds
+     * @param rate The fraction of a window's messages to send, ignored in adaptive mode
+     * @param adaptive True to send as many messages as the rate limit allows at the end of a window
+     * @param maxSamples The maximum number of messages sent per window
+     */
+    StreamSampler(String webhookName, int windowSeconds, double rate, boolean adaptive, int maxSamples) {
+        this.webhookName = webhookName;
+        this.windowSeconds = windowSeconds;
+        this.rate = Math.max(0, Math.min(1, rate));
+        this.adaptive = adaptive;
+        this.reservoir = new Sample[Math.max(1, maxSamples)];
+    }
+
+    /**
+     * Checks if the webhook is sampled.
+     *
+     * @return True if messages should be sampled
+     */
+    boolean isEnabled() {
+        return windowSeconds > 0;
+    }
+
+    /**
+     * Checks if the number of messages sent per window follows the rate limit.
+     *
+     * @return True in adaptive mode, false for a fixed rate
+     */
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Gets the length of a sampling window.
+     *
+     * @return The window in seconds
+     */
+    int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Offers a message to the current window's reservoir. If the reservoir is full, the message
+     * replaces a random one with a probability that keeps every message equally likely to be kept,
+     * and the message that loses out is completed with {@link #NOT_SAMPLED}.
+     *
+     * @param sample The message
+     * @return True if this is the first message of the window, and the window should be scheduled
+     */
+    boolean add(Sample sample) {
+        CompletableFuture<WebhookResponse> leftOut = null;
+        boolean first;
+        synchronized (this) {
+            sample.sequence = seen;
+            first = seen++ == 0;
+            if (size < reservoir.length) {
+                reservoir[size++] = sample;
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(seen);
+                if (slot < reservoir.length) {
+                    leftOut = reservoir[(int) slot].future;
+                    reservoir[(int) slot] = sample;
+                } else {
+                    leftOut = sample.future;
+                }
+            }
+        }
+
+        // Outside of the lock, the future's dependents run on this thread
+        if (leftOut != null) {
+            leftOut.complete(NOT_SAMPLED);
+        }
+        return first;
+    }
+
+    /**
+     * Ends the current window, choosing the messages to send from its reservoir. At least one
+     * message is sent per window, so that a stream never goes silent.
+     *
+     * @param permits The number of messages the rate limit allows right now, used in adaptive mode
+     * @return The window's messages, or null if nothing was added
+     */
+    Window drain(int permits) {
+        Sample[] kept;
+        long total;
+        synchronized (this) {
+            if (seen == 0) {
+                return null;
+            }
+            kept = Arrays.copyOf(reservoir, size);
+            total = seen;
+            Arrays.fill(reservoir, null);
+            size = 0;
+            seen = 0;
+        }
+
+        long wanted = adaptive ? permits : (long) Math.ceil(rate * total);
+        int count = (int) Math.max(1, Math.min(kept.length, wanted));
+
+        // A partial shuffle picks a uniform subset of the reservoir
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(kept.length - i);
+            Sample swap = kept[i];
+            kept[i] = kept[j];
+            kept[j] = swap;
+        }
+
+        List<Sample> samples = new ArrayList<>(Arrays.asList(kept).subList(0, count));
+        samples.sort(Comparator.comparingLong(sample -> sample.sequence));
+        String footer = "sampled 1 of " + Math.round((double) total / count) + ", " + total + " total";
+        for (Sample sample : samples) {
+            sample.annotate(footer);
+        }
+
+        List<CompletableFuture<WebhookResponse>> leftOut = new ArrayList<>(kept.length - count);
+        for (int i = count; i < kept.length; i++) {
+            leftOut.add(kept[i].future);
+        }
+        return new Window(samples, leftOut, total);
+    }
+
+    /**
+     * Adds the sampling footer to the last embed of a message, after a footer it already has.
+     *
+     * @param embeds The message embeds
+     * @param footer The sampling footer
+     * @return The embeds, with the footer on the last one if there are any
+     */
+    static List<WebhookEmbed> annotate(List<WebhookEmbed> embeds, String footer) {
+        if (embeds == null || embeds.isEmpty()) {
+            return embeds;
+        }
+
+        WebhookEmbed last = embeds.get(embeds.size() - 1);
+        WebhookEmbed.Builder builder = new WebhookEmbed.Builder()
+                .title(last.getTitle())
+                .description(last.getDescription())
+                .timestamp(last.getTimestamp());
+        if (last.getColor() != null) {
+            builder.color(last.getColor());
+        }
+        for (WebhookField field : last.getFields()) {
+            builder.addField(field);
+        }
+        if (last.getFooter() != null && last.getFooter().getText() != null) {
+            builder.footer(last.getFooter().getText() + " · " + footer, last.getFooter().getIconUrl());
+        } else {
+            builder.footer(footer, null);
+        }
+
+        List<WebhookEmbed> annotated = new ArrayList<>(embeds);
+        annotated.set(annotated.size() - 1, builder.build());
+        return annotated;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamSampler{webhook=" + webhookName + ", window=" + windowSeconds + "s"
+                + ", rate=" + (adaptive ? "adaptive" : rate) + ", maxSamples=" + reservoir.length + "}";
+    }
+
+    /**
+     * A message offered to a sampler, with what is needed to send it later.
+     */
+    static class Sample {
+        String content;
+        List<WebhookEmbed> embeds;
+        Supplier<List<WebhookEmbed>> embedsSupplier;
+        final SendOptions options;
+        final WebhookClient client;
+        final WebhookTimings timings;
+        final CompletableFuture<WebhookResponse> future;
+        private long sequence;
+
+        Sample(String content, List<WebhookEmbed> embeds, Supplier<List<WebhookEmbed>> embedsSupplier,
+               SendOptions options, WebhookClient client, WebhookTimings timings,
+               CompletableFuture<WebhookResponse> future) {
+            this.content = content;
+            this.embeds = embeds;
+            this.embedsSupplier = embedsSupplier;
+            this.options = options;
+            this.client = client;
+            this.timings = timings;
+            this.future = future;
+        }
+
+        /**
+         * Adds the sampling footer. Lazily supplied embeds stay lazy, so that messages left out of
+         * the sample are never rendered.
+         */
+        private void annotate(String footer) {
+            if (embedsSupplier != null) {
+                Supplier<List<WebhookEmbed>> supplier = embedsSupplier;
+                embedsSupplier = () -> StreamSampler.annotate(supplier.get(), footer);
+            } else if (embeds != null && !embeds.isEmpty()) {
+                embeds = StreamSampler.annotate(embeds, footer);
+            } else {
+                content = (content != null ? content + "\n" : "") + "-# " + footer;
+            }
+        }
+    }
+
+    /**
+     * A finished sampling window.
+     */
+    static class Window {
+        private final List<Sample> samples;
+        private final List<CompletableFuture<WebhookResponse>> leftOut;
+        private final long total;
+
+        Window(List<Sample> samples, List<CompletableFuture<WebhookResponse>> leftOut, long total) {
+            this.samples = samples;
+            this.leftOut = leftOut;
+            this.total = total;
+        }
+
+        List<Sample> getSamples() {
+            return samples;
+        }
+
+        List<CompletableFuture<WebhookResponse>> getLeftOut() {
+            return leftOut;
+        }
+
+        long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A bounded multi-producer/single-consumer ring buffer of send submissions.
+ * <p>
+ * Slots are allocated up front and reused, so publishing a submission only claims a sequence
+ * number with a compare-and-set and copies the call's arguments into the claimed slot. Each slot
+ * carries a sequence number in the style of Vyukov's bounded queue: a producer may write slot
+ * {@code i} when its sequence equals the claimed position, and the consumer may read it once the
+ * producer has advanced the sequence by one.
+ *
+ * @since 1.2
+ */
+final class SubmissionRingBuffer {
+    private final Submission[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Only touched by the consumer
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity The minimum number of slots, rounded up to a power of two
+     */
+    SubmissionRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Submission[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Submission();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes a submission. Safe to call from any thread, and does not allocate.
+     *
+     * @return False if the buffer is full
+     */
+    boolean offer(String webhookName, String content, List<WebhookEmbed> embeds,
+                  Supplier<List<WebhookEmbed>> embedsSupplier, SendOptions options, WebhookClient client,
+                  CompletableFuture<WebhookResponse> future) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+        }
+
+        Submission slot = slots[index];
+        slot.webhookName = webhookName;
+        slot.content = content;
+        slot.embeds = embeds;
+        slot.embedsSupplier = embedsSupplier;
+        slot.options = options;
+        slot.client = client;
+        slot.future = future;
+        slot.submitted = System.nanoTime();
+
+        // A volatile write, so that the publication is ordered before the producer's wake-up check
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the next submission. Must only be called from the consumer thread, and the returned
+     * slot must be handed back with {@link #release(Submission)} before the next poll.
+     *
+     * @return The next submission, or null if the buffer is empty
+     */
+    Submission poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        return slots[index];
+    }
+
+    /**
+     * Looks at a published submission ahead of the next one without taking it. Must only be called
+     * from the consumer thread.
+     *
+     * @param offset The distance from the next submission
+     * @return The submission, or null if it is not published yet
+     */
+    Submission peek(int offset) {
+        long position = head + offset;
+        int index = (int) position & mask;
+        if (offset > mask || sequences.get(index) != position + 1) {
+            return null;
+        }
+        return slots[index];
+    }
+
+    /**
+     * Clears the next submissions, which must all have been looked at with {@link #peek(int)}, and
+     * makes their slots available to producers again.
+     *
+     * @param count The number of submissions
+     */
+    void release(int count) {
+        for (int i = 0; i < count; i++) {
+            release(slots[(int) head & mask]);
+        }
+    }
+
+    /**
+     * Clears the slot returned by {@link #poll()} and makes it available to producers again.
+     *
+     * @param slot The polled slot
+     */
+    void release(Submission slot) {
+        slot.webhookName = null;
+        slot.content = null;
+        slot.embeds = null;
+        slot.embedsSupplier = null;
+        slot.options = null;
+        slot.client = null;
+        slot.future = null;
+
+        int index = (int) head & mask;
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+    }
+
+    /**
+     * Checks if there are no published submissions. Only meaningful on the consumer thread.
+     *
+     * @return True if the buffer is empty
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * A reusable slot holding the arguments of one send call.
+     */
+    static final class Submission {
+        String webhookName;
+        String content;
+        List<WebhookEmbed> embeds;
+        Supplier<List<WebhookEmbed>> embedsSupplier;
+        SendOptions options;
+        WebhookClient client;
+        CompletableFuture<WebhookResponse> future;
+        long submitted;
+
+        /**
+         * Copies this slot, so that its contents outlive its release.
+         *
+         * @return The copy
+         */
+        Submission copy() {
+            Submission copy = new Submission();
+            copy.webhookName = webhookName;
+            copy.content = content;
+            copy.embeds = embeds;
+            copy.embedsSupplier = embedsSupplier;
+            copy.options = options;
+            copy.client = client;
+            copy.future = future;
+            copy.submitted = submitted;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.boatsnbunnies.service;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * Records OkHttp's connection-level events into the {@link WebhookTimings} tagged on each request.
+ * <p>
+ * The listener is stateless and shared by all calls, so recording costs a tag lookup and a
+ * {@link System#nanoTime()} call per event, without allocating. Calls are executed synchronously on
+ * the worker thread that also completes the request's future, so plain fields are sufficient.
+ *
+ * @since 1.2
+ */
+final class TimingEventListener extends EventListener {
+    static final TimingEventListener INSTANCE = new TimingEventListener();
+
+    private TimingEventListener() {
+    }
+
+    private static WebhookTimings timings(Call call) {
+        return call.request().tag(WebhookTimings.class);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.dnsStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.dnsEnd = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.connectStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.secureConnectStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.secureConnectEnd = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.connectEnd = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            // A pooled connection is handed out without connecting first
+            timings.connectionReused = timings.connectStart == 0;
+        }
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.requestSent = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        WebhookTimings timings = timings(call);
+        if (timings != null) {
+            timings.headersReceived = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.boatsnbunnies.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel holding a large number of timers cheaply.
+ * <p>
+ * Time is divided into ticks, and the wheel into a power of two of buckets, each a doubly linked
+ * list of the entries due in a tick with the same remainder. An entry due more than one rotation
+ * ahead counts down the rotations it still has to wait. Scheduling and cancelling are constant
+ * time; advancing the wheel by a tick visits only the entries of one bucket.
+ *
+ * @param <T> The type of the value of an entry
+ * @since 1.2
+ */
+final class TimingWheel<T> {
+    private final long tickNanos;
+    private final long startNanos;
+    private final Entry<T>[] buckets;
+    private final int mask;
+    private long tick; // The next tick to expire, guarded by this
+    private int size; // Guarded by this
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param tickNanos The duration of a tick in nanoseconds, the precision of the timers
+     * @param buckets The number of buckets, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickNanos, int buckets) {
+        this.tickNanos = Math.max(1, tickNanos);
+        this.startNanos = System.nanoTime();
+        int capacity = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+        this.buckets = (Entry<T>[]) new Entry<?>[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Schedules a value to expire at a time. A time in the past expires on the next tick.
+     *
+     * @param deadline The {@link System#nanoTime()} at which to expire
+     * @param value The value
+     * @return The entry, for cancelling
+     */
+    synchronized Entry<T> schedule(long deadline, T value) {
+        long due = Math.max(tick, ceilDiv(deadline - startNanos, tickNanos));
+        Entry<T> entry = new Entry<>(value, (due - tick) / buckets.length);
+        entry.bucket = (int) (due & mask);
+        entry.next = buckets[entry.bucket];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        buckets[entry.bucket] = entry;
+        size++;
+        return entry;
+    }
+
+    /**
+     * Removes an entry before it expires.
+     *
+     * @param entry The entry
+     * @return True if the entry was removed, false if it already expired or was cancelled
+     */
+    synchronized boolean cancel(Entry<T> entry) {
+        if (entry.bucket < 0) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Expires the entries of every tick up to a time.
+     *
+     * @param now The current {@link System#nanoTime()}
+     * @return The values of the expired entries, in no particular order
+     */
+    synchronized List<T> advance(long now) {
+        List<T> expired = new ArrayList<>();
+        long last = Math.floorDiv(now - startNanos, tickNanos);
+        for (; tick <= last; tick++) {
+            if (size == 0) {
+                // Nothing to count down, skip straight to the present
+                tick = last + 1;
+                break;
+            }
+
+            Entry<T> entry = buckets[(int) (tick & mask)];
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                if (entry.rounds == 0) {
+                    unlink(entry);
+                    expired.add(entry.value);
+                } else {
+                    entry.rounds--;
+                }
+                entry = next;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Removes every entry.
+     *
+     * @return The entries that were pending, in no particular order
+     */
+    synchronized List<Entry<T>> clear() {
+        List<Entry<T>> pending = new ArrayList<>(size);
+        for (int i = 0; i < buckets.length; i++) {
+            Entry<T> entry = buckets[i];
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                unlink(entry);
+                pending.add(entry);
+                entry = next;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Gets the number of pending entries.
+     *
+     * @return The number of entries
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        entry.bucket = -1;
+        size--;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * A pending timer.
+     *
+     * @param <T> The type of the value
+     */
+    static final class Entry<T> {
+        final T value;
+        private long rounds;
+        private int bucket;
+        private Entry<T> previous;
+        private Entry<T> next;
+
+        private Entry(T value, long rounds) {
+            this.value = value;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.boatsnbunnies.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records every send to a compact binary file, so that production traffic can be replayed
+ * against a stub server to benchmark the pipeline.
+ * <p>
+ * The file starts with the magic {@code BNBREC01} and the wall clock time of the start of the
+ * recording in epoch milliseconds. Records follow, each introduced by a type byte:
+ * <ul>
+ *     <li>{@code 1}, a webhook name: its id as a varint and the name in modified UTF-8</li>
+ *     <li>{@code 2}, a send: the submission time in microseconds since the start of the recording,
+ *     the webhook id, the serialized payload size in bytes plus one (0 if never serialized), the
+ *     status code and the time to completion in microseconds, each as a varint</li>
+ * </ul>
+ * Sends are recorded when they complete, so submission times are not in file order.
+ *
+ * @since 1.2
+ */
+final class TrafficRecorder implements Closeable {
+    static final long MAGIC = 0x424E425245433031L; // "BNBREC01"
+    static final int NAME_RECORD = 1;
+    static final int SEND_RECORD = 2;
+
+    private final File file;
+    private final DataOutputStream out;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> webhookIds = new HashMap<>();
+    private boolean failed;
+
+    /**
+     * Creates a recorder writing to a new file.
+     *
+     * @param file The file to write
+     * @throws IOException If the file could not be created
+     */
+    TrafficRecorder(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        out.writeLong(MAGIC);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the file being written.
+     *
+     * @return The file
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Records a send once its future completes.
+     *
+     * @param webhookName The name of the webhook
+     * @param submitted The {@link System#nanoTime()} at which the send was submitted
+     * @param future The send's future
+     */
+    void track(String webhookName, long submitted, CompletableFuture<WebhookResponse> future) {
+        future.whenComplete((response, error) -> record(webhookName, submitted, response));
+    }
+
+    private synchronized void record(String webhookName, long submitted, WebhookResponse response) {
+        if (failed) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        WebhookTimings timings = response != null ? response.getTimings() : null;
+        int payloadBytes = timings != null ? timings.getPayloadBytes() : -1;
+        int statusCode = response != null ? response.getStatusCode() : 0;
+
+        try {
+            Integer id = webhookIds.get(webhookName);
+            if (id == null) {
+                id = webhookIds.size();
+                webhookIds.put(webhookName, id);
+                out.writeByte(NAME_RECORD);
+                writeVarLong(id);
+                out.writeUTF(webhookName);
+            }
+
+            out.writeByte(SEND_RECORD);
+            writeVarLong(Math.max(0, (submitted - startNanos) / 1000));
+            writeVarLong(id);
+            writeVarLong(payloadBytes + 1);
+            writeVarLong(statusCode);
+            writeVarLong((now - submitted) / 1000);
+        } catch (IOException e) {
+            // Stop recording rather than failing sends, the partial file is still readable
+            failed = true;
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        failed = true;
+        out.close();
+    }
+}
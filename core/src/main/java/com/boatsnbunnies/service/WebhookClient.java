@@ -0,0 +1,177 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A handle for sending webhooks on behalf of one client, usually a plugin using the API.
+ * <p>
+ * Messages sent through a client are attributed to it: while several clients have messages
+ * waiting, the dispatcher serves them in proportion to their configured weights rather than in
+ * arrival order, a client may be limited to a quota of each webhook's rate limit, and its usage
+ * is counted. Obtain one with {@link WebhookService#getClient(String)}.
+ *
+ * @since 1.2
+ */
+public final class WebhookClient {
+    private final WebhookService service;
+    private final String name;
+    private final ClientUsage usage = new ClientUsage();
+    private final Map<String, RateLimiter> quotas = new ConcurrentHashMap<>();
+    final Map<String, ArrayDeque<Runnable>> heldKeys = new HashMap<>(); // Only touched by the dispatch loop
+
+    WebhookClient(WebhookService service, String name) {
+        this.service = service;
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the client.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the client's usage counters.
+     *
+     * @return The usage
+     */
+    public ClientUsage getUsage() {
+        return usage;
+    }
+
+    /**
+     * Gets the limiter enforcing the client's quota of a webhook's rate limit.
+     *
+     * @param webhookName The name of the webhook
+     * @param factory Creates the limiter on first use
+     * @return The quota limiter
+     */
+    RateLimiter getQuota(String webhookName, Function<String, RateLimiter> factory) {
+        RateLimiter limiter = quotas.get(webhookName);
+        return limiter != null ? limiter : quotas.computeIfAbsent(webhookName, factory);
+    }
+
+    /**
+     * Drops the quota limiter of a webhook that was unregistered.
+     *
+     * @param webhookName The name of the webhook
+     */
+    void removeQuota(String webhookName) {
+        quotas.remove(webhookName);
+    }
+
+    /**
+     * Drops all quota limiters, so that they are created again with the reloaded quota.
+     */
+    void clearQuotas() {
+        quotas.clear();
+    }
+
+    /**
+     * Sends a webhook with a single embed.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The embed to send
+     * @return A CompletableFuture that will be completed with the response
+     * @see WebhookService#send(String, String, WebhookEmbed)
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, WebhookEmbed embed) {
+        return send(webhookName, content, Collections.singletonList(embed), SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with a single embed.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The embed to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, WebhookEmbed embed, SendOptions options) {
+        return send(webhookName, content, Collections.singletonList(embed), options);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds to send
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, List<WebhookEmbed> embeds) {
+        return send(webhookName, content, embeds, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, List<WebhookEmbed> embeds, SendOptions options) {
+        return service.submit(webhookName, content, embeds, null, options, this);
+    }
+
+    /**
+     * Sends a webhook with a single embed that is only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The supplier of the embed to send
+     * @return A CompletableFuture that will be completed with the response
+     * @see WebhookService#sendLazy(String, String, Supplier)
+     */
+    public CompletableFuture<WebhookResponse> sendLazy(String webhookName, String content, Supplier<WebhookEmbed> embed) {
+        return sendLazy(webhookName, content, embed, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with a single embed that is only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The supplier of the embed to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> sendLazy(String webhookName, String content, Supplier<WebhookEmbed> embed, SendOptions options) {
+        return service.submit(webhookName, content, null, () -> Collections.singletonList(embed.get()), options, this);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds that are only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The supplier of the embeds to send
+     * @return A CompletableFuture that will be completed with the response
+     * @see WebhookService#sendLazyEmbeds(String, String, Supplier)
+     */
+    public CompletableFuture<WebhookResponse> sendLazyEmbeds(String webhookName, String content, Supplier<List<WebhookEmbed>> embeds) {
+        return sendLazyEmbeds(webhookName, content, embeds, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds that are only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The supplier of the embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> sendLazyEmbeds(String webhookName, String content, Supplier<List<WebhookEmbed>> embeds, SendOptions options) {
+        return service.submit(webhookName, content, null, embeds, options, this);
+    }
+}
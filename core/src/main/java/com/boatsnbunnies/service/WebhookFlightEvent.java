@@ -0,0 +1,35 @@
+package com.boatsnbunnies.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The base of the JDK Flight Recorder events emitted along a message's way through the service, so
+ * that recordings of lag spikes show webhook traffic next to the server's ticks.
+ * <p>
+ * The events are disabled unless a recording enables them, for example with the
+ * {@code bnbwebhookapi.jfc} settings. A disabled event is not committed, and since it never leaves
+ * the method that creates it, the JIT compiler removes its allocation too. Stack traces are off by
+ * default, as every event is emitted from the same few places.
+ *
+ * @since 1.2
+ */
+@Category({"BnBWebhookAPI"})
+@StackTrace(false)
+abstract class WebhookFlightEvent extends Event {
+    @Label("Webhook")
+    String webhookName;
+
+    @Label("Payload Size")
+    @Description("The size of the JSON payload, -1 if it is not serialized yet")
+    @DataAmount
+    int payloadBytes = -1;
+
+    @Label("Status Code")
+    @Description("The HTTP status code of the outcome, 0 while the message is still on its way")
+    int statusCode;
+}
@@ -0,0 +1,368 @@
+package com.boatsnbunnies.service;
+
+/**
+ * Represents a response from a Discord webhook request.
+ *
+ * @since 1.0
+ */
+public class WebhookResponse {
+    private final boolean success;
+    private final int statusCode;
+    private final String message;
+    private final WebhookTimings timings;
+    private final int rateLimitRemaining;
+    private final long rateLimitResetAfter;
+    private final String rateLimitBucket;
+    private final long retryAfter;
+    private final boolean globalRateLimit;
+    private final int errorCode;
+    private final String errorMessage;
+    private final String errorField;
+    private final String messageId;
+    
+    /**
+     * Creates a new webhook response.
+     *
+     * @param success Whether the request was successful
+     * @param statusCode The HTTP status code
+     * @param message The response message
+     */
+    public WebhookResponse(boolean success, int statusCode, String message) {
+        this(success, statusCode, message, null);
+    }
+    
+    /**
+     * Creates a new webhook response.
+     *
+     * @param success Whether the request was successful
+     * @param statusCode The HTTP status code
+     * @param message The response message
+     * @param timings The request's lifecycle timings, or null
+     * @since 1.2
+     */
+    public WebhookResponse(boolean success, int statusCode, String message, WebhookTimings timings) {
+        this(new Builder(success, statusCode, message).timings(timings));
+    }
+    
+    private WebhookResponse(Builder builder) {
+        this.success = builder.success;
+        this.statusCode = builder.statusCode;
+        this.message = builder.message;
+        this.timings = builder.timings;
+        this.rateLimitRemaining = builder.rateLimitRemaining;
+        this.rateLimitResetAfter = builder.rateLimitResetAfter;
+        this.rateLimitBucket = builder.rateLimitBucket;
+        this.retryAfter = builder.retryAfter;
+        this.globalRateLimit = builder.globalRateLimit;
+        this.errorCode = builder.errorCode;
+        this.errorMessage = builder.errorMessage;
+        this.errorField = builder.errorField;
+        this.messageId = builder.messageId;
+    }
+    
+    /**
+     * Creates a successful webhook response.
+     *
+     * @param statusCode The HTTP status code
+     * @param message The response message
+     * @return A successful webhook response
+     */
+    public static WebhookResponse success(int statusCode, String message) {
+        return new WebhookResponse(true, statusCode, message);
+    }
+    
+    /**
+     * Creates a failed webhook response.
+     *
+     * @param statusCode The HTTP status code
+     * @param message The error message
+     * @return A failed webhook response
+     */
+    public static WebhookResponse failure(int statusCode, String message) {
+        return new WebhookResponse(false, statusCode, message);
+    }
+    
+    /**
+     * Checks if the request was successful.
+     *
+     * @return True if the request was successful, false otherwise
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    /**
+     * Gets the HTTP status code.
+     *
+     * @return The HTTP status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    /**
+     * Gets the response message.
+     *
+     * @return The response message
+     */
+    public String getMessage() {
+        return message;
+    }
+    
+    /**
+     * Gets the lifecycle timings of the request.
+     *
+     * @return The timings, or null for responses not produced by the dispatch pipeline
+     * @since 1.2
+     */
+    public WebhookTimings getTimings() {
+        return timings;
+    }
+    
+    /**
+     * Gets the number of requests left in Discord's rate limit bucket, from
+     * {@code X-RateLimit-Remaining}.
+     *
+     * @return The remaining requests, or -1 if Discord did not say
+     * @since 1.2
+     */
+    public int getRateLimitRemaining() {
+        return rateLimitRemaining;
+    }
+    
+    /**
+     * Gets the time until Discord's rate limit bucket resets, from {@code X-RateLimit-Reset-After}.
+     *
+     * @return The time in milliseconds, or -1 if Discord did not say
+     * @since 1.2
+     */
+    public long getRateLimitResetAfter() {
+        return rateLimitResetAfter;
+    }
+    
+    /**
+     * Gets the id of Discord's rate limit bucket, from {@code X-RateLimit-Bucket}.
+     *
+     * @return The bucket id, or null if Discord did not say
+     * @since 1.2
+     */
+    public String getRateLimitBucket() {
+        return rateLimitBucket;
+    }
+    
+    /**
+     * Gets how long to wait before retrying a rate limited request, from {@code Retry-After} or the
+     * {@code retry_after} field of the error body.
+     *
+     * @return The time in milliseconds, or -1 if Discord did not say
+     * @since 1.2
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+    
+    /**
+     * Checks if a rate limited request hit Discord's global per-IP limit rather than the webhook's
+     * own, from {@code X-RateLimit-Global} or the {@code global} field of the error body.
+     *
+     * @return True if the global rate limit was hit
+     * @since 1.2
+     */
+    public boolean isGlobalRateLimit() {
+        return globalRateLimit;
+    }
+    
+    /**
+     * Gets Discord's JSON error code, for example {@code 50035} for an invalid form body.
+     *
+     * @return The error code, or 0 if there was no error body
+     * @since 1.2
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * Gets Discord's JSON error message.
+     *
+     * @return The error message, or null if there was no error body
+     * @since 1.2
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    /**
+     * Gets the path of the first field Discord rejected, for example {@code embeds.0.title}.
+     *
+     * @return The field path, or null if no field was rejected
+     * @since 1.2
+     */
+    public String getErrorField() {
+        return errorField;
+    }
+    
+    /**
+     * Gets the id of the created message. Only available for messages sent with
+     * {@link SendOptions.Builder#waitForMessage()}.
+     *
+     * @return The message id, or null
+     * @since 1.2
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+    
+    /**
+     * Builder class for creating WebhookResponse instances.
+     *
+     * @since 1.2
+     */
+    public static class Builder {
+        private final boolean success;
+        private final int statusCode;
+        private final String message;
+        private WebhookTimings timings;
+        private int rateLimitRemaining = -1;
+        private long rateLimitResetAfter = -1;
+        private String rateLimitBucket;
+        private long retryAfter = -1;
+        private boolean globalRateLimit;
+        private int errorCode;
+        private String errorMessage;
+        private String errorField;
+        private String messageId;
+        
+        /**
+         * Creates a new builder.
+         *
+         * @param success Whether the request was successful
+         * @param statusCode The HTTP status code
+         * @param message The response message
+         */
+        public Builder(boolean success, int statusCode, String message) {
+            this.success = success;
+            this.statusCode = statusCode;
+            this.message = message;
+        }
+        
+        /**
+         * Sets the request's lifecycle timings.
+         *
+         * @param timings The timings
+         * @return This builder
+         */
+        public Builder timings(WebhookTimings timings) {
+            this.timings = timings;
+            return this;
+        }
+        
+        /**
+         * Sets the number of requests left in the rate limit bucket.
+         *
+         * @param rateLimitRemaining The remaining requests
+         * @return This builder
+         */
+        public Builder rateLimitRemaining(int rateLimitRemaining) {
+            this.rateLimitRemaining = rateLimitRemaining;
+            return this;
+        }
+        
+        /**
+         * Sets the time until the rate limit bucket resets.
+         *
+         * @param rateLimitResetAfter The time in milliseconds
+         * @return This builder
+         */
+        public Builder rateLimitResetAfter(long rateLimitResetAfter) {
+            this.rateLimitResetAfter = rateLimitResetAfter;
+            return this;
+        }
+        
+        /**
+         * Sets the id of the rate limit bucket.
+         *
+         * @param rateLimitBucket The bucket id
+         * @return This builder
+         */
+        public Builder rateLimitBucket(String rateLimitBucket) {
+            this.rateLimitBucket = rateLimitBucket;
+            return this;
+        }
+        
+        /**
+         * Sets how long to wait before retrying.
+         *
+         * @param retryAfter The time in milliseconds
+         * @return This builder
+         */
+        public Builder retryAfter(long retryAfter) {
+            this.retryAfter = retryAfter;
+            return this;
+        }
+        
+        /**
+         * Sets whether Discord's global rate limit was hit.
+         *
+         * @param globalRateLimit True if the global rate limit was hit
+         * @return This builder
+         */
+        public Builder globalRateLimit(boolean globalRateLimit) {
+            this.globalRateLimit = globalRateLimit;
+            return this;
+        }
+        
+        /**
+         * Sets Discord's JSON error code.
+         *
+         * @param errorCode The error code
+         * @return This builder
+         */
+        public Builder errorCode(int errorCode) {
+            this.errorCode = errorCode;
+            return this;
+        }
+        
+        /**
+         * Sets Discord's JSON error message.
+         *
+         * @param errorMessage The error message
+         * @return This builder
+         */
+        public Builder errorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+        
+        /**
+         * Sets the path of the first rejected field.
+         *
+         * @param errorField The field path
+         * @return This builder
+         */
+        public Builder errorField(String errorField) {
+            this.errorField = errorField;
+            return this;
+        }
+        
+        /**
+         * Sets the id of the created message.
+         *
+         * @param messageId The message id
+         * @return This builder
+         */
+        public Builder messageId(String messageId) {
+            this.messageId = messageId;
+            return this;
+        }
+        
+        /**
+         * Builds the WebhookResponse instance.
+         *
+         * @return The WebhookResponse instance
+         */
+        public WebhookResponse build() {
+            return new WebhookResponse(this);
+        }
+    }
+}
@@ -0,0 +1,2009 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.Egress;
+import com.boatsnbunnies.config.WebhookSettings;
+import com.boatsnbunnies.event.WebhookEventType;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.WebhookPlatform;
+import jdk.jfr.EventType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Service for sending Discord webhooks.
+ *
+ * @since 1.0
+ */
+public class WebhookService {
+    private static final WebhookResponse PRE_SEND_RESPONSE = WebhookResponse.success(0, "Preparing to send webhook");
+    private static final long SCHEDULE_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Duration MAX_SCHEDULE_DELAY = Duration.ofNanos(Long.MAX_VALUE / 2); // About 146 years
+    private static final EventType ENQUEUE_EVENT_TYPE = EventType.getEventType(EnqueueFlightEvent.class);
+
+    private final WebhookPlatform platform;
+    private final HttpTransport transport;
+    private final ScheduledExecutorService executorService;
+    private final ThreadPoolExecutor senderPool;
+    private final KeyedSerialExecutor orderedSender;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Map<String, ConfiguredRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, DigestAggregator> digests = new ConcurrentHashMap<>();
+    private final Map<String, StreamSampler> samplers = new ConcurrentHashMap<>();
+    private final Map<String, DeliveryTracker> deliveryTrackers = new ConcurrentHashMap<>();
+    private final Map<String, WebhookClient> clients = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<WebhookResponse>> permitWaits = ConcurrentHashMap.newKeySet();
+    private final Map<String, ArrayDeque<Runnable>> heldKeys = new HashMap<>(); // Only touched by the dispatch loop
+    private final Map<String, PermitQueue<DeferredDispatch>> permitQueues = new HashMap<>(); // Only touched by the dispatch loop
+    private CompletableFuture<WebhookResponse> permitGranted; // Only touched by the dispatch loop
+    private final TimingWheel<ScheduledSend> schedules = new TimingWheel<>(SCHEDULE_TICK_NANOS, 4096);
+    private ScheduledFuture<?> scheduleTicker; // Guarded by schedules
+    private final ConnectionStats connectionStats = new ConnectionStats();
+    private final SharedRateLimitFile sharedRateLimits;
+    private final List<EgressRoute> egressRoutes;
+    private final Map<String, EgressRoute> webhookRoutes = new ConcurrentHashMap<>();
+    private final Map<String, String> webhookOrderingQueues = new ConcurrentHashMap<>();
+    private final TrafficRecorder trafficRecorder;
+    private final MetricsExporter metricsExporter;
+    private final DispatchLoop dispatchLoop;
+    private final MainThreadExecutor mainThreadExecutor;
+
+    /**
+     * Creates a new webhook service.
+     *
+     * @param platform The platform the service runs on
+     */
+    public WebhookService(WebhookPlatform platform) {
+        this.platform = platform;
+        WebhookSettings config = platform.getWebhookConfig();
+        boolean warmUp = config != null && config.isConnectionWarmUpEnabled();
+        int warmConnections = warmUp ? config.getWarmConnections() : 0;
+        this.transport = HttpTransport.create(config != null ? config.getHttpTransport() : null, Math.max(5, warmConnections));
+        if (!"okhttp".equals(transport.getName())) {
+            platform.log(Level.INFO, "Sending webhooks with the " + transport.getName() + " HTTP transport");
+        }
+        this.executorService = Executors.newScheduledThreadPool(1);
+        this.sharedRateLimits = openSharedRateLimits();
+        this.egressRoutes = createEgressRoutes();
+        this.trafficRecorder = openTrafficRecorder();
+
+        int minConcurrency = config != null ? config.getMinConcurrency() : 1;
+        int maxConcurrency = config != null ? config.getMaxConcurrency() : 1;
+        this.concurrencyLimiter = new ConcurrencyLimiter(minConcurrency, maxConcurrency, 2);
+
+        // One thread per possible in-flight request, idle threads are let go after a minute
+        int senderThreads = Math.max(1, Math.max(minConcurrency, maxConcurrency));
+        this.senderPool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "BnBWebhookAPI Sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.senderPool.allowCoreThreadTimeOut(true);
+        this.orderedSender = new KeyedSerialExecutor(senderPool);
+
+        int queueCapacity = config != null ? config.getDispatchQueueCapacity() : 0;
+        this.dispatchLoop = new DispatchLoop(platform, queueCapacity, this::attach, this::process, this::getClientWeight);
+        this.mainThreadExecutor = new MainThreadExecutor(platform);
+
+        // Open connections ahead of the first message, and keep them open while idle
+        if (warmUp) {
+            ConnectionWarmer warmer = new ConnectionWarmer(platform, name -> getEgressRoute(name).getTransport(),
+                    senderPool, connectionStats, warmConnections);
+            executorService.execute(warmer::warmUp);
+            int keepAliveInterval = config.getKeepAliveInterval();
+            if (warmConnections > 0 && keepAliveInterval > 0) {
+                executorService.scheduleWithFixedDelay(() -> warmer.keepAlive(keepAliveInterval, TimeUnit.SECONDS),
+                        keepAliveInterval, keepAliveInterval, TimeUnit.SECONDS);
+            }
+        }
+
+        this.metricsExporter = startMetricsExporter();
+
+        // Pick up the messages that were scheduled when the server last stopped
+        if (config != null && config.isSchedulePersistenceEnabled()) {
+            loadSchedules();
+        }
+    }
+
+    /**
+     * Opens the shared rate limit file if cross-server rate limiting is enabled.
+     *
+     * @return The shared rate limit file, or null if disabled or unavailable
+     */
+    private SharedRateLimitFile openSharedRateLimits() {
+        WebhookSettings config = platform.getWebhookConfig();
+        if (config == null || !config.isSharedRateLimitEnabled()) {
+            return null;
+        }
+
+        File file = new File(config.getSharedRateLimitDirectory(), "rate-limits.dat");
+        try {
+            SharedRateLimitFile shared = new SharedRateLimitFile(file.toPath());
+            platform.log(Level.INFO, "Using shared rate limits from " + file.getAbsolutePath());
+            return shared;
+        } catch (IOException | RuntimeException e) {
+            platform.log(Level.WARNING, "Could not open shared rate limit file, falling back to local rate limits", e);
+            return null;
+        }
+    }
+
+    /**
+     * Opens a new traffic recording if traffic recording is enabled.
+     *
+     * @return The traffic recorder, or null if disabled or unavailable
+     */
+    private TrafficRecorder openTrafficRecorder() {
+        WebhookSettings config = platform.getWebhookConfig();
+        if (config == null || !config.isTrafficRecordingEnabled()) {
+            return null;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(platform.getDataFolder(), "recordings/traffic-" + timestamp + ".bin");
+        try {
+            TrafficRecorder recorder = new TrafficRecorder(file);
+            platform.log(Level.INFO, "Recording webhook traffic to " + file.getAbsolutePath());
+            return recorder;
+        } catch (IOException e) {
+            platform.log(Level.WARNING, "Could not open traffic recording", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the outgoing paths to Discord, falling back to a single one from the default address
+     * if none are configured or none could be set up.
+     *
+     * @return The egress routes
+     */
+    private List<EgressRoute> createEgressRoutes() {
+        WebhookSettings config = platform.getWebhookConfig();
+        List<EgressRoute> routes = new ArrayList<>();
+        for (Egress egress : config != null ? config.getEgresses() : Collections.<Egress>emptyList()) {
+            try {
+                HttpTransport egressTransport = transport.forEgress(egress);
+                String address = egress.getProxy() != null ? egress.getProxy() : egress.getLocalAddress();
+                routes.add(new EgressRoute(egress.getName(), egressTransport, createGlobalRateLimiter(address != null ? "global@" + address : "global")));
+            } catch (IOException | RuntimeException e) {
+                platform.log(Level.WARNING, "Could not set up egress " + egress.getName() + ", skipping it", e);
+            }
+        }
+
+        if (routes.isEmpty()) {
+            routes.add(new EgressRoute("default", transport, createGlobalRateLimiter("global")));
+        } else {
+            platform.log(Level.INFO, "Sending webhooks through " + routes.size() + " egresses");
+        }
+        return routes;
+    }
+
+    /**
+     * Creates the rate limiter shared by all webhooks of an egress, shared with other servers on
+     * this host if enabled since Discord's global limit applies per IP.
+     *
+     * @param key The key of the shared bucket, identifying the egress's IP
+     * @return The global rate limiter, or null if there is no global limit
+     */
+    private RateLimiter createGlobalRateLimiter(String key) {
+        WebhookSettings config = platform.getWebhookConfig();
+        if (config == null || config.getGlobalRateLimit() <= 0) {
+            return null;
+        }
+
+        int requests = config.getGlobalRateLimit();
+        int period = config.getGlobalRateLimitPeriod();
+        if (sharedRateLimits != null) {
+            return new SharedRateLimiter(sharedRateLimits, key, requests, period, TimeUnit.SECONDS);
+        }
+        return new LocalRateLimiter(requests, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts exporting metrics snapshots if metrics export is enabled.
+     *
+     * @return The metrics exporter, or null if disabled
+     */
+    private MetricsExporter startMetricsExporter() {
+        WebhookSettings config = platform.getWebhookConfig();
+        if (config == null || !config.isMetricsExportEnabled()) {
+            return null;
+        }
+
+        File directory = new File(platform.getDataFolder(), "metrics");
+        MetricsExporter exporter = new MetricsExporter(this, platform, directory,
+                MetricsExporter.Format.of(config.getMetricsFormat()), config.getMetricsMaxFileSize() * 1024L * 1024L,
+                config.getMetricsMaxFileAge(), TimeUnit.HOURS, config.getMetricsMaxFiles());
+        exporter.start(Math.max(1, config.getMetricsInterval()), TimeUnit.SECONDS);
+        platform.log(Level.INFO, "Exporting webhook metrics to " + directory.getAbsolutePath());
+        return exporter;
+    }
+
+    /**
+     * Sends a webhook with a single embed.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The embed to send
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, WebhookEmbed embed) {
+        return send(webhookName, content, Collections.singletonList(embed));
+    }
+
+    /**
+     * Sends a webhook with a single embed.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The embed to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, WebhookEmbed embed, SendOptions options) {
+        return send(webhookName, content, Collections.singletonList(embed), options);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds to send
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, List<WebhookEmbed> embeds) {
+        return send(webhookName, content, embeds, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> send(String webhookName, String content, List<WebhookEmbed> embeds, SendOptions options) {
+        return submit(webhookName, content, embeds, null, options, null);
+    }
+
+    /**
+     * Sends a webhook with a single embed that is only built once the message is about to be sent.
+     * The supplier runs on the dispatch thread, and not at all if the message is rejected, for
+     * example because it is rate limited.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The supplier of the embed to send
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> sendLazy(String webhookName, String content, Supplier<WebhookEmbed> embed) {
+        return sendLazy(webhookName, content, embed, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with a single embed that is only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embed The supplier of the embed to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     * @see #sendLazy(String, String, Supplier)
+     */
+    public CompletableFuture<WebhookResponse> sendLazy(String webhookName, String content, Supplier<WebhookEmbed> embed, SendOptions options) {
+        return submit(webhookName, content, null, () -> Collections.singletonList(embed.get()), options, null);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds that are only built once the message is about to be sent.
+     * The supplier runs on the dispatch thread, and not at all if the message is rejected, for
+     * example because it is rate limited.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The supplier of the embeds to send
+     * @return A CompletableFuture that will be completed with the response
+     */
+    public CompletableFuture<WebhookResponse> sendLazyEmbeds(String webhookName, String content, Supplier<List<WebhookEmbed>> embeds) {
+        return sendLazyEmbeds(webhookName, content, embeds, SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds that are only built once the message is about to be sent.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The supplier of the embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return A CompletableFuture that will be completed with the response
+     * @see #sendLazyEmbeds(String, String, Supplier)
+     */
+    public CompletableFuture<WebhookResponse> sendLazyEmbeds(String webhookName, String content, Supplier<List<WebhookEmbed>> embeds, SendOptions options) {
+        return submit(webhookName, content, null, embeds, options, null);
+    }
+
+    /**
+     * Sends a webhook with a single embed at a later time.
+     *
+     * @param webhookName The name of the webhook
+     * @param time The time to send at, a time in the past sends right away
+     * @param embed The embed to send
+     * @return The handle to cancel the message with and to get its response from
+     */
+    public ScheduledSend sendAt(String webhookName, Instant time, String content, WebhookEmbed embed) {
+        return sendAt(webhookName, time, content, Collections.singletonList(embed), SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds at a later time. Scheduled messages are kept in a timing
+     * wheel, which holds any number of them without a task each, and are due to within a tenth of
+     * a second. With {@code scheduling.persist} enabled, messages still pending at shutdown are
+     * sent after the next start.
+     *
+     * @param webhookName The name of the webhook
+     * @param time The time to send at, a time in the past sends right away
+     * @param embeds The embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return The handle to cancel the message with and to get its response from
+     * @throws NullPointerException If the embeds or one of them is null
+     */
+    public ScheduledSend sendAt(String webhookName, Instant time, String content, List<WebhookEmbed> embeds, SendOptions options) {
+        requireEmbeds(embeds);
+        return schedule(new ScheduledSend(this, webhookName, time, content, embeds, options),
+                deadlineAfter(Duration.between(Instant.now(), time)));
+    }
+
+    /**
+     * Sends a webhook with a single embed after a delay.
+     *
+     * @param webhookName The name of the webhook
+     * @param delay The delay
+     * @param embed The embed to send
+     * @return The handle to cancel the message with and to get its response from
+     */
+    public ScheduledSend sendAfter(String webhookName, Duration delay, String content, WebhookEmbed embed) {
+        return sendAfter(webhookName, delay, content, Collections.singletonList(embed), SendOptions.DEFAULT);
+    }
+
+    /**
+     * Sends a webhook with multiple embeds after a delay.
+     *
+     * @param webhookName The name of the webhook
+     * @param delay The delay
+     * @param embeds The embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @return The handle to cancel the message with and to get its response from
+     * @throws NullPointerException If the embeds or one of them is null
+     * @see #sendAt(String, Instant, String, List, SendOptions)
+     */
+    public ScheduledSend sendAfter(String webhookName, Duration delay, String content, List<WebhookEmbed> embeds, SendOptions options) {
+        requireEmbeds(embeds);
+        if (delay.compareTo(MAX_SCHEDULE_DELAY) > 0) {
+            delay = MAX_SCHEDULE_DELAY;
+        }
+        long deadline = deadlineAfter(delay);
+        return schedule(new ScheduledSend(this, webhookName, Instant.now().plus(delay), content, embeds, options), deadline);
+    }
+
+    /**
+     * Checks the embeds of a scheduled message up front, rather than when they are saved at
+     * shutdown.
+     *
+     * @param embeds The embeds
+     */
+    private static void requireEmbeds(List<WebhookEmbed> embeds) {
+        Objects.requireNonNull(embeds, "embeds");
+        for (WebhookEmbed embed : embeds) {
+            Objects.requireNonNull(embed, "embed");
+        }
+    }
+
+    /**
+     * Gets the {@link System#nanoTime()} at which a delay from now ends. A negative delay ends now,
+     * and one longer than about 146 years is capped, so that the deadline neither overflows nor is
+     * too far ahead to compare with the current time.
+     *
+     * @param delay The delay
+     * @return The deadline
+     */
+    private static long deadlineAfter(Duration delay) {
+        if (delay.isNegative()) {
+            return System.nanoTime();
+        }
+        return System.nanoTime() + (delay.compareTo(MAX_SCHEDULE_DELAY) > 0 ? MAX_SCHEDULE_DELAY : delay).toNanos();
+    }
+
+    /**
+     * Gets the number of scheduled messages that are not due yet.
+     *
+     * @return The number of scheduled messages
+     */
+    public int getScheduledCount() {
+        return schedules.size();
+    }
+
+    /**
+     * Adds a message to the timing wheel, and starts turning the wheel if it is the first.
+     *
+     * @param send The message
+     * @param deadline The {@link System#nanoTime()} at which the message is due
+     * @return The message
+     */
+    private ScheduledSend schedule(ScheduledSend send, long deadline) {
+        synchronized (schedules) {
+            send.entry = schedules.schedule(deadline, send);
+            if (scheduleTicker == null && !executorService.isShutdown()) {
+                scheduleTicker = executorService.scheduleAtFixedRate(this::fireSchedules,
+                        SCHEDULE_TICK_NANOS, SCHEDULE_TICK_NANOS, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // The wheel no longer turns once the service is shut down
+        if (executorService.isShutdown() && schedules.cancel(send.entry)) {
+            send.future.complete(WebhookResponse.failure(503, "Webhook service is shut down"));
+        }
+        return send;
+    }
+
+    /**
+     * Cancels a scheduled message.
+     *
+     * @param send The message
+     * @return True if the message was cancelled, false if it was already sent or cancelled
+     */
+    boolean cancel(ScheduledSend send) {
+        if (send.entry == null || !schedules.cancel(send.entry)) {
+            return false;
+        }
+        send.future.cancel(false);
+        return true;
+    }
+
+    /**
+     * Sends the scheduled messages that are due, on the timer thread.
+     */
+    private void fireSchedules() {
+        for (ScheduledSend send : schedules.advance(System.nanoTime())) {
+            submit(send.webhookName, send.content, send.embeds, null, send.options, null)
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            send.future.completeExceptionally(error);
+                        } else {
+                            send.future.complete(response);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Schedules the messages saved at the last shutdown. The file is deleted once read, so that a
+     * crash does not send them twice.
+     */
+    private void loadSchedules() {
+        File file = new File(platform.getDataFolder(), "scheduled.dat");
+        try {
+            List<ScheduledSend> sends = ScheduleStore.read(file, this);
+            for (ScheduledSend send : sends) {
+                schedule(send, deadlineAfter(Duration.between(Instant.now(), send.time)));
+            }
+            if (!sends.isEmpty()) {
+                platform.log(Level.INFO, "Loaded " + sends.size() + " scheduled webhook messages");
+            }
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            platform.log(Level.WARNING, "Could not load scheduled webhook messages", e);
+        }
+    }
+
+    /**
+     * Takes the pending scheduled messages off the wheel at shutdown, saving them for the next
+     * start if persistence is enabled.
+     *
+     * @return The number of messages that were neither sent nor saved
+     */
+    private int saveSchedules() {
+        List<TimingWheel.Entry<ScheduledSend>> pending = schedules.clear();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<ScheduledSend> sends = new ArrayList<>(pending.size());
+        pending.forEach(entry -> sends.add(entry.value));
+        WebhookSettings config = platform.getWebhookConfig();
+        if (config != null && config.isSchedulePersistenceEnabled()) {
+            try {
+                ScheduleStore.write(new File(platform.getDataFolder(), "scheduled.dat"), sends);
+                sends.forEach(send -> send.future.cancel(false));
+                platform.log(Level.INFO, "Saved " + sends.size() + " scheduled webhook messages for the next start");
+                return 0;
+            } catch (IOException | RuntimeException e) {
+                // Shutdown goes on, the messages are abandoned instead
+                platform.log(Level.WARNING, "Could not save scheduled webhook messages", e);
+            }
+        }
+
+        WebhookResponse abandonedResponse = WebhookResponse.failure(503, "Abandoned at shutdown");
+        sends.forEach(send -> send.future.complete(abandonedResponse));
+        return sends.size();
+    }
+
+    /**
+     * Hands a message to the dispatch loop. Publishing it allocates nothing but the returned
+     * future, and the flight recorder event while a recording is running: the completion callbacks
+     * of the message's tracking and completion mode are attached on the dispatch loop's thread.
+     *
+     * @param webhookName The name of the webhook
+     * @param content The message content
+     * @param embeds The embeds to send, or null if they are supplied lazily
+     * @param embedsSupplier The supplier of the embeds, or null if they are given
+     * @param options The options for this message, or null for the defaults
+     * @param client The client sending the message, or null if unattributed
+     * @return A CompletableFuture that will be completed with the response
+     */
+    CompletableFuture<WebhookResponse> submit(String webhookName, String content, List<WebhookEmbed> embeds,
+                                              Supplier<List<WebhookEmbed>> embedsSupplier, SendOptions options,
+                                              WebhookClient client) {
+        if (options == null) {
+            options = SendOptions.DEFAULT;
+        }
+        CompletableFuture<WebhookResponse> future = new CompletableFuture<>();
+        DeliveryTracker tracker = getDeliveryTracker(webhookName);
+        tracker.submitted();
+        if (client != null) {
+            client.getUsage().submitted();
+        }
+
+        // Hand the message to the dispatch loop, everything else happens on its thread
+        EnqueueFlightEvent enqueueEvent = ENQUEUE_EVENT_TYPE.isEnabled() ? new EnqueueFlightEvent() : null;
+        if (enqueueEvent != null) {
+            enqueueEvent.begin();
+        }
+        boolean queued = dispatchLoop.offer(webhookName, content, embeds, embedsSupplier, options, client, future);
+        if (enqueueEvent != null && enqueueEvent.shouldCommit()) {
+            enqueueEvent.webhookName = webhookName;
+            enqueueEvent.statusCode = queued ? 0 : 503;
+            enqueueEvent.commit();
+        }
+
+        // A rejected message never reaches the loop, so its outcome is counted here
+        if (!queued) {
+            WebhookResponse response = WebhookResponse.failure(503, "Dispatch queue full");
+            if (trafficRecorder != null) {
+                trafficRecorder.track(webhookName, System.nanoTime(), future);
+            }
+            tracker.accept(response, null);
+            if (client != null) {
+                client.getUsage().recorder.accept(response, null);
+            }
+            completeAsync(future, response, completionExecutor(options));
+        }
+        return future;
+    }
+
+    /**
+     * Attaches the callbacks of a submitted message on the dispatch loop's thread, before it is
+     * handled or abandoned: its tracking, its recording and the relay to the caller's future in
+     * completion modes other than {@link CompletionMode#SENDER_THREAD}.
+     *
+     * @param submission The submitted message, whose future is replaced by the relayed one
+     */
+    private void attach(SubmissionRingBuffer.Submission submission) {
+        CompletableFuture<WebhookResponse> future = submission.future;
+        Executor executor = completionExecutor(submission.options);
+        if (executor != null) {
+            CompletableFuture<WebhookResponse> caller = future;
+            future = new CompletableFuture<>();
+            future.whenComplete((response, error) -> {
+                if (error != null) {
+                    caller.completeExceptionally(error);
+                } else {
+                    completeAsync(caller, response, executor);
+                }
+            });
+            submission.future = future;
+        }
+
+        getDeliveryTracker(submission.webhookName).track(future);
+        if (trafficRecorder != null) {
+            trafficRecorder.track(submission.webhookName, submission.submitted, future);
+        }
+        if (submission.client != null) {
+            future.whenComplete(submission.client.getUsage().recorder);
+        }
+    }
+
+    /**
+     * Gets the executor a message's future is completed on.
+     *
+     * @param options The options of the message
+     * @return The executor, or null to complete on the thread that finished the request
+     */
+    private Executor completionExecutor(SendOptions options) {
+        switch (options.getCompletionMode()) {
+            case EXECUTOR:
+                return options.getCompletionExecutor();
+            case MAIN_THREAD:
+                return mainThreadExecutor;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Completes a caller's future on its completion executor. If the executor throws, for example
+     * because it rejects the task, the future fails with the exception instead.
+     *
+     * @param future The future to complete
+     * @param response The response
+     * @param executor The executor, or null to complete on this thread
+     */
+    private static void completeAsync(CompletableFuture<WebhookResponse> future, WebhookResponse response, Executor executor) {
+        if (executor == null) {
+            future.complete(response);
+            return;
+        }
+        try {
+            executor.execute(() -> future.complete(response));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Gets the handle for sending webhooks on behalf of a client, usually a plugin. Messages sent
+     * through it are shared fairly with other clients according to the client's configured weight,
+     * limited to its quota of each webhook's rate limit, and counted in its usage.
+     *
+     * @param name The name of the client
+     * @return The client
+     */
+    public WebhookClient getClient(String name) {
+        WebhookClient client = clients.get(name);
+        return client != null ? client : clients.computeIfAbsent(name, ignored -> new WebhookClient(this, name));
+    }
+
+    /**
+     * Gets the clients that have been handed out, for reporting their usage.
+     *
+     * @return The clients
+     */
+    public Collection<WebhookClient> getClients() {
+        return Collections.unmodifiableCollection(clients.values());
+    }
+
+    /**
+     * Gets the weight of a client in the fair ordering of submissions.
+     *
+     * @param client The client, or null for unattributed messages
+     * @return The weight
+     */
+    private int getClientWeight(WebhookClient client) {
+        return client != null ? platform.getWebhookConfig().getClientWeight(client.getName()) : 1;
+    }
+
+    /**
+     * Waits for all messages sent to a webhook to complete. A pending digest or sample is sent
+     * right away instead of at the end of its window.
+     *
+     * @param webhookName The name of the webhook
+     * @param timeout The maximum time to wait
+     * @param unit The time unit of the timeout
+     * @return A CompletableFuture completed with true once the webhook has no outstanding messages,
+     *         or with false if the timeout passes first
+     */
+    public CompletableFuture<Boolean> flush(String webhookName, long timeout, TimeUnit unit) {
+        if (digests.containsKey(webhookName)) {
+            dispatchLoop.execute(() -> flushDigest(webhookName));
+        }
+        if (samplers.containsKey(webhookName)) {
+            dispatchLoop.execute(() -> flushSamples(webhookName));
+        }
+        return getDeliveryTracker(webhookName).flush(timeout, unit);
+    }
+
+    /**
+     * Waits for all messages sent to any webhook to complete. Pending digests and samples are sent
+     * right away.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The time unit of the timeout
+     * @return A CompletableFuture completed with true once no webhook has outstanding messages, or
+     *         with false if the timeout passes first
+     */
+    public CompletableFuture<Boolean> flushAll(long timeout, TimeUnit unit) {
+        List<CompletableFuture<Boolean>> flushes = new ArrayList<>();
+        for (String webhookName : deliveryTrackers.keySet()) {
+            flushes.add(flush(webhookName, timeout, unit));
+        }
+        return CompletableFuture.allOf(flushes.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> flushes.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Gets the number of messages sent to a webhook that have not completed yet.
+     *
+     * @param webhookName The name of the webhook
+     * @return The number of outstanding messages
+     */
+    public long getOutstanding(String webhookName) {
+        DeliveryTracker tracker = deliveryTrackers.get(webhookName);
+        return tracker != null ? tracker.getOutstanding() : 0;
+    }
+
+    /**
+     * Gets the delivery tracker for a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The delivery tracker
+     */
+    private DeliveryTracker getDeliveryTracker(String webhookName) {
+        DeliveryTracker tracker = deliveryTrackers.get(webhookName);
+        if (tracker == null) {
+            tracker = deliveryTrackers.computeIfAbsent(webhookName, name -> new DeliveryTracker());
+        }
+        return tracker;
+    }
+
+    /**
+     * Processes a submitted message on the dispatch loop's thread.
+     *
+     * @param submission The submitted message
+     */
+    private void process(SubmissionRingBuffer.Submission submission) {
+        String webhookName = submission.webhookName;
+        List<WebhookEmbed> embeds = submission.embeds;
+        CompletableFuture<WebhookResponse> future = submission.future;
+        WebhookTimings timings = new WebhookTimings(submission.submitted);
+        timings.dequeued = System.nanoTime();
+
+        // Get webhook URL
+        String webhookUrl = platform.getWebhookConfig().getWebhookUrl(webhookName);
+        if (webhookUrl == null) {
+            reject(future, new WebhookResponse(false, 404, "Webhook not found: " + webhookName, timings));
+            return;
+        }
+
+        // Accumulate the message if the webhook is in digest mode, which needs the embeds right away
+        DigestAggregator digest = getDigestAggregator(webhookName);
+        if (digest.isEnabled()) {
+            if (embeds == null) {
+                embeds = renderEmbeds(submission.embedsSupplier, future, timings);
+                if (embeds == null) {
+                    return;
+                }
+            }
+            String key = submission.options.getDigestKey() != null
+                    ? submission.options.getDigestKey()
+                    : DigestAggregator.defaultKey(submission.content, embeds);
+            if (digest.add(key, submission.content, embeds, future)) {
+                // The timer only hands the summary back to this thread, where it is dispatched
+                executorService.schedule(() -> dispatchLoop.execute(() -> flushDigest(webhookName)),
+                        digest.getWindowSeconds(), TimeUnit.SECONDS);
+            }
+            return;
+        }
+
+        // Offer the message to the window's sample if the webhook is sampled, lazy embeds are only
+        // rendered if it is sent
+        StreamSampler sampler = getStreamSampler(webhookName);
+        if (sampler.isEnabled()) {
+            StreamSampler.Sample sample = new StreamSampler.Sample(submission.content, embeds, submission.embedsSupplier,
+                    submission.options, submission.client, timings, future);
+            if (sampler.add(sample)) {
+                executorService.schedule(() -> dispatchLoop.execute(() -> flushSamples(webhookName)),
+                        sampler.getWindowSeconds(), TimeUnit.SECONDS);
+            }
+            return;
+        }
+
+        dispatch(webhookName, webhookUrl, submission.content, embeds, submission.embedsSupplier, submission.options,
+                submission.client, timings, future);
+    }
+
+    /**
+     * Sends a message to a webhook, bypassing digest mode and sampling.
+     *
+     * @param webhookName The name of the webhook
+     * @param webhookUrl The URL of the webhook
+     * @param content The message content
+     * @param embeds The embeds to send, or null if they are supplied lazily
+     * @param embedsSupplier The supplier of the embeds, or null if they are given
+     * @param options The options for this message, or null for the defaults
+     * @param client The client sending the message, or null if unattributed
+     * @param timings The request's timings
+     * @param future The future to complete with the response
+     */
+    private void dispatch(String webhookName, String webhookUrl, String content, List<WebhookEmbed> embeds,
+                          Supplier<List<WebhookEmbed>> embedsSupplier, SendOptions options, WebhookClient client,
+                          WebhookTimings timings, CompletableFuture<WebhookResponse> future) {
+        // Wait behind an earlier message from the same client with the same ordering key that is
+        // waiting on a timer or for a permit, so that it is not overtaken while it waits
+        String orderingKey = orderingKey(webhookName, options);
+        ArrayDeque<Runnable> held = heldKeys(client).get(orderingKey);
+        if (held != null) {
+            permitWaits.add(future);
+            held.add(() -> {
+                if (!permitWaits.remove(future)) {
+                    return;
+                }
+                try {
+                    dispatch(webhookName, webhookUrl, content, embeds, embedsSupplier, options, client, timings, future);
+                } catch (RuntimeException e) {
+                    reject(future, WebhookResponse.failure(500, "Failed to dispatch webhook: " + e.getMessage()));
+                    platform.log(Level.SEVERE, "Failed to dispatch webhook " + webhookName, e);
+                }
+            });
+            return;
+        }
+
+        // Hold the egress's traffic while Discord's global rate limit is in effect for it. The message
+        // waits on a timer, so the dispatch loop keeps serving webhooks on other egresses
+        EgressRoute route = getEgressRoute(webhookName);
+        long pause = route.nanosUntilResume();
+        if (pause > 0) {
+            deferDispatch(pause, new DeferredDispatch(webhookName, content, embeds, embedsSupplier, options, client, timings, future));
+            return;
+        }
+
+        // Check circuit breaker
+        CircuitBreaker circuitBreaker = getCircuitBreaker(webhookName);
+        if (!circuitBreaker.tryAcquire()) {
+            WebhookResponse response = circuitBreaker.getState() == CircuitBreaker.State.DISABLED
+                    ? new WebhookResponse(false, 410, "Webhook disabled: " + webhookName, timings)
+                    : new WebhookResponse(false, 503, "Circuit breaker open for webhook: " + webhookName, timings);
+            reject(future, response);
+            return;
+        }
+
+        // Check rate limits: the client's quota of the webhook, the webhook's own limit and then the
+        // global one. Permits of earlier levels are handed back if a later level rejects the request,
+        // so no level loses permits. The webhook's permits go to the messages waiting for them first
+        RateLimiter quota = client != null ? getQuota(client, webhookName) : null;
+        RateLimiter rateLimiter = getRateLimiter(webhookName);
+        RateLimiter globalRateLimiter = route.getGlobalRateLimiter();
+        PermitQueue<DeferredDispatch> permitQueue = permitQueues.get(webhookName);
+        boolean behindWaiters = permitQueue != null && !permitQueue.isEmpty() && future != permitGranted;
+        String rateLimited = null;
+        long permitWait = 0;
+        boolean webhookLimited = false;
+        if (quota != null && !quota.tryAcquire()) {
+            rateLimited = "Client quota exceeded";
+            permitWait = quota.nanosUntilPermit();
+        } else if (behindWaiters || !rateLimiter.tryAcquire()) {
+            if (quota != null) {
+                quota.refund();
+            }
+            rateLimited = "Rate limited";
+            permitWait = rateLimiter.nanosUntilPermit();
+            webhookLimited = true;
+        } else if (globalRateLimiter != null && !globalRateLimiter.tryAcquire()) {
+            if (quota != null) {
+                quota.refund();
+            }
+            rateLimiter.refund();
+            rateLimited = "Global rate limit exceeded";
+            permitWait = globalRateLimiter.nanosUntilPermit();
+        }
+        if (rateLimited != null) {
+            circuitBreaker.release();
+
+            // Try again once the rejecting level frees a permit, if that is within the message's wait
+            long maxWait = options.getMaxPermitWait();
+            boolean wait = maxWait > 0 && permitWait != Long.MAX_VALUE
+                    && System.nanoTime() + permitWait - (timings.submitted + maxWait) <= 0;
+            RateLimitFlightEvent rateLimitEvent = new RateLimitFlightEvent();
+            if (rateLimitEvent.shouldCommit()) {
+                rateLimitEvent.webhookName = webhookName;
+                rateLimitEvent.statusCode = wait ? 0 : 429;
+                rateLimitEvent.limit = rateLimited;
+                rateLimitEvent.permitWait = permitWait;
+                rateLimitEvent.rejected = !wait;
+                rateLimitEvent.commit();
+            }
+            if (wait) {
+                DeferredDispatch deferred = new DeferredDispatch(webhookName, content, embeds, embedsSupplier, options, client, timings, future);
+                if (webhookLimited) {
+                    waitForPermit(deferred);
+                } else {
+                    deferDispatch(permitWait, deferred);
+                }
+                return;
+            }
+
+            WebhookResponse response = new WebhookResponse(false, 429, rateLimited, timings);
+
+            // Fire rate limited event, without rendering lazy embeds
+            fireEvent(webhookName, embeds != null ? embeds : Collections.emptyList(), response, WebhookEventType.RATE_LIMITED);
+
+            reject(future, response);
+            return;
+        }
+
+        timings.permitAcquired = System.nanoTime();
+
+        // Render lazy embeds now that the message is certain to be sent
+        List<WebhookEmbed> rendered = embeds != null ? embeds : renderEmbeds(embedsSupplier, future, timings);
+        if (rendered == null) {
+            circuitBreaker.release();
+            return;
+        }
+
+        // Send request asynchronously, after the earlier messages with the same ordering key. The
+        // message only takes a concurrency slot once it is its key's turn, and waits for one without
+        // holding a thread, so neither this loop nor a busy key holds back other webhooks
+        orderedSender.execute(orderingKey, new PendingSend(future,
+                () -> execute(webhookName, webhookUrl, content, rendered, options, route, circuitBreaker, timings, future)));
+    }
+
+    /**
+     * Dispatches a rate limited or paused message again after a delay. Nothing waits in the meantime: the
+     * retry is a timer, which hands the message back to the dispatch loop when it fires. Until then,
+     * later messages from the same client with the same ordering key are held behind it, and
+     * dispatched in order once it goes through.
+     *
+     * @param delay The delay in nanoseconds
+     * @param deferred The message
+     */
+    private void deferDispatch(long delay, DeferredDispatch deferred) {
+        deferred.hold();
+        try {
+            executorService.schedule(() -> dispatchLoop.execute(deferred::retry), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            deferred.fail(new WebhookResponse(false, 503, "Abandoned at shutdown", deferred.timings));
+        }
+    }
+
+    /**
+     * Queues a message for the next of its webhook's rate limit permits. The permits are handed to
+     * the waiting messages by deficit round robin across their clients, see {@link PermitQueue}, so
+     * that a client flooding the webhook does not keep every permit ahead of the others. Like a
+     * deferred message, the queued message holds its ordering key.
+     *
+     * @param deferred The message
+     */
+    private void waitForPermit(DeferredDispatch deferred) {
+        deferred.hold();
+        PermitQueue<DeferredDispatch> queue = permitQueues.computeIfAbsent(deferred.webhookName,
+                name -> new PermitQueue<>(this::getClientWeight));
+        queue.add(deferred.client, deferred);
+        schedulePermits(deferred.webhookName, queue);
+    }
+
+    /**
+     * Starts a timer that hands out a webhook's permits to its waiting messages once the next one is
+     * available, unless one is pending already. The timer fires at least every second, so that
+     * messages that waited too long are failed in time.
+     *
+     * @param webhookName The name of the webhook
+     * @param queue The waiting messages
+     */
+    private void schedulePermits(String webhookName, PermitQueue<DeferredDispatch> queue) {
+        if (!queue.schedule()) {
+            return;
+        }
+
+        long delay = Math.min(getRateLimiter(webhookName).nanosUntilPermit(), TimeUnit.SECONDS.toNanos(1));
+        try {
+            executorService.schedule(() -> dispatchLoop.execute(() -> grantPermits(webhookName, queue)),
+                    delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            queue.unschedule();
+            for (DeferredDispatch deferred : queue.removeIf(waiting -> true)) {
+                deferred.fail(new WebhookResponse(false, 503, "Abandoned at shutdown", deferred.timings));
+            }
+        }
+    }
+
+    /**
+     * Hands a webhook's available permits to its waiting messages, after failing the ones that waited
+     * longer than they allowed, and starts the timer again if messages are left waiting.
+     *
+     * @param webhookName The name of the webhook
+     * @param queue The waiting messages
+     */
+    private void grantPermits(String webhookName, PermitQueue<DeferredDispatch> queue) {
+        queue.unschedule();
+
+        long now = System.nanoTime();
+        for (DeferredDispatch expired : queue.removeIf(waiting -> now - waiting.deadline > 0)) {
+            WebhookResponse response = new WebhookResponse(false, 429, "Rate limited", expired.timings);
+            fireEvent(webhookName, expired.embeds != null ? expired.embeds : Collections.emptyList(), response, WebhookEventType.RATE_LIMITED);
+            expired.fail(response);
+        }
+
+        // Each granted message takes a permit, or fails without one, so this ends
+        RateLimiter rateLimiter = getRateLimiter(webhookName);
+        DeferredDispatch granted;
+        while (rateLimiter.availablePermits() > 0 && (granted = queue.poll()) != null) {
+            permitGranted = granted.future;
+            try {
+                granted.retry();
+            } finally {
+                permitGranted = null;
+            }
+        }
+
+        if (!queue.isEmpty()) {
+            schedulePermits(webhookName, queue);
+        }
+    }
+
+    /**
+     * Gets the messages held behind deferred messages of a client, by ordering key. Each client has
+     * its own, so that a deferred message only holds back its own client's messages.
+     *
+     * @param client The client, or null for unattributed messages
+     * @return The held messages
+     */
+    private Map<String, ArrayDeque<Runnable>> heldKeys(WebhookClient client) {
+        return client != null ? client.heldKeys : heldKeys;
+    }
+
+    /**
+     * Dispatches the messages held behind a deferred message, in order, until one of them is
+     * deferred in turn. The rest then stay held behind that one.
+     *
+     * @param client The client that sent the messages, or null if unattributed
+     * @param orderingKey The ordering key of the messages
+     * @param held The held messages, or null if there are none
+     */
+    private void releaseHeld(WebhookClient client, String orderingKey, ArrayDeque<Runnable> held) {
+        Runnable next;
+        while (held != null && (next = held.poll()) != null) {
+            ArrayDeque<Runnable> deferred = heldKeys(client).get(orderingKey);
+            if (deferred != null) {
+                deferred.add(next);
+                deferred.addAll(held);
+                return;
+            }
+            next.run();
+        }
+    }
+
+    /**
+     * Gets the key a message is delivered in order under. Webhook names and callers' ordering keys
+     * are prefixed apart, so that a key never shares a queue with a webhook of the same name.
+     *
+     * @param webhookName The name of the webhook
+     * @param options The options of the message
+     * @return The message's ordering key, or the webhook's if it has none
+     */
+    private String orderingKey(String webhookName, SendOptions options) {
+        String queue = options.getOrderingQueue();
+        if (queue != null) {
+            return queue;
+        }
+        queue = webhookOrderingQueues.get(webhookName);
+        return queue != null ? queue : webhookOrderingQueues.computeIfAbsent(webhookName, name -> "w:" + name);
+    }
+
+    /**
+     * Builds the embeds of a lazily rendered message.
+     *
+     * @param embedsSupplier The supplier of the embeds
+     * @param future The future to fail if the supplier throws
+     * @param timings The request's timings
+     * @return The embeds, or null if the supplier threw and the future was failed
+     */
+    private List<WebhookEmbed> renderEmbeds(Supplier<List<WebhookEmbed>> embedsSupplier,
+                                            CompletableFuture<WebhookResponse> future, WebhookTimings timings) {
+        try {
+            List<WebhookEmbed> embeds = embedsSupplier.get();
+            return embeds != null ? embeds : Collections.emptyList();
+        } catch (RuntimeException e) {
+            reject(future, new WebhookResponse(false, 400, "Failed to render embeds: " + e.getMessage(), timings));
+            platform.log(Level.WARNING, "Embed supplier threw an exception", e);
+            return null;
+        }
+    }
+
+    /**
+     * Serializes and sends a message on an HTTP worker thread.
+     *
+     * @param webhookName The name of the webhook
+     * @param webhookUrl The URL of the webhook
+     * @param content The message content
+     * @param embeds The embeds to send
+     * @param options The options for this message, or null for the defaults
+     * @param route The egress to send through
+     * @param circuitBreaker The webhook's circuit breaker, already acquired
+     * @param timings The request's timings
+     * @param future The future to complete with the response
+     */
+    private void execute(String webhookName, String webhookUrl, String content, List<WebhookEmbed> embeds,
+                         SendOptions options, EgressRoute route, CircuitBreaker circuitBreaker, WebhookTimings timings,
+                         CompletableFuture<WebhookResponse> future) {
+        timings.started = System.nanoTime();
+
+        // Create JSON payload in this thread's reusable buffer
+        SerializeFlightEvent serializeEvent = new SerializeFlightEvent();
+        serializeEvent.begin();
+        PayloadWriter payload = PayloadWriter.get();
+        try {
+            timings.payloadBytes = payload.write(content, embeds);
+            if (serializeEvent.shouldCommit()) {
+                serializeEvent.webhookName = webhookName;
+                serializeEvent.payloadBytes = timings.payloadBytes;
+                serializeEvent.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (serializeEvent.shouldCommit()) {
+                serializeEvent.webhookName = webhookName;
+                serializeEvent.statusCode = 400;
+                serializeEvent.commit();
+            }
+            PayloadWriter.discard();
+            circuitBreaker.release();
+            concurrencyLimiter.release();
+            complete(future, new WebhookResponse(false, 400, "Failed to create JSON payload: " + e.getMessage(), timings));
+            return;
+        }
+        timings.serialized = System.nanoTime();
+
+        HttpExchangeFlightEvent exchangeEvent = new HttpExchangeFlightEvent();
+        exchangeEvent.begin();
+        WebhookResponse webhookResponse;
+        try {
+            // Fire pre-send event
+            fireEvent(webhookName, embeds, PRE_SEND_RESPONSE, WebhookEventType.PRE_SEND);
+
+            // Wait for the response even if the transport is asynchronous, the message's ordering key
+            // holds back the messages behind it until this one has completed
+            webhookResponse = await(route.getTransport().send(webhookUrl, options.isWaitForMessage(), payload, timings));
+        } catch (IOException | RuntimeException e) {
+            commit(exchangeEvent, webhookName, route, timings, 500);
+            concurrencyLimiter.onOverload();
+            circuitBreaker.recordFailure();
+            WebhookResponse failure = new WebhookResponse(false, 500, "Failed to send webhook: " + e.getMessage(), timings);
+
+            // Fire failed event
+            fireEvent(webhookName, embeds, failure, WebhookEventType.FAILED);
+
+            complete(future, failure);
+            platform.log(Level.WARNING, "Failed to send webhook: " + e.getMessage(), e);
+            return;
+        }
+
+        long rtt = System.nanoTime() - timings.serialized;
+        int statusCode = webhookResponse.getStatusCode();
+        boolean success = webhookResponse.isSuccess();
+        commit(exchangeEvent, webhookName, route, timings, statusCode);
+
+        // Adapt the concurrency limit to how Discord is coping, which also frees the message's slot
+        if (statusCode == 429 || statusCode >= 500) {
+            concurrencyLimiter.onOverload();
+        } else {
+            concurrencyLimiter.onSuccess(rtt);
+        }
+
+        try {
+            connectionStats.record(timings);
+            if (statusCode == 429 && webhookResponse.isGlobalRateLimit()) {
+                pauseGlobally(route, webhookResponse.getRetryAfter());
+            }
+
+            // Fire event
+            WebhookEventType eventType = success
+                    ? WebhookEventType.SENT
+                    : WebhookEventType.FAILED;
+
+            fireEvent(webhookName, embeds, webhookResponse, eventType);
+
+            // Update circuit breaker, a missing or unauthorized webhook will never recover
+            if (statusCode == 401 || statusCode == 404) {
+                disableWebhook(webhookName, embeds, webhookResponse);
+            } else if (statusCode >= 500) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+        } catch (RuntimeException e) {
+            // Hand back a probe that was not recorded, the response itself still stands
+            circuitBreaker.release();
+            platform.log(Level.SEVERE, "Failed to handle the response of webhook " + webhookName, e);
+        }
+
+        complete(future, webhookResponse);
+    }
+
+    /**
+     * Commits a flight recorder event for an HTTP exchange, if it is enabled.
+     *
+     * @param event The event, begun before the request
+     * @param webhookName The name of the webhook
+     * @param route The egress the request was sent through
+     * @param timings The request's timings
+     * @param statusCode The status code of the response
+     */
+    private static void commit(HttpExchangeFlightEvent event, String webhookName, EgressRoute route,
+                               WebhookTimings timings, int statusCode) {
+        if (event.shouldCommit()) {
+            event.webhookName = webhookName;
+            event.payloadBytes = timings.payloadBytes;
+            event.statusCode = statusCode;
+            event.egress = route.getName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Holds an egress's traffic after Discord reported that its global rate limit was hit.
+     *
+     * @param route The egress whose IP hit the limit
+     * @param retryAfter The time Discord asked to wait in milliseconds, or -1 if it did not say
+     */
+    private void pauseGlobally(EgressRoute route, long retryAfter) {
+        long pause = TimeUnit.MILLISECONDS.toNanos(retryAfter > 0 ? retryAfter : 1000);
+        if (route.pause(pause)) {
+            String scope = egressRoutes.size() > 1 ? "webhooks on egress " + route.getName() : "webhooks";
+            platform.log(Level.WARNING, "Discord's global rate limit was hit, pausing all " + scope + " for " + (pause / 1_000_000) + "ms");
+        }
+    }
+
+    /**
+     * Completes a request's future, stamping the completion time on its timings.
+     *
+     * @param future The future to complete
+     * @param response The response
+     */
+    private static void complete(CompletableFuture<WebhookResponse> future, WebhookResponse response) {
+        if (response.getTimings() != null) {
+            response.getTimings().completed = System.nanoTime();
+        }
+        future.complete(response);
+    }
+
+    /**
+     * Completes the future of a message that was not sent, on a sender thread rather than on the
+     * dispatch loop's, since in {@link CompletionMode#SENDER_THREAD} mode the caller's dependent
+     * stages run on the thread that completes it. Completes it on this thread once the sender has
+     * shut down.
+     *
+     * @param future The future to complete
+     * @param response The response
+     */
+    private void reject(CompletableFuture<WebhookResponse> future, WebhookResponse response) {
+        try {
+            senderPool.execute(new Rejection(future, response));
+        } catch (RejectedExecutionException e) {
+            complete(future, response);
+        }
+    }
+
+    /**
+     * Waits for the response of a transport.
+     *
+     * @param response The future response
+     * @return The response
+     * @throws IOException If no response was received, or the thread was interrupted while waiting
+     */
+    private static WebhookResponse await(CompletableFuture<WebhookResponse> response) throws IOException {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Fires a webhook event asynchronously.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds sent with the webhook
+     * @param response The response from the webhook request
+     * @param eventType The type of event
+     */
+    private void fireEvent(String webhookName, List<WebhookEmbed> embeds, WebhookResponse response, WebhookEventType eventType) {
+        // Skip the task and event allocations when nobody is listening
+        if (!platform.hasEventListeners()) {
+            return;
+        }
+        try {
+            platform.runAsync(() -> {
+                EventDispatchFlightEvent event = new EventDispatchFlightEvent();
+                event.begin();
+                platform.callEvent(eventType, webhookName, embeds, response);
+                if (event.shouldCommit()) {
+                    event.webhookName = webhookName;
+                    event.payloadBytes = response.getTimings() != null ? response.getTimings().payloadBytes : -1;
+                    event.statusCode = response.getStatusCode();
+                    event.eventType = eventType.name();
+                    event.commit();
+                }
+            });
+        } catch (RuntimeException e) {
+            // A listener, or a platform that runs them inline, must not fail the message itself
+            platform.log(Level.WARNING, "Failed to fire " + eventType + " event for webhook " + webhookName, e);
+        }
+    }
+
+    /**
+     * Gets the digest aggregator for a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The digest aggregator
+     */
+    private DigestAggregator getDigestAggregator(String webhookName) {
+        return digests.computeIfAbsent(webhookName, name -> {
+            int window = platform.getWebhookConfig().getDigestWindow(name);
+            int topEntries = platform.getWebhookConfig().getDigestTopEntries(name);
+            return new DigestAggregator(name, window, topEntries);
+        });
+    }
+
+    /**
+     * Sends the summary of a webhook's current digest window. Runs on the dispatch loop's thread,
+     * or on the shutdown thread once the loop has stopped.
+     *
+     * @param webhookName The name of the webhook
+     */
+    private void flushDigest(String webhookName) {
+        DigestAggregator digest = digests.get(webhookName);
+        DigestAggregator.Window window = digest != null ? digest.drain() : null;
+        if (window == null) {
+            return;
+        }
+
+        CompletableFuture<WebhookResponse> future = new CompletableFuture<>();
+        future.thenAccept(response -> window.getFutures().forEach(f -> f.complete(response)));
+
+        // The summary is timed from the end of its window
+        WebhookTimings timings = new WebhookTimings(System.nanoTime());
+        timings.dequeued = timings.submitted;
+
+        String webhookUrl = platform.getWebhookConfig().getWebhookUrl(webhookName);
+        if (webhookUrl == null) {
+            reject(future, new WebhookResponse(false, 404, "Webhook not found: " + webhookName, timings));
+            return;
+        }
+        try {
+            dispatch(webhookName, webhookUrl, null, Collections.singletonList(window.getSummary()), null,
+                    SendOptions.DEFAULT, null, timings, future);
+        } catch (RuntimeException e) {
+            reject(future, WebhookResponse.failure(500, "Failed to dispatch digest: " + e.getMessage()));
+            platform.log(Level.SEVERE, "Failed to dispatch digest of webhook " + webhookName, e);
+        }
+    }
+
+    /**
+     * Fails the messages of a webhook's current digest window without sending them.
+     *
+     * @param digest The digest aggregator
+     * @param response The response to complete the messages with
+     * @return The number of failed messages
+     */
+    private static int failDigest(DigestAggregator digest, WebhookResponse response) {
+        DigestAggregator.Window window = digest != null ? digest.drain() : null;
+        if (window == null) {
+            return 0;
+        }
+        window.getFutures().forEach(future -> future.complete(response));
+        return window.getFutures().size();
+    }
+
+    /**
+     * Gets the stream sampler for a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The stream sampler
+     */
+    private StreamSampler getStreamSampler(String webhookName) {
+        return samplers.computeIfAbsent(webhookName, name -> {
+            WebhookSettings settings = platform.getWebhookConfig();
+            return new StreamSampler(name, settings.getSamplingWindow(name), settings.getSamplingRate(name),
+                    settings.isSamplingAdaptive(name), settings.getSamplingMaxSamples(name));
+        });
+    }
+
+    /**
+     * Sends the sample of a webhook's current sampling window. In adaptive mode, the sample is as
+     * large as the webhook's and its egress's rate limits allow right now. Runs on the dispatch
+     * loop's thread, or on the shutdown thread once the loop has stopped.
+     *
+     * @param webhookName The name of the webhook
+     */
+    private void flushSamples(String webhookName) {
+        StreamSampler sampler = samplers.get(webhookName);
+        if (sampler == null) {
+            return;
+        }
+
+        int permits = 0;
+        if (sampler.isAdaptive()) {
+            permits = getRateLimiter(webhookName).availablePermits();
+            RateLimiter globalRateLimiter = getEgressRoute(webhookName).getGlobalRateLimiter();
+            if (globalRateLimiter != null) {
+                permits = Math.min(permits, globalRateLimiter.availablePermits());
+            }
+        }
+        StreamSampler.Window window = sampler.drain(permits);
+        if (window == null) {
+            return;
+        }
+        window.getLeftOut().forEach(future -> reject(future, StreamSampler.NOT_SAMPLED));
+
+        String webhookUrl = platform.getWebhookConfig().getWebhookUrl(webhookName);
+        for (StreamSampler.Sample sample : window.getSamples()) {
+            if (webhookUrl == null) {
+                reject(sample.future, new WebhookResponse(false, 404, "Webhook not found: " + webhookName, sample.timings));
+                continue;
+            }
+            try {
+                dispatch(webhookName, webhookUrl, sample.content, sample.embeds, sample.embedsSupplier, sample.options,
+                        sample.client, sample.timings, sample.future);
+            } catch (RuntimeException e) {
+                reject(sample.future, WebhookResponse.failure(500, "Failed to dispatch sample: " + e.getMessage()));
+                platform.log(Level.SEVERE, "Failed to dispatch sample of webhook " + webhookName, e);
+            }
+        }
+    }
+
+    /**
+     * Fails the messages of a webhook's current sampling window without sending them.
+     *
+     * @param sampler The stream sampler
+     * @param response The response to complete the messages with
+     * @return The number of failed messages
+     */
+    private static int failSamples(StreamSampler sampler, WebhookResponse response) {
+        StreamSampler.Window window = sampler != null ? sampler.drain(0) : null;
+        if (window == null) {
+            return 0;
+        }
+        window.getSamples().forEach(sample -> sample.future.complete(response));
+        window.getLeftOut().forEach(future -> future.complete(response));
+        return window.getSamples().size() + window.getLeftOut().size();
+    }
+
+    /**
+     * Disables a webhook that Discord reported as missing or unauthorized.
+     *
+     * @param webhookName The name of the webhook
+     * @param embeds The embeds of the rejected request
+     * @param response The response that rejected the webhook
+     */
+    private void disableWebhook(String webhookName, List<WebhookEmbed> embeds, WebhookResponse response) {
+        getCircuitBreaker(webhookName).disable();
+        platform.getWebhookConfig().setWebhookDisabled(webhookName, true);
+        platform.log(Level.WARNING, "Disabled webhook " + webhookName + " after Discord responded with "
+                + response.getStatusCode() + " " + response.getMessage());
+
+        fireEvent(webhookName, embeds, response, WebhookEventType.DISABLED);
+    }
+
+    /**
+     * Gets the circuit breaker for a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The circuit breaker
+     */
+    private CircuitBreaker getCircuitBreaker(String webhookName) {
+        return circuitBreakers.computeIfAbsent(webhookName, name -> {
+            int threshold = platform.getWebhookConfig().getCircuitBreakerThreshold(name);
+            int openDuration = platform.getWebhookConfig().getCircuitBreakerOpenDuration(name);
+            CircuitBreaker circuitBreaker = new CircuitBreaker(threshold, openDuration, TimeUnit.SECONDS);
+            if (platform.getWebhookConfig().isWebhookDisabled(name)) {
+                circuitBreaker.disable();
+            }
+            return circuitBreaker;
+        });
+    }
+
+    /**
+     * Gets the circuit breaker state of a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The circuit breaker state
+     */
+    public CircuitBreaker.State getCircuitState(String webhookName) {
+        return getCircuitBreaker(webhookName).getState();
+    }
+
+    /**
+     * Re-enables a webhook that was disabled, and closes its circuit breaker.
+     *
+     * @param webhookName The name of the webhook
+     */
+    public void enableWebhook(String webhookName) {
+        platform.getWebhookConfig().setWebhookDisabled(webhookName, false);
+        CircuitBreaker circuitBreaker = circuitBreakers.get(webhookName);
+        if (circuitBreaker != null) {
+            circuitBreaker.reset();
+        }
+    }
+
+    /**
+     * Gets the current adaptive limit on concurrent requests to Discord.
+     *
+     * @return The number of requests allowed in flight
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
+    /**
+     * Gets the number of requests to Discord currently in flight.
+     *
+     * @return The number of requests in flight
+     */
+    public int getInFlightRequests() {
+        return concurrencyLimiter.getInFlight();
+    }
+
+    /**
+     * Gets the number of rate limited messages waiting for a permit, and of messages held by a
+     * global rate limit pause.
+     *
+     * @return The number of messages
+     * @see SendOptions.Builder#waitForPermit(long, TimeUnit)
+     */
+    public int getWaitingForPermit() {
+        return permitWaits.size();
+    }
+
+    /**
+     * Gets a snapshot of a webhook's traffic and the state of its limits.
+     *
+     * @param webhookName The name of the webhook
+     * @return The stats, or null if the webhook does not exist
+     */
+    public WebhookStats getStats(String webhookName) {
+        // Unknown names must not leave limiters and breakers behind
+        if (!webhookExists(webhookName)) {
+            return null;
+        }
+        return new WebhookStats(webhookName, getDeliveryTracker(webhookName), getCircuitState(webhookName),
+                getRateLimiter(webhookName).nanosUntilPermit());
+    }
+
+    /**
+     * Applies the settings of a reloaded configuration. No message is dropped: queued messages and
+     * those waiting for a permit are sent under the new settings, and pending digests and samples
+     * are sent right away. Rate limits that did not change keep the permits taken in their current
+     * period, changed ones and client quotas start over with their new values, and circuit
+     * breakers that are closed pick up their new thresholds, while open ones keep their state. The
+     * dispatch queue, concurrency bounds, global rate limits and egresses only change on restart.
+     */
+    public void reload() {
+        // On the dispatch loop's thread, so that no message is added to a digest while it is swapped
+        dispatchLoop.execute(() -> {
+            WebhookSettings config = platform.getWebhookConfig();
+            rateLimiters.entrySet().removeIf(entry -> !entry.getValue().hasSettings(config.getRateLimit(entry.getKey()),
+                    config.getRateLimitPeriod(entry.getKey()), sharedRateLimitKey(entry.getKey())));
+            webhookRoutes.clear();
+            clients.values().forEach(WebhookClient::clearQuotas);
+            circuitBreakers.values().removeIf(circuitBreaker -> circuitBreaker.getState() == CircuitBreaker.State.CLOSED);
+            for (String webhookName : digests.keySet()) {
+                flushDigest(webhookName);
+                digests.remove(webhookName);
+            }
+            for (String webhookName : samplers.keySet()) {
+                flushSamples(webhookName);
+                samplers.remove(webhookName);
+            }
+        });
+    }
+
+    /**
+     * Gets the latency of messages sent on new connections compared to warm pooled connections.
+     *
+     * @return The connection stats
+     */
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+
+    /**
+     * Gets the egress a webhook is sent through.
+     *
+     * @param webhookName The name of the webhook
+     * @return The egress route
+     */
+    private EgressRoute getEgressRoute(String webhookName) {
+        EgressRoute route = webhookRoutes.get(webhookName);
+        return route != null ? route : webhookRoutes.computeIfAbsent(webhookName, this::assignEgressRoute);
+    }
+
+    /**
+     * Assigns a webhook to its configured egress, or spreads it evenly and stably across them.
+     *
+     * @param webhookName The name of the webhook
+     * @return The egress route
+     */
+    private EgressRoute assignEgressRoute(String webhookName) {
+        String egress = platform.getWebhookConfig().getWebhookEgress(webhookName);
+        if (egress != null) {
+            for (EgressRoute route : egressRoutes) {
+                if (route.getName().equals(egress)) {
+                    return route;
+                }
+            }
+            platform.log(Level.WARNING, "Webhook " + webhookName + " is assigned to unknown egress " + egress);
+        }
+        return egressRoutes.get(Math.floorMod(webhookName.hashCode(), egressRoutes.size()));
+    }
+
+    /**
+     * Gets the rate limiter for a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return The rate limiter
+     */
+    private RateLimiter getRateLimiter(String webhookName) {
+        return rateLimiters.computeIfAbsent(webhookName, name -> {
+            int requests = platform.getWebhookConfig().getRateLimit(name);
+            int period = platform.getWebhookConfig().getRateLimitPeriod(name);
+            String key = sharedRateLimitKey(name);
+            RateLimiter limiter = key != null
+                    ? new SharedRateLimiter(sharedRateLimits, key, requests, period, TimeUnit.SECONDS)
+                    : new LocalRateLimiter(requests, period, TimeUnit.SECONDS);
+            return new ConfiguredRateLimiter(limiter, requests, period, key);
+        }).limiter;
+    }
+
+    /**
+     * Gets the key of a webhook's bucket in the shared rate limit file. The bucket is keyed by URL,
+     * since other servers may use a different name for the webhook. A webhook unregistered in the
+     * meantime has no URL, and is limited locally until it is removed.
+     *
+     * @param webhookName The name of the webhook
+     * @return The key, or null if the webhook is limited locally
+     */
+    private String sharedRateLimitKey(String webhookName) {
+        return sharedRateLimits != null ? platform.getWebhookConfig().getWebhookUrl(webhookName) : null;
+    }
+
+    /**
+     * Gets the limiter enforcing a client's quota of a webhook's rate limit.
+     *
+     * @param client The client
+     * @param webhookName The name of the webhook
+     * @return The quota limiter, or null if the client has no quota
+     */
+    private RateLimiter getQuota(WebhookClient client, String webhookName) {
+        double quota = platform.getWebhookConfig().getClientQuota(client.getName());
+        if (quota <= 0 || quota >= 1) {
+            return null;
+        }
+        return client.getQuota(webhookName, name -> {
+            int requests = platform.getWebhookConfig().getRateLimit(name);
+            int period = platform.getWebhookConfig().getRateLimitPeriod(name);
+
+            // At least one request per period, so that a small quota does not lock the client out
+            int allowed = Math.max(1, (int) (requests * quota));
+            return new LocalRateLimiter(allowed, period, TimeUnit.SECONDS);
+        });
+    }
+
+    /**
+     * Shuts down the webhook service within the configured shutdown deadline.
+     *
+     * @see #shutdown(long, TimeUnit)
+     */
+    public void shutdown() {
+        WebhookSettings config = platform.getWebhookConfig();
+        shutdown(config != null ? config.getShutdownDeadline() : 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Shuts down the webhook service. Queued messages are delivered highest priority first, then
+     * pending digests and samples are sent, until the deadline passes; whatever is left is abandoned and fails
+     * with status 503. Scheduled messages that are not due yet are saved for the next start if
+     * persistence is enabled and cancelled, or else abandoned. Completions queued for the main thread are delivered before returning, so
+     * this should be called on the main thread; completions of requests that outlive it run on the thread completing them.
+     *
+     * @param timeout The deadline for delivering queued messages
+     * @param unit The time unit of the deadline
+     * @return The number of abandoned messages
+     */
+    public int shutdown(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int abandoned = saveSchedules();
+        try {
+            abandoned += dispatchLoop.stop(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Send what digests and samplers have accumulated, unless time is up
+        WebhookResponse abandonedResponse = WebhookResponse.failure(503, "Abandoned at shutdown");
+        for (String webhookName : digests.keySet()) {
+            if (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+                flushDigest(webhookName);
+            } else {
+                abandoned += failDigest(digests.get(webhookName), abandonedResponse);
+            }
+        }
+        for (String webhookName : samplers.keySet()) {
+            if (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+                flushSamples(webhookName);
+            } else {
+                abandoned += failSamples(samplers.get(webhookName), abandonedResponse);
+            }
+        }
+
+        // Digest, permit and schedule timers are no longer needed, requests in flight get the rest of the deadline
+        executorService.shutdownNow();
+
+        // Messages waiting for a rate limit permit will not be dispatched again
+        for (CompletableFuture<WebhookResponse> future : permitWaits) {
+            if (permitWaits.remove(future)) {
+                complete(future, abandonedResponse);
+                abandoned++;
+            }
+        }
+
+        senderPool.shutdown();
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (!senderPool.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                abandoned += abandonSends(abandonedResponse);
+            }
+        } catch (InterruptedException e) {
+            abandoned += abandonSends(abandonedResponse);
+            Thread.currentThread().interrupt();
+        }
+
+        if (abandoned > 0) {
+            platform.log(Level.WARNING, "Abandoned " + abandoned + " webhook messages at shutdown");
+        }
+
+        mainThreadExecutor.shutdown();
+        mainThreadExecutor.drain();
+
+        if (metricsExporter != null) {
+            try {
+                metricsExporter.close();
+            } catch (IOException e) {
+                platform.log(Level.WARNING, "Could not close metrics export", e);
+            }
+        }
+
+        if (trafficRecorder != null) {
+            try {
+                trafficRecorder.close();
+            } catch (IOException e) {
+                platform.log(Level.WARNING, "Could not close traffic recording", e);
+            }
+        }
+
+        // Egress transports derived from OkHttp share its threads and pool, and are released with it
+        for (EgressRoute route : egressRoutes) {
+            if (route.getTransport() != transport && !"okhttp".equals(route.getTransport().getName())) {
+                route.getTransport().close();
+            }
+        }
+        transport.close();
+
+        if (sharedRateLimits != null) {
+            try {
+                sharedRateLimits.close();
+            } catch (IOException e) {
+                platform.log(Level.WARNING, "Could not close shared rate limit file", e);
+            }
+        }
+        return abandoned;
+    }
+
+    /**
+     * Gives up on the messages handed to the sender when the shutdown deadline passes. Those not
+     * started yet, waiting behind their ordering key, for a concurrency slot or for a sender thread,
+     * fail right away, and the requests in flight are interrupted and fail when their wait for the
+     * response ends. Messages rejected earlier get their own response.
+     *
+     * @param response The response to fail the messages not started yet with
+     * @return The number of abandoned messages
+     */
+    private int abandonSends(WebhookResponse response) {
+        int abandoned = concurrencyLimiter.getInFlight();
+        for (Runnable task : orderedSender.shutdownNow()) {
+            if (task instanceof PendingSend) {
+                complete(((PendingSend) task).future, response);
+                abandoned++;
+            } else if (task instanceof Rejection) {
+                task.run();
+            }
+        }
+        return abandoned;
+    }
+
+    /**
+     * Checks if a webhook exists.
+     *
+     * @param webhookName The name of the webhook
+     * @return True if the webhook exists, false otherwise
+     */
+    public boolean webhookExists(String webhookName) {
+        return platform.getWebhookConfig().getWebhookUrl(webhookName) != null;
+    }
+
+    /**
+     * Registers a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @param webhookUrl The URL of the webhook
+     * @return True if the webhook was registered, false if it already exists
+     */
+    public boolean registerWebhook(String webhookName, String webhookUrl) {
+        return platform.getWebhookConfig().registerWebhook(webhookName, webhookUrl);
+    }
+
+    /**
+     * Unregisters a webhook.
+     *
+     * @param webhookName The name of the webhook
+     * @return True if the webhook was unregistered, false if it doesn't exist
+     */
+    public boolean unregisterWebhook(String webhookName) {
+        rateLimiters.remove(webhookName);
+        webhookRoutes.remove(webhookName);
+        webhookOrderingQueues.remove(webhookName);
+        clients.values().forEach(client -> client.removeQuota(webhookName));
+        circuitBreakers.remove(webhookName);
+        failDigest(digests.remove(webhookName), WebhookResponse.failure(404, "Webhook unregistered: " + webhookName));
+        failSamples(samplers.remove(webhookName), WebhookResponse.failure(404, "Webhook unregistered: " + webhookName));
+        return platform.getWebhookConfig().unregisterWebhook(webhookName);
+    }
+
+    /**
+     * Gets all registered webhooks.
+     *
+     * @return A map of webhook names to URLs
+     */
+    public Map<String, String> getWebhooks() {
+        return platform.getWebhookConfig().getWebhooks();
+    }
+
+    /**
+     * The request of a message handed to the ordered sender. It starts once it has a concurrency
+     * slot, and keeps the message's future so that it can be failed if the request never starts.
+     */
+    private final class PendingSend implements KeyedSerialExecutor.Gated {
+        final CompletableFuture<WebhookResponse> future;
+        final Runnable request;
+
+        PendingSend(CompletableFuture<WebhookResponse> future, Runnable request) {
+            this.future = future;
+            this.request = request;
+        }
+
+        @Override
+        public boolean tryStart(Runnable resume) {
+            return concurrencyLimiter.tryAcquire(resume);
+        }
+
+        @Override
+        public void run() {
+            request.run();
+        }
+    }
+
+    /**
+     * The response of a message that was not sent, handed to the sender so that the message's
+     * future is not completed on the dispatch loop's thread.
+     */
+    private static final class Rejection implements Runnable {
+        final CompletableFuture<WebhookResponse> future;
+        final WebhookResponse response;
+
+        Rejection(CompletableFuture<WebhookResponse> future, WebhookResponse response) {
+            this.future = future;
+            this.response = response;
+        }
+
+        @Override
+        public void run() {
+            complete(future, response);
+        }
+    }
+
+    /**
+     * A webhook's rate limiter and the settings it was created with, so that a reload only replaces
+     * the limiters whose settings changed.
+     */
+    private static final class ConfiguredRateLimiter {
+        final RateLimiter limiter;
+        final int requests;
+        final int period;
+        final String sharedKey;
+
+        ConfiguredRateLimiter(RateLimiter limiter, int requests, int period, String sharedKey) {
+            this.limiter = limiter;
+            this.requests = requests;
+            this.period = period;
+            this.sharedKey = sharedKey;
+        }
+
+        boolean hasSettings(int requests, int period, String sharedKey) {
+            return this.requests == requests && this.period == period && Objects.equals(this.sharedKey, sharedKey);
+        }
+    }
+
+    /**
+     * A message that waits for a rate limit permit or the end of a pause before it is dispatched
+     * again, only touched by the dispatch loop.
+     */
+    private final class DeferredDispatch {
+        final String webhookName;
+        final String content;
+        final List<WebhookEmbed> embeds;
+        final Supplier<List<WebhookEmbed>> embedsSupplier;
+        final SendOptions options;
+        final WebhookClient client;
+        final WebhookTimings timings;
+        final CompletableFuture<WebhookResponse> future;
+        final String orderingKey;
+        final long deadline;
+
+        DeferredDispatch(String webhookName, String content, List<WebhookEmbed> embeds,
+                         Supplier<List<WebhookEmbed>> embedsSupplier, SendOptions options, WebhookClient client,
+                         WebhookTimings timings, CompletableFuture<WebhookResponse> future) {
+            this.webhookName = webhookName;
+            this.content = content;
+            this.embeds = embeds;
+            this.embedsSupplier = embedsSupplier;
+            this.options = options;
+            this.client = client;
+            this.timings = timings;
+            this.future = future;
+            this.orderingKey = orderingKey(webhookName, options);
+            this.deadline = timings.submitted + options.getMaxPermitWait();
+        }
+
+        /**
+         * Holds later messages of the client with the same ordering key behind this one, and lets
+         * shutdown abandon it while it waits.
+         */
+        void hold() {
+            heldKeys(client).put(orderingKey, new ArrayDeque<>());
+            permitWaits.add(future);
+        }
+
+        /**
+         * Dispatches the message again, then the messages held behind it.
+         */
+        void retry() {
+            ArrayDeque<Runnable> held = heldKeys(client).remove(orderingKey);
+
+            // Whoever removes the future owns it, which is shutdown if it abandoned the message
+            if (permitWaits.remove(future)) {
+                try {
+                    String webhookUrl = platform.getWebhookConfig().getWebhookUrl(webhookName);
+                    if (webhookUrl == null) {
+                        reject(future, new WebhookResponse(false, 404, "Webhook not found: " + webhookName, timings));
+                    } else {
+                        dispatch(webhookName, webhookUrl, content, embeds, embedsSupplier, options, client, timings, future);
+                    }
+                } catch (RuntimeException e) {
+                    reject(future, WebhookResponse.failure(500, "Failed to dispatch webhook: " + e.getMessage()));
+                    platform.log(Level.SEVERE, "Failed to dispatch webhook " + webhookName, e);
+                }
+            }
+            releaseHeld(client, orderingKey, held);
+        }
+
+        /**
+         * Fails the message, then dispatches the messages held behind it.
+         *
+         * @param response The response to fail with
+         */
+        void fail(WebhookResponse response) {
+            ArrayDeque<Runnable> held = heldKeys(client).remove(orderingKey);
+            if (permitWaits.remove(future)) {
+                reject(future, response);
+            }
+            releaseHeld(client, orderingKey, held);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.boatsnbunnies.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of one webhook's traffic and the state of its limits, for diagnostics.
+ *
+ * @since 1.2
+ */
+public final class WebhookStats {
+    private final String webhookName;
+    private final long sent;
+    private final long rateLimited;
+    private final long failed;
+    private final long notSampled;
+    private final long sentLastMinute;
+    private final long outstanding;
+    private final CircuitBreaker.State circuitState;
+    private final long nanosUntilPermit;
+    final long[] latencyCounts;
+
+    WebhookStats(String webhookName, DeliveryTracker tracker, CircuitBreaker.State circuitState, long nanosUntilPermit) {
+        this.webhookName = webhookName;
+        this.sent = tracker.getSent();
+        this.rateLimited = tracker.getRateLimited();
+        this.failed = tracker.getFailed();
+        this.notSampled = tracker.getNotSampled();
+        this.sentLastMinute = tracker.getSentLastMinute();
+        this.outstanding = tracker.getOutstanding();
+        this.circuitState = circuitState;
+        this.nanosUntilPermit = nanosUntilPermit;
+        this.latencyCounts = tracker.getLatencyCounts();
+    }
+
+    /**
+     * Gets the name of the webhook.
+     *
+     * @return The webhook name
+     */
+    public String getWebhookName() {
+        return webhookName;
+    }
+
+    /**
+     * Gets the number of messages Discord accepted.
+     *
+     * @return The number of messages
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * Gets the number of messages rejected by a rate limit.
+     *
+     * @return The number of messages
+     */
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * Gets the number of messages that failed for any other reason.
+     *
+     * @return The number of messages
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the number of messages the webhook's sampler left out, which were never sent.
+     *
+     * @return The number of messages
+     */
+    public long getNotSampled() {
+        return notSampled;
+    }
+
+    /**
+     * Gets the number of messages Discord accepted within the last minute, an estimate.
+     *
+     * @return The number of messages
+     */
+    public long getSentLastMinute() {
+        return sentLastMinute;
+    }
+
+    /**
+     * Gets the number of messages sent to the webhook that have not completed yet, whether queued,
+     * waiting for a permit or in flight.
+     *
+     * @return The number of messages
+     */
+    public long getOutstanding() {
+        return outstanding;
+    }
+
+    /**
+     * Gets the state of the webhook's circuit breaker.
+     *
+     * @return The circuit breaker state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitState;
+    }
+
+    /**
+     * Gets how long until the webhook's rate limiter lets the next message through.
+     *
+     * @return The time in nanoseconds, 0 if a permit is available now
+     */
+    public long getNanosUntilPermit() {
+        return nanosUntilPermit;
+    }
+
+    /**
+     * Estimates a percentile of the latency of completed messages, from submission to completion.
+     * Latencies are counted in buckets, so the estimate is the upper bound of a bucket: 5, 10, 25,
+     * 50, 100, 250 or 500 milliseconds, 1, 2.5, 5, 10, 30 or 60 seconds.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The latency in milliseconds, -1 if no message completed, or {@link Long#MAX_VALUE} if
+     *         it is above a minute
+     */
+    public long getLatencyPercentile(double percentile) {
+        return LatencyHistogram.percentile(latencyCounts, percentile);
+    }
+
+    @Override
+    public String toString() {
+        String limiter = nanosUntilPermit == 0 ? "ready"
+                : nanosUntilPermit == Long.MAX_VALUE ? "blocked"
+                : "next permit in " + TimeUnit.NANOSECONDS.toMillis(nanosUntilPermit) + "ms";
+        return "WebhookStats{webhook=" + webhookName + ", sent=" + sent + " (" + sentLastMinute + "/min)"
+                + ", rateLimited=" + rateLimited + ", failed=" + failed + ", notSampled=" + notSampled
+                + ", outstanding=" + outstanding
+                + ", circuit=" + circuitState + ", limiter=" + limiter + "}";
+    }
+}
@@ -0,0 +1,221 @@
+package com.boatsnbunnies.service;
+
+/**
+ * The lifecycle timestamps of one webhook request, as {@link System#nanoTime()} values.
+ * <p>
+ * A timestamp is 0 if the request never reached that stage, for example the connection
+ * timestamps of a request that reused a pooled connection. The timings are filled in as the
+ * request progresses and are complete once its future has completed.
+ *
+ * @since 1.2
+ */
+public final class WebhookTimings {
+    long submitted;
+    long dequeued;
+    long permitAcquired;
+    long started;
+    long serialized;
+    int payloadBytes = -1;
+    long dnsStart;
+    long dnsEnd;
+    long connectStart;
+    long connectEnd;
+    long secureConnectStart;
+    long secureConnectEnd;
+    boolean connectionReused;
+    long requestSent;
+    long headersReceived;
+    long completed;
+
+    /**
+     * Creates new timings for a request.
+     *
+     * @param submitted When the request was submitted
+     */
+    WebhookTimings(long submitted) {
+        this.submitted = submitted;
+    }
+
+    /**
+     * Gets when the message was passed to {@code send}.
+     *
+     * @return The timestamp
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Gets when the dispatch loop took the message from its queue.
+     *
+     * @return The timestamp, or 0 if never dequeued
+     */
+    public long getDequeued() {
+        return dequeued;
+    }
+
+    /**
+     * Gets when the circuit breaker and rate limiter admitted the request.
+     *
+     * @return The timestamp, or 0 if rejected
+     */
+    public long getPermitAcquired() {
+        return permitAcquired;
+    }
+
+    /**
+     * Gets when an HTTP worker thread picked up the request.
+     *
+     * @return The timestamp, or 0 if never started
+     */
+    public long getStarted() {
+        return started;
+    }
+
+    /**
+     * Gets when the JSON payload was serialized.
+     *
+     * @return The timestamp, or 0 if never serialized
+     */
+    public long getSerialized() {
+        return serialized;
+    }
+
+    /**
+     * Gets the size of the serialized JSON payload.
+     *
+     * @return The size in bytes, or -1 if never serialized
+     */
+    public int getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * Checks if the request was sent on a pooled connection.
+     *
+     * @return True if no new connection was opened for the request
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    /**
+     * Gets when the request body was written to the connection.
+     *
+     * @return The timestamp, or 0 if never sent
+     */
+    public long getRequestSent() {
+        return requestSent;
+    }
+
+    /**
+     * Gets when Discord's response headers were read.
+     *
+     * @return The timestamp, or 0 if no response was received
+     */
+    public long getHeadersReceived() {
+        return headersReceived;
+    }
+
+    /**
+     * Gets when the request's future was completed.
+     *
+     * @return The timestamp, or 0 if not completed yet
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the time spent in the dispatch queue.
+     *
+     * @return The duration in nanoseconds, or -1 if unknown
+     */
+    public long getQueueTime() {
+        return between(submitted, dequeued);
+    }
+
+    /**
+     * Gets the time between the request being admitted and an HTTP worker picking it up.
+     *
+     * @return The duration in nanoseconds, or -1 if unknown
+     */
+    public long getWorkerWaitTime() {
+        return between(permitAcquired, started);
+    }
+
+    /**
+     * Gets the time spent serializing the payload.
+     *
+     * @return The duration in nanoseconds, or -1 if unknown
+     */
+    public long getSerializationTime() {
+        return between(started, serialized);
+    }
+
+    /**
+     * Gets the time spent resolving Discord's address.
+     *
+     * @return The duration in nanoseconds, or -1 if no lookup was made
+     */
+    public long getDnsTime() {
+        return between(dnsStart, dnsEnd);
+    }
+
+    /**
+     * Gets the time spent opening a new connection, including the TLS handshake.
+     *
+     * @return The duration in nanoseconds, or -1 if no connection was opened
+     */
+    public long getConnectTime() {
+        return between(connectStart, connectEnd);
+    }
+
+    /**
+     * Gets the time spent on the TLS handshake.
+     *
+     * @return The duration in nanoseconds, or -1 if no handshake was made
+     */
+    public long getTlsHandshakeTime() {
+        return between(secureConnectStart, secureConnectEnd);
+    }
+
+    /**
+     * Gets the time between the request being sent and Discord's response headers arriving.
+     *
+     * @return The duration in nanoseconds, or -1 if unknown
+     */
+    public long getServerTime() {
+        return between(requestSent, headersReceived);
+    }
+
+    /**
+     * Gets the time between the message being submitted and its future completing.
+     *
+     * @return The duration in nanoseconds, or -1 if not completed yet
+     */
+    public long getTotalTime() {
+        return between(submitted, completed);
+    }
+
+    private static long between(long start, long end) {
+        return start != 0 && end != 0 ? end - start : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "WebhookTimings{total=" + millis(getTotalTime())
+                + ", queue=" + millis(getQueueTime())
+                + ", workerWait=" + millis(getWorkerWaitTime())
+                + ", serialization=" + millis(getSerializationTime())
+                + ", dns=" + millis(getDnsTime())
+                + ", connect=" + millis(getConnectTime())
+                + ", tls=" + millis(getTlsHandshakeTime())
+                + ", server=" + millis(getServerTime())
+                + ", connectionReused=" + connectionReused + "}";
+    }
+
+    private static String millis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.3fms", nanos / 1_000_000.0);
+    }
+}
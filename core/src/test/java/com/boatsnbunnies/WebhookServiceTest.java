@@ -0,0 +1,183 @@
+package com.boatsnbunnies;
+
+import com.boatsnbunnies.config.WebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.WebhookPlatform;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the WebhookService class.
+ */
+public class WebhookServiceTest {
+
+    @Mock
+    private WebhookPlatform platform;
+    
+    @Mock
+    private WebhookSettings webhookConfig;
+    
+    private WebhookService webhookService;
+    
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        
+        // Setup mocks
+        when(platform.getWebhookConfig()).thenReturn(webhookConfig);
+        
+        // Create service
+        webhookService = new WebhookService(platform);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        // Stop the dispatch loop and the service's threads
+        webhookService.shutdown();
+    }
+    
+    @Test
+    public void testWebhookNotFound() throws ExecutionException, InterruptedException {
+        // Setup
+        String webhookName = "non-existent-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn(null);
+        
+        WebhookEmbed embed = new WebhookEmbed.Builder()
+                .title("Test")
+                .description("Test Description")
+                .build();
+        
+        // Execute
+        CompletableFuture<WebhookResponse> future = webhookService.send(webhookName, null, embed);
+        WebhookResponse response = future.get();
+        
+        // Verify
+        assertFalse(response.isSuccess());
+        assertEquals(404, response.getStatusCode());
+        assertTrue(response.getMessage().contains("not found"));
+        assertNotNull(response.getTimings());
+        assertTrue(response.getTimings().getQueueTime() >= 0);
+        assertTrue(response.getTimings().getTotalTime() >= response.getTimings().getQueueTime());
+    }
+    
+    @Test
+    public void testRegisterWebhook() {
+        // Setup
+        String webhookName = "test-webhook";
+        String webhookUrl = "https://discord.com/api/webhooks/test";
+        when(webhookConfig.registerWebhook(webhookName, webhookUrl)).thenReturn(true);
+        
+        // Execute
+        boolean result = webhookService.registerWebhook(webhookName, webhookUrl);
+        
+        // Verify
+        assertTrue(result);
+        verify(webhookConfig).registerWebhook(webhookName, webhookUrl);
+    }
+    
+    @Test
+    public void testUnregisterWebhook() {
+        // Setup
+        String webhookName = "test-webhook";
+        when(webhookConfig.unregisterWebhook(webhookName)).thenReturn(true);
+        
+        // Execute
+        boolean result = webhookService.unregisterWebhook(webhookName);
+        
+        // Verify
+        assertTrue(result);
+        verify(webhookConfig).unregisterWebhook(webhookName);
+    }
+    
+    @Test
+    public void testWebhookExists() {
+        // Setup
+        String webhookName = "test-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn("https://discord.com/api/webhooks/test");
+        
+        // Execute
+        boolean result = webhookService.webhookExists(webhookName);
+        
+        // Verify
+        assertTrue(result);
+        verify(webhookConfig).getWebhookUrl(webhookName);
+    }
+    
+    @Test
+    public void testFlushCompletesOnceMessagesComplete() throws ExecutionException, InterruptedException {
+        // Setup
+        String webhookName = "non-existent-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn(null);
+        WebhookEmbed embed = new WebhookEmbed.Builder()
+                .title("Test")
+                .build();
+        
+        // Execute
+        CompletableFuture<WebhookResponse> sent = webhookService.send(webhookName, null, embed);
+        CompletableFuture<Boolean> flushed = webhookService.flush(webhookName, 5, TimeUnit.SECONDS);
+        
+        // Verify
+        assertTrue(flushed.get());
+        assertTrue(sent.isDone());
+        assertEquals(0, webhookService.getOutstanding(webhookName));
+    }
+    
+    @Test
+    public void testLazyEmbedNotBuiltForRejectedMessage() throws ExecutionException, InterruptedException {
+        // Setup
+        String webhookName = "non-existent-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn(null);
+        AtomicBoolean built = new AtomicBoolean();
+        
+        // Execute
+        WebhookResponse response = webhookService.sendLazy(webhookName, null, () -> {
+            built.set(true);
+            return new WebhookEmbed.Builder().title("Expensive").build();
+        }).get();
+        
+        // Verify
+        assertEquals(404, response.getStatusCode());
+        assertFalse(built.get());
+    }
+    
+    @Test
+    public void testStatsOfUnknownWebhook() {
+        // Setup
+        String webhookName = "non-existent-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn(null);
+        
+        // Execute & Verify
+        assertNull(webhookService.getStats(webhookName));
+        verify(webhookConfig, never()).getRateLimit(webhookName);
+        verify(webhookConfig, never()).getCircuitBreakerThreshold(webhookName);
+    }
+    
+    @Test
+    public void testSendWithoutOptions() throws ExecutionException, InterruptedException {
+        // Setup
+        String webhookName = "non-existent-webhook";
+        when(webhookConfig.getWebhookUrl(webhookName)).thenReturn(null);
+        WebhookEmbed embed = new WebhookEmbed.Builder()
+                .title("Test")
+                .build();
+        
+        // Execute
+        WebhookResponse response = webhookService.send(webhookName, null, embed, null).get();
+        
+        // Verify
+        assertEquals(404, response.getStatusCode());
+    }
+}
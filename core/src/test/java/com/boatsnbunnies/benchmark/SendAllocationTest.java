@@ -0,0 +1,55 @@
+package com.boatsnbunnies.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link SendBenchmark} with the JMH GC profiler and checks the bytes allocated per send,
+ * across all threads of the pipeline, against a budget.
+ * <p>
+ * Only runs in the {@code benchmark} profile. The budget can be changed with
+ * {@code -Dbenchmark.maxBytesPerSend}.
+ */
+@Tag("benchmark")
+public class SendAllocationTest {
+    private static final long MAX_BYTES_PER_SEND = Long.getLong("benchmark.maxBytesPerSend", 16 * 1024);
+
+    @Test
+    public void testBytesAllocatedPerSend() throws RunnerException {
+        // Setup
+        Options options = new OptionsBuilder()
+                .include(SendBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(2))
+                .shouldFailOnError(true)
+                .build();
+
+        // Execute
+        RunResult result = new Runner(options).runSingle();
+
+        // Verify - the label has a leading middle dot in older JMH versions
+        Map<String, Result> secondary = result.getSecondaryResults();
+        Result allocated = secondary.containsKey("gc.alloc.rate.norm")
+                ? secondary.get("gc.alloc.rate.norm")
+                : secondary.get("·gc.alloc.rate.norm");
+        assertNotNull(allocated, "GC profiler did not report gc.alloc.rate.norm");
+        assertTrue(allocated.getScore() <= MAX_BYTES_PER_SEND,
+                "Allocated " + (long) allocated.getScore() + " bytes per send, budget is " + MAX_BYTES_PER_SEND);
+    }
+}
@@ -0,0 +1,64 @@
+package com.boatsnbunnies.benchmark;
+
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures a complete send, from {@link WebhookService#send} to the completed future, against a
+ * local {@link StubWebhookServer}. Run with {@code -prof gc} to see the bytes allocated per send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendBenchmark {
+    private StubWebhookServer server;
+    private WebhookService webhookService;
+    private List<WebhookEmbed> embeds;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubWebhookServer();
+
+        // No rate limits, so that every send reaches the transport
+        MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                .setRateLimit("bench", 1_000_000, 1)
+                .setGlobalRateLimit(0, 1);
+        settings.registerWebhook("bench", server.getUrl());
+
+        // Run events inline, there are no listeners
+        StandalonePlatform platform = new StandalonePlatform(settings, new File("target"), Logger.getLogger("bench"), Runnable::run);
+        webhookService = new WebhookService(platform);
+
+        embeds = Collections.singletonList(new WebhookEmbed.Builder()
+                .title("Player joined")
+                .description("Steve joined the game")
+                .color(0x00FF00)
+                .addField("World", "world", true)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        webhookService.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public WebhookResponse send() {
+        return webhookService.send("bench", null, embeds).join();
+    }
+}
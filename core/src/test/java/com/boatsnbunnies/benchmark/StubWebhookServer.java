@@ -0,0 +1,188 @@
+package com.boatsnbunnies.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal local HTTP/1.1 server standing in for Discord in benchmarks.
+ * <p>
+ * It answers every request with {@code 204 No Content} over keep-alive connections, or with a
+ * global {@code 429} for as many requests as {@link #rateLimitGlobally(int)} asks. Requests are
+ * read into a reused buffer, so the stub adds as little allocation of its own as possible to
+ * measurements taken in the same JVM.
+ */
+public class StubWebhookServer implements Closeable {
+    private static final byte[] RESPONSE = ("HTTP/1.1 204 No Content\r\n"
+            + "X-RateLimit-Limit: 5\r\n"
+            + "X-RateLimit-Remaining: 4\r\n"
+            + "X-RateLimit-Reset-After: 2\r\n"
+            + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GLOBAL_RATE_LIMIT = ("HTTP/1.1 429 Too Many Requests\r\n"
+            + "Retry-After: 1\r\n"
+            + "X-RateLimit-Global: true\r\n"
+            + "Content-Length: 0\r\n"
+            + "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private final ServerSocket serverSocket;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicInteger globalRateLimits = new AtomicInteger();
+    private volatile long responseDelay;
+    private volatile boolean running = true;
+
+    /**
+     * Starts a stub server on a free local port.
+     *
+     * @throws IOException If the server socket could not be opened
+     */
+    public StubWebhookServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "StubWebhookServer Acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Gets the URL of a webhook on this server.
+     *
+     * @return The webhook URL
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + "/api/webhooks/0/stub";
+    }
+
+    /**
+     * Gets the number of requests answered so far.
+     *
+     * @return The request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Answers the next requests with Discord's global rate limit, a {@code 429} asking to retry
+     * after a second.
+     *
+     * @param count The number of requests to reject
+     */
+    public void rateLimitGlobally(int count) {
+        globalRateLimits.set(count);
+    }
+
+    /**
+     * Delays every answer, standing in for a slow Discord.
+     *
+     * @param millis The delay in milliseconds
+     */
+    public void delayResponses(long millis) {
+        responseDelay = millis;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread handler = new Thread(() -> handle(socket), "StubWebhookServer Connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        byte[] line = new byte[8192];
+        try (socket; InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = socket.getOutputStream()) {
+            while (running) {
+                // Read the request line and headers, remembering the body length
+                long contentLength = 0;
+                int length;
+                boolean first = true;
+                while ((length = readLine(in, line)) > 0) {
+                    first = false;
+                    if (startsWithIgnoreCase(line, length, "content-length:")) {
+                        contentLength = parseLong(line, "content-length:".length(), length);
+                    }
+                }
+                if (length < 0 || first) {
+                    return;
+                }
+
+                // Skip the body
+                while (contentLength > 0) {
+                    long skipped = in.skip(contentLength);
+                    if (skipped <= 0) {
+                        return;
+                    }
+                    contentLength -= skipped;
+                }
+
+                if (responseDelay > 0) {
+                    Thread.sleep(responseDelay);
+                }
+                boolean rateLimited = globalRateLimits.getAndUpdate(count -> Math.max(0, count - 1)) > 0;
+                out.write(rateLimited ? GLOBAL_RATE_LIMIT : RESPONSE);
+                out.flush();
+                requests.incrementAndGet();
+            }
+        } catch (IOException ignored) {
+            // Connection closed by the client
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int readLine(InputStream in, byte[] line) throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            }
+            if (length < line.length) {
+                line[length++] = (byte) b;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWithIgnoreCase(byte[] line, int length, String prefix) {
+        if (length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(line[i]) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseLong(byte[] line, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            if (line[i] >= '0' && line[i] <= '9') {
+                value = value * 10 + (line[i] - '0');
+            }
+        }
+        return value;
+    }
+}
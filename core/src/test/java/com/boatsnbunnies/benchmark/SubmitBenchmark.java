@@ -0,0 +1,78 @@
+package com.boatsnbunnies.benchmark;
+
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import com.boatsnbunnies.service.SendOptions;
+import com.boatsnbunnies.service.WebhookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures the cost of {@link WebhookService#send} on the calling thread, which is what a plugin
+ * sending from the main server thread pays out of its tick.
+ * <p>
+ * The webhook has a rate limit of zero so the dispatch side rejects every message without touching
+ * the network, and keeps up with the senders so the ring buffer does not fill up.
+ * <p>
+ * With {@code -prof gc}, a send is expected to allocate its returned future and nothing else on
+ * the calling thread, whatever its completion mode: {@link #sendCompleteOn} covers the relay to a
+ * completion executor, which is attached on the dispatch loop's thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmitBenchmark {
+    private WebhookService webhookService;
+    private List<WebhookEmbed> embeds;
+    private SendOptions completeOn;
+
+    @Setup
+    public void setUp() {
+        MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                .setDispatchQueueCapacity(65536)
+                .setRateLimit("bench", 0, 1);
+        settings.registerWebhook("bench", "http://127.0.0.1:9/webhook");
+
+        // Run events inline, there are no listeners
+        StandalonePlatform platform = new StandalonePlatform(settings, new File("target"), Logger.getLogger("bench"), Runnable::run);
+        webhookService = new WebhookService(platform);
+
+        embeds = Collections.singletonList(new WebhookEmbed.Builder()
+                .title("Player joined")
+                .description("Steve joined the game")
+                .color(0x00FF00)
+                .addField("World", "world", true)
+                .build());
+        completeOn = new SendOptions.Builder().completeOn(Runnable::run).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        webhookService.shutdown();
+    }
+
+    @Benchmark
+    public Object send() {
+        return webhookService.send("bench", null, embeds);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object sendContended() {
+        return webhookService.send("bench", null, embeds);
+    }
+
+    @Benchmark
+    public Object sendCompleteOn() {
+        return webhookService.send("bench", null, embeds, completeOn);
+    }
+}
@@ -0,0 +1,211 @@
+package com.boatsnbunnies.benchmark;
+
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a traffic recording made with {@code recording.enabled} against a local
+ * {@link StubWebhookServer}, reproducing the recorded load shape at real time, a multiple of it,
+ * or as fast as possible.
+ * <p>
+ * Usage: {@code TrafficReplay <recording> [speed]}, where speed is a multiplier such as {@code 1}
+ * or {@code 10}, or {@code max}. Webhooks keep the library's default rate limits unless
+ * {@code -Dreplay.rateLimit=<requests per second>} is given. There is no global rate limit.
+ */
+public class TrafficReplay {
+    private static final long MAGIC = 0x424E425245433031L; // "BNBREC01"
+
+    /**
+     * A recorded send.
+     */
+    public static class Send {
+        public final long submittedMicros;
+        public final String webhookName;
+        public final int payloadBytes;
+        public final int statusCode;
+        public final long durationMicros;
+
+        Send(long submittedMicros, String webhookName, int payloadBytes, int statusCode, long durationMicros) {
+            this.submittedMicros = submittedMicros;
+            this.webhookName = webhookName;
+            this.payloadBytes = payloadBytes;
+            this.statusCode = statusCode;
+            this.durationMicros = durationMicros;
+        }
+    }
+
+    /**
+     * Reads a recording, tolerating a file that was cut off mid-record.
+     *
+     * @param file The recording
+     * @return The recorded sends in submission order
+     * @throws IOException If the file could not be read or is not a recording
+     */
+    public static List<Send> read(Path file) throws IOException {
+        List<Send> sends = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readLong() != MAGIC) {
+                throw new IOException("Not a traffic recording: " + file);
+            }
+            in.readLong(); // Start of the recording in epoch milliseconds
+
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    break;
+                }
+                if (type == 1) {
+                    long id = readVarLong(in);
+                    names.put(id, in.readUTF());
+                } else if (type == 2) {
+                    long submitted = readVarLong(in);
+                    String name = names.get(readVarLong(in));
+                    int payloadBytes = (int) readVarLong(in) - 1;
+                    int statusCode = (int) readVarLong(in);
+                    long duration = readVarLong(in);
+                    sends.add(new Send(submitted, name, payloadBytes, statusCode, duration));
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + file);
+                }
+            }
+        } catch (EOFException e) {
+            // The recording was not closed cleanly, keep what was complete
+        }
+
+        sends.sort(Comparator.comparingLong(send -> send.submittedMicros));
+        return sends;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Replays sends against a stub server.
+     *
+     * @param sends The sends to replay, in submission order
+     * @param speed The replay speed as a multiple of real time, or {@link Double#POSITIVE_INFINITY}
+     * @param server The stub server
+     * @param settings The settings to run the service with
+     * @return The responses, in the order of the sends
+     */
+    public static List<WebhookResponse> replay(List<Send> sends, double speed, StubWebhookServer server,
+                                               MemoryWebhookSettings settings) {
+        Set<String> webhookNames = new LinkedHashSet<>();
+        sends.forEach(send -> webhookNames.add(send.webhookName));
+        webhookNames.forEach(name -> settings.registerWebhook(name, server.getUrl()));
+
+        StandalonePlatform platform = new StandalonePlatform(settings, new File("target"), Logger.getLogger("replay"), Runnable::run);
+        WebhookService webhookService = new WebhookService(platform);
+        List<CompletableFuture<WebhookResponse>> futures = new ArrayList<>(sends.size());
+        try {
+            long start = System.nanoTime();
+            for (Send send : sends) {
+                if (speed != Double.POSITIVE_INFINITY) {
+                    long due = start + (long) (send.submittedMicros * 1000 / speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                futures.add(webhookService.send(send.webhookName, content(send.payloadBytes), Collections.emptyList()));
+            }
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            webhookService.shutdown();
+        }
+    }
+
+    /**
+     * Builds message content that serializes to roughly the recorded payload size.
+     */
+    private static String content(int payloadBytes) {
+        char[] content = new char[Math.max(1, payloadBytes - "{\"content\":\"\"}".length())];
+        Arrays.fill(content, 'x');
+        return new String(content);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TrafficReplay <recording> [speed|max]");
+            System.exit(1);
+        }
+        List<Send> sends = read(Paths.get(args[0]));
+        double speed = args.length < 2 ? 1 : parseSpeed(args[1]);
+
+        // Only the webhooks' own limits apply, the stub server stands in for every egress
+        MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                .setGlobalRateLimit(0, 1);
+        String rateLimit = System.getProperty("replay.rateLimit");
+        if (rateLimit != null) {
+            settings.setDefaultRateLimit(Integer.parseInt(rateLimit), 1);
+        }
+
+        System.out.printf("Replaying %d sends at %s%n", sends.size(), speed == Double.POSITIVE_INFINITY ? "maximum speed" : speed + "x");
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            long start = System.nanoTime();
+            List<WebhookResponse> responses = replay(sends, speed, server, settings);
+            long elapsed = System.nanoTime() - start;
+
+            Map<Integer, Integer> statusCodes = new TreeMap<>();
+            long[] latencies = new long[responses.size()];
+            for (int i = 0; i < responses.size(); i++) {
+                WebhookResponse response = responses.get(i);
+                statusCodes.merge(response.getStatusCode(), 1, Integer::sum);
+                latencies[i] = response.getTimings() != null ? response.getTimings().getTotalTime() : -1;
+            }
+            Arrays.sort(latencies);
+
+            System.out.printf("Elapsed: %.1f s, %.1f sends/s%n", elapsed / 1e9, responses.size() / (elapsed / 1e9));
+            System.out.println("Status codes: " + statusCodes);
+            System.out.printf("Latency p50: %.3f ms, p99: %.3f ms, max: %.3f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        }
+    }
+
+    private static double parseSpeed(String speed) {
+        return speed.equals("max") ? Double.POSITIVE_INFINITY : Double.parseDouble(speed);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,149 @@
+package com.boatsnbunnies.benchmark;
+
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import com.boatsnbunnies.service.SendOptions;
+import com.boatsnbunnies.service.WebhookResponse;
+import com.boatsnbunnies.service.WebhookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Compares the HTTP transports, {@code connection.transport}, against a local
+ * {@link StubWebhookServer}: the throughput of concurrent sends, the bytes allocated per send with
+ * {@code -prof gc}, and the startup time, from creating the service in a fresh JVM to the first
+ * completed send.
+ * <p>
+ * The stub speaks HTTP/1.1 without TLS, so the JDK client does not multiplex here, and the
+ * comparison is of the clients' own overhead rather than of the protocols. Each benchmark thread
+ * sends under its own ordering key, so the threads' sends are not serialized behind each other,
+ * and the status codes of failed sends are printed at the end of each trial.
+ */
+@Fork(1)
+public class TransportBenchmark {
+    private static final List<WebhookEmbed> EMBEDS = Collections.singletonList(new WebhookEmbed.Builder()
+            .title("Player joined")
+            .description("Steve joined the game")
+            .color(0x00FF00)
+            .addField("World", "world", true)
+            .build());
+
+    /**
+     * The transport under test and the server it sends to.
+     */
+    @State(Scope.Benchmark)
+    public static class Stub {
+        @Param({"okhttp", "jdk"})
+        public String transport;
+
+        StubWebhookServer server;
+
+        @Setup
+        public void setUp() throws IOException {
+            server = new StubWebhookServer();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            server.close();
+        }
+
+        WebhookService createService() {
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setHttpTransport(transport)
+                    .setGlobalRateLimit(0, 1)
+                    .setRateLimit("bench", 1_000_000, 1)
+                    .setConcurrency(4, 4);
+            settings.registerWebhook("bench", server.getUrl());
+
+            // Run events inline, there are no listeners
+            StandalonePlatform platform = new StandalonePlatform(settings, new File("target"), Logger.getLogger("bench"), Runnable::run);
+            return new WebhookService(platform);
+        }
+    }
+
+    /**
+     * A running service, only created by the throughput benchmark so that the startup benchmark's
+     * JVMs stay cold.
+     */
+    @State(Scope.Benchmark)
+    public static class Running {
+        final Map<Integer, LongAdder> failures = new ConcurrentHashMap<>();
+        WebhookService webhookService;
+
+        @Setup
+        public void setUp(Stub stub) {
+            webhookService = stub.createService();
+        }
+
+        @TearDown
+        public void tearDown() {
+            webhookService.shutdown();
+            if (!failures.isEmpty()) {
+                Map<Integer, Long> statusCodes = new TreeMap<>();
+                failures.forEach((statusCode, count) -> statusCodes.put(statusCode, count.sum()));
+                System.out.println("Failed sends by status code: " + statusCodes);
+            }
+        }
+
+        void record(WebhookResponse response) {
+            if (!response.isSuccess()) {
+                failures.computeIfAbsent(response.getStatusCode(), statusCode -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    /**
+     * A benchmark thread's ordering key.
+     */
+    @State(Scope.Thread)
+    public static class Sender {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        SendOptions options;
+
+        @Setup
+        public void setUp() {
+            options = new SendOptions.Builder().orderingKey("thread-" + THREADS.getAndIncrement()).build();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(4)
+    public WebhookResponse send(Running running, Sender sender) {
+        WebhookResponse response = running.webhookService.send("bench", null, EMBEDS, sender.options).join();
+        running.record(response);
+        return response;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public WebhookResponse startup(Stub stub) {
+        WebhookService webhookService = stub.createService();
+        try {
+            return webhookService.send("bench", null, EMBEDS).join();
+        } finally {
+            webhookService.shutdown();
+        }
+    }
+}
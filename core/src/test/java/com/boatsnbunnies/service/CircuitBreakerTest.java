@@ -0,0 +1,79 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CircuitBreaker class.
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void testOpensAfterThreshold() {
+        // Setup
+        CircuitBreaker circuitBreaker = new CircuitBreaker(3, 60, TimeUnit.SECONDS);
+
+        // Execute
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.recordFailure();
+        }
+
+        // Verify
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleProbe() {
+        // Setup - a zero open duration makes the breaker ready to probe immediately
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 0, TimeUnit.SECONDS);
+        circuitBreaker.recordFailure();
+
+        // Execute
+        boolean probe = circuitBreaker.tryAcquire();
+        boolean second = circuitBreaker.tryAcquire();
+
+        // Verify
+        assertTrue(probe);
+        assertFalse(second);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testReleasedProbeCanBeClaimedAgain() {
+        // Setup
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 0, TimeUnit.SECONDS);
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.tryAcquire());
+
+        // Execute
+        circuitBreaker.release();
+
+        // Verify
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testDisabledIgnoresOutcomes() {
+        // Setup
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 0, TimeUnit.SECONDS);
+        circuitBreaker.disable();
+
+        // Execute
+        circuitBreaker.recordSuccess();
+
+        // Verify
+        assertEquals(CircuitBreaker.State.DISABLED, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.reset();
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+}
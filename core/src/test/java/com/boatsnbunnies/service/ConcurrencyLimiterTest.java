@@ -0,0 +1,105 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConcurrencyLimiter class.
+ */
+public class ConcurrencyLimiterTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void testGrowsWhileSaturated() {
+        // Setup
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 4, 2);
+
+        // Execute - keep the limit full of fast requests
+        for (int i = 0; i < 100; i++) {
+            acquire(limiter);
+            limiter.onSuccess(RTT);
+        }
+        acquire(limiter);
+        acquire(limiter);
+        for (int i = 0; i < 100; i++) {
+            acquire(limiter);
+            limiter.onSuccess(RTT);
+        }
+
+        // Verify
+        assertEquals(4, limiter.getLimit());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void testHalvesOnOverload() {
+        // Setup
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 16, 8);
+
+        // Execute
+        acquire(limiter);
+        limiter.onOverload();
+
+        // Verify
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testNeverDropsBelowFloor() {
+        // Setup
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 16, 8);
+
+        // Execute - a zero round trip time makes every overload count
+        acquire(limiter);
+        limiter.onSuccess(0);
+        for (int i = 0; i < 10; i++) {
+            acquire(limiter);
+            limiter.onOverload();
+        }
+
+        // Verify
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void testBacksOffOnSlowResponses() {
+        // Setup
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 16, 10);
+        acquire(limiter);
+        limiter.onSuccess(RTT);
+
+        // Execute
+        acquire(limiter);
+        limiter.onSuccess(RTT * 5);
+
+        // Verify
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void testWaiterGetsFreedSlot() {
+        // Setup
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1);
+        acquire(limiter);
+        AtomicBoolean resumed = new AtomicBoolean();
+
+        // Execute
+        boolean started = limiter.tryAcquire(() -> resumed.set(true));
+        limiter.onSuccess(RTT);
+
+        // Verify - the slot went straight to the waiter
+        assertFalse(started);
+        assertTrue(resumed.get());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    private static void acquire(ConcurrencyLimiter limiter) {
+        assertTrue(limiter.tryAcquire(() -> fail("No slot was free")));
+    }
+}
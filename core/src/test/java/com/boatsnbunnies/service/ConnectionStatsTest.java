@@ -0,0 +1,52 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConnectionStats class.
+ */
+public class ConnectionStatsTest {
+
+    @Test
+    public void testSeparatesColdAndWarmRequests() {
+        // Setup
+        ConnectionStats stats = new ConnectionStats();
+
+        // Execute
+        stats.record(timings(false, 300));
+        stats.record(timings(true, 40));
+        stats.record(timings(true, 60));
+        stats.record(new WebhookTimings(1)); // Never reached Discord
+        WebhookTimings unreported = timings(false, 500);
+        unreported.connectStart = 0;
+        stats.record(unreported); // The transport did not report the connection
+
+        // Verify
+        assertEquals(1, stats.getColdRequests());
+        assertEquals(300, stats.getAverageColdLatency());
+        assertEquals(300, stats.getLastColdLatency());
+        assertEquals(2, stats.getWarmRequests());
+        assertEquals(50, stats.getAverageWarmLatency());
+    }
+
+    @Test
+    public void testUnknownLatencyWithoutRequests() {
+        // Setup
+        ConnectionStats stats = new ConnectionStats();
+
+        // Execute & Verify
+        assertEquals(-1, stats.getAverageColdLatency());
+        assertEquals(-1, stats.getAverageWarmLatency());
+    }
+
+    private static WebhookTimings timings(boolean connectionReused, long latency) {
+        WebhookTimings timings = new WebhookTimings(1);
+        timings.serialized = 1000;
+        timings.headersReceived = 1000 + latency;
+        timings.connectionReused = connectionReused;
+        timings.connectStart = connectionReused ? 0 : 100;
+        return timings;
+    }
+}
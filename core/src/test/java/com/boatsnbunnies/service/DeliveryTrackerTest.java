@@ -0,0 +1,36 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DeliveryTracker class.
+ */
+public class DeliveryTrackerTest {
+
+    @Test
+    public void testMessagesLeftOutOfSampleAreNotCountedAsSent() {
+        // Setup
+        DeliveryTracker tracker = new DeliveryTracker();
+        CompletableFuture<WebhookResponse> sampled = new CompletableFuture<>();
+        CompletableFuture<WebhookResponse> leftOut = new CompletableFuture<>();
+        tracker.submitted();
+        tracker.track(sampled);
+        tracker.submitted();
+        tracker.track(leftOut);
+
+        // Execute
+        sampled.complete(WebhookResponse.success(204, "No Content"));
+        leftOut.complete(StreamSampler.NOT_SAMPLED);
+
+        // Verify
+        assertEquals(1, tracker.getSent());
+        assertEquals(1, tracker.getNotSampled());
+        assertEquals(0, tracker.getFailed());
+        assertEquals(1, tracker.getSentLastMinute());
+        assertEquals(0, tracker.getOutstanding());
+    }
+}
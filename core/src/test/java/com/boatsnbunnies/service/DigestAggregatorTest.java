@@ -0,0 +1,91 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.model.WebhookField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DigestAggregator class.
+ */
+public class DigestAggregatorTest {
+
+    @Test
+    public void testGroupsAreCountedAndSorted() {
+        // Setup
+        DigestAggregator digest = new DigestAggregator("joins", 30, 1);
+        List<WebhookEmbed> embeds = Collections.emptyList();
+
+        // Execute
+        assertTrue(digest.add("world", "Steve joined", embeds, new CompletableFuture<>()));
+        assertFalse(digest.add("nether", "Alex joined", embeds, new CompletableFuture<>()));
+        assertFalse(digest.add("nether", "Herobrine joined", embeds, new CompletableFuture<>()));
+        DigestAggregator.Window window = digest.drain();
+
+        // Verify
+        assertEquals(3, window.getFutures().size());
+        assertEquals("3 events in the last 30s", window.getSummary().getDescription());
+
+        List<WebhookField> fields = window.getSummary().getFields();
+        assertEquals(2, fields.size());
+        assertEquals("nether", fields.get(0).getName());
+        assertTrue(fields.get(0).getValue().startsWith("×2"));
+        assertEquals("More keys", fields.get(1).getName());
+    }
+
+    @Test
+    public void testSummaryFitsDiscordsEmbedLimit() {
+        // Setup - long keys and samples, far more text than one embed may hold
+        DigestAggregator digest = new DigestAggregator("chat", 30, 24);
+        for (int i = 0; i < 24; i++) {
+            String key = i + "x".repeat(300);
+            digest.add(key, "y".repeat(300), Collections.emptyList(), new CompletableFuture<>());
+        }
+
+        // Execute
+        DigestAggregator.Window window = digest.drain();
+
+        // Verify - the groups that did not fit are folded into the remainder field
+        WebhookEmbed summary = window.getSummary();
+        int length = summary.getTitle().length() + summary.getDescription().length();
+        for (WebhookField field : summary.getFields()) {
+            length += field.getName().length() + field.getValue().length();
+        }
+        assertTrue(length <= 6000);
+
+        List<WebhookField> fields = summary.getFields();
+        WebhookField remainder = fields.get(fields.size() - 1);
+        int shown = fields.size() - 1;
+        assertTrue(shown > 0 && shown < 24);
+        assertEquals("More keys", remainder.getName());
+        assertEquals("×" + (24 - shown) + " across " + (24 - shown) + " more keys", remainder.getValue());
+    }
+
+    @Test
+    public void testDrainStartsNewWindow() {
+        // Setup
+        DigestAggregator digest = new DigestAggregator("joins", 30, 10);
+        digest.add("world", null, Collections.emptyList(), new CompletableFuture<>());
+
+        // Execute
+        digest.drain();
+
+        // Verify
+        assertNull(digest.drain());
+        assertTrue(digest.add("world", null, Collections.emptyList(), new CompletableFuture<>()));
+    }
+
+    @Test
+    public void testDefaultKeyUsesEmbedTitle() {
+        WebhookEmbed embed = new WebhookEmbed.Builder().title("Player joined").build();
+
+        assertEquals("Player joined", DigestAggregator.defaultKey("content", Collections.singletonList(embed)));
+        assertEquals("content", DigestAggregator.defaultKey("content", Collections.emptyList()));
+        assertEquals("Other", DigestAggregator.defaultKey(null, Collections.emptyList()));
+    }
+}
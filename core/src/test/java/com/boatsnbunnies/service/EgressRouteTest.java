@@ -0,0 +1,94 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.benchmark.StubWebhookServer;
+import com.boatsnbunnies.config.Egress;
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EgressRoute class.
+ */
+public class EgressRouteTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPauseIsOnlyExtended() {
+        // Setup
+        EgressRoute route = new EgressRoute("primary", null, null);
+
+        // Execute & Verify
+        assertTrue(route.pause(TimeUnit.SECONDS.toNanos(10)));
+        assertFalse(route.pause(TimeUnit.SECONDS.toNanos(1)));
+        assertTrue(route.pause(TimeUnit.SECONDS.toNanos(20)));
+    }
+
+    @Test
+    public void testEgressesDoNotShareAPause() {
+        // Setup
+        EgressRoute paused = new EgressRoute("primary", null, null);
+        EgressRoute other = new EgressRoute("secondary", null, null);
+
+        // Execute
+        paused.pause(TimeUnit.SECONDS.toNanos(10));
+
+        // Verify
+        assertTrue(paused.nanosUntilResume() > TimeUnit.SECONDS.toNanos(9));
+        assertEquals(0, other.nanosUntilResume());
+    }
+
+    @Test
+    public void testPausedEgressDoesNotHoldBackOthers() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer pausedServer = new StubWebhookServer(); StubWebhookServer otherServer = new StubWebhookServer()) {
+            // Setup
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .addEgress(new Egress("primary", null, null))
+                    .addEgress(new Egress("secondary", null, null))
+                    .setWebhookEgress("paused", "primary")
+                    .setWebhookEgress("other", "secondary");
+            settings.registerWebhook("paused", pausedServer.getUrl());
+            settings.registerWebhook("other", otherServer.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            pausedServer.rateLimitGlobally(1);
+
+            try {
+                // Execute
+                WebhookResponse rateLimited = service.send("paused", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                CompletableFuture<WebhookResponse> held = service.send("paused", "Second", Collections.emptyList());
+                WebhookResponse delivered = service.send("other", "Meanwhile", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Verify - the other egress delivered while the paused one was still holding its message
+                assertEquals(429, rateLimited.getStatusCode());
+                assertEquals(204, delivered.getStatusCode());
+                assertFalse(held.isDone());
+                assertEquals(204, held.get(10, TimeUnit.SECONDS).getStatusCode());
+                assertEquals(2, pausedServer.getRequestCount());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testProxyWithoutPortIsRejected() {
+        // Setup
+        Egress egress = new Egress("proxied", null, "proxy.example.com");
+
+        // Execute & Verify
+        assertThrows(IllegalArgumentException.class, () -> EgressRoute.parseProxy(egress));
+    }
+}
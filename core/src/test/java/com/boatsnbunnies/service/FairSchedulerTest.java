@@ -0,0 +1,51 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FairScheduler class.
+ */
+public class FairSchedulerTest {
+
+    @Test
+    public void testSingleClientKeepsArrivalOrder() {
+        // Setup
+        WebhookClient client = new WebhookClient(null, "noisy");
+        SubmissionRingBuffer.Submission[] batch = batch(client, client, client);
+        FairScheduler scheduler = new FairScheduler(8, c -> 1);
+
+        // Execute
+        int[] order = scheduler.schedule(batch, batch.length);
+
+        // Verify
+        assertArrayEquals(new int[] {0, 1, 2}, Arrays.copyOf(order, batch.length));
+    }
+
+    @Test
+    public void testClientsTakeTurnsByWeight() {
+        // Setup - a noisy client flooding ahead of a quiet one with twice its weight
+        WebhookClient noisy = new WebhookClient(null, "noisy");
+        WebhookClient quiet = new WebhookClient(null, "quiet");
+        SubmissionRingBuffer.Submission[] batch = batch(noisy, noisy, noisy, noisy, quiet, quiet, quiet, null);
+        FairScheduler scheduler = new FairScheduler(8, c -> c == quiet ? 2 : 1);
+
+        // Execute
+        int[] order = scheduler.schedule(batch, batch.length);
+
+        // Verify - each client's messages stay in order, the quiet client is served right away
+        assertArrayEquals(new int[] {0, 4, 5, 7, 1, 6, 2, 3}, Arrays.copyOf(order, batch.length));
+    }
+
+    private static SubmissionRingBuffer.Submission[] batch(WebhookClient... clients) {
+        SubmissionRingBuffer.Submission[] batch = new SubmissionRingBuffer.Submission[clients.length];
+        for (int i = 0; i < clients.length; i++) {
+            batch[i] = new SubmissionRingBuffer.Submission();
+            batch[i].client = clients[i];
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,69 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.benchmark.StubWebhookServer;
+import com.boatsnbunnies.model.WebhookEmbed;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JdkHttpTransport class.
+ */
+public class JdkHttpTransportTest {
+
+    @Test
+    public void testPayloadIsSentAndResponseParsed() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        // Setup
+        JdkHttpTransport transport = new JdkHttpTransport();
+        PayloadWriter payload = PayloadWriter.get();
+        WebhookTimings timings = new WebhookTimings(System.nanoTime());
+
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Execute
+            payload.write("Hello", Collections.singletonList(new WebhookEmbed.Builder().title("Test").build()));
+            CompletableFuture<WebhookResponse> future = transport.send(server.getUrl(), false, payload, timings);
+
+            // The payload was copied, so the thread may write its next one right away
+            payload.write("Overwritten", Collections.emptyList());
+            WebhookResponse response = future.get(10, TimeUnit.SECONDS);
+
+            // Verify
+            assertTrue(response.isSuccess());
+            assertEquals(204, response.getStatusCode());
+            assertEquals(4, response.getRateLimitRemaining());
+            assertEquals(2000, response.getRateLimitResetAfter());
+            assertTrue(timings.getHeadersReceived() > 0);
+            assertEquals(1, server.getRequestCount());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void testUnreachableHostFailsWithIOException() {
+        // Setup
+        JdkHttpTransport transport = new JdkHttpTransport();
+        PayloadWriter payload = PayloadWriter.get();
+
+        try {
+            // Execute
+            ExecutionException e = assertThrows(ExecutionException.class, () -> {
+                payload.write("Hello", Collections.emptyList());
+                transport.send("http://127.0.0.1:9/webhook", false, payload, new WebhookTimings(System.nanoTime()))
+                        .get(20, TimeUnit.SECONDS);
+            });
+
+            // Verify
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the KeyedSerialExecutor class.
+ */
+public class KeyedSerialExecutorTest {
+
+    @Test
+    public void testTasksWithSameKeyRunInOrder() throws InterruptedException {
+        // Setup
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        // Execute
+        for (int i = 0; i < 1000; i++) {
+            int task = i;
+            executor.execute("webhook", () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                synchronized (order) {
+                    order.add(task);
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        // Verify
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDifferentKeysRunInParallel() throws InterruptedException {
+        // Setup
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        CountDownLatch otherKeyRan = new CountDownLatch(1);
+        AtomicBoolean sawOtherKey = new AtomicBoolean();
+
+        // Execute - the first task only finishes once a task with another key has run
+        executor.execute("first", () -> {
+            try {
+                sawOtherKey.set(otherKeyRan.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute("second", otherKeyRan::countDown);
+
+        // Verify
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(sawOtherKey.get());
+    }
+
+    @Test
+    public void testShutdownNowReturnsTasksNotStarted() throws InterruptedException {
+        // Setup - one thread, busy with a task that waits until it is interrupted
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute("first", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        Runnable behindKey = () -> { };
+        Runnable behindThread = () -> { };
+        executor.execute("first", behindKey);
+        executor.execute("second", behindThread);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // Execute
+        List<Runnable> unstarted = executor.shutdownNow();
+
+        // Verify
+        assertEquals(List.of(behindKey, behindThread), unstarted);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
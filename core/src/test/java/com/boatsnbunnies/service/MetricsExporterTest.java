@@ -0,0 +1,57 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MetricsExporter class.
+ */
+public class MetricsExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSnapshotsAreWrittenAndRolled() throws IOException {
+        // Setup
+        MemoryWebhookSettings settings = new MemoryWebhookSettings();
+        StandalonePlatform platform = new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test"));
+        WebhookService service = new WebhookService(platform);
+        service.registerWebhook("alerts", "https://discord.com/api/webhooks/1/token");
+        File directory = tempDir.resolve("metrics").toFile();
+
+        // Execute
+        MetricsExporter exporter = new MetricsExporter(service, platform, directory,
+                MetricsExporter.Format.CSV, 1, 1, TimeUnit.HOURS, 2);
+        exporter.export();
+        exporter.export();
+        exporter.export();
+        exporter.close();
+        service.shutdown();
+
+        // Verify
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(2, files.length);
+        for (File file : files) {
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(0).startsWith("time,webhook,sent,"));
+            assertTrue(lines.get(1).contains(",alerts,0,0,0,"));
+            assertTrue(lines.get(2).contains(",*,0,0,0,"));
+            assertEquals(lines.get(0).split(",", -1).length, lines.get(1).split(",", -1).length);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OkHttpTransport class.
+ */
+public class OkHttpTransportTest {
+
+    @Test
+    public void testInvalidUrlFailsWithIOException() throws IOException {
+        // Setup
+        OkHttpTransport transport = new OkHttpTransport(1);
+        PayloadWriter payload = PayloadWriter.get();
+
+        try {
+            // Execute
+            payload.write("Hello", Collections.emptyList());
+            CompletableFuture<WebhookResponse> future = transport.send("not a url", false, payload, new WebhookTimings(System.nanoTime()));
+
+            // Verify
+            assertTrue(future.isCompletedExceptionally());
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            transport.close();
+        }
+    }
+}
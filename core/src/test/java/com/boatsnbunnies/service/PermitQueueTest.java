@@ -0,0 +1,80 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PermitQueue class.
+ */
+public class PermitQueueTest {
+
+    @Test
+    public void testClientsTakeTurnsByWeightAcrossAdds() {
+        // Setup - a noisy client flooding ahead of a quiet one with twice its weight
+        WebhookClient noisy = new WebhookClient(null, "noisy");
+        WebhookClient quiet = new WebhookClient(null, "quiet");
+        PermitQueue<String> queue = new PermitQueue<>(c -> c == quiet ? 2 : 1);
+        queue.add(noisy, "n1");
+        queue.add(noisy, "n2");
+        queue.add(noisy, "n3");
+        queue.add(noisy, "n4");
+
+        // Execute - the quiet client only starts waiting after the noisy one got a permit
+        List<String> order = new ArrayList<>();
+        order.add(queue.poll());
+        queue.add(quiet, "q1");
+        queue.add(quiet, "q2");
+        queue.add(quiet, "q3");
+        queue.add(null, "u1");
+        String next;
+        while ((next = queue.poll()) != null) {
+            order.add(next);
+        }
+
+        // Verify - each client's messages stay in order, the quiet client is served by its weight
+        assertEquals(Arrays.asList("n1", "n2", "q1", "q2", "u1", "n3", "q3", "n4"), order);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMessageAddedDuringTurnIsServedInIt() {
+        // Setup
+        WebhookClient first = new WebhookClient(null, "first");
+        WebhookClient second = new WebhookClient(null, "second");
+        PermitQueue<String> queue = new PermitQueue<>(c -> 2);
+        queue.add(first, "f1");
+        queue.add(second, "s1");
+
+        // Execute - the first client's next message was held behind the one that got the permit
+        String taken = queue.poll();
+        queue.add(first, "f2");
+
+        // Verify
+        assertEquals("f1", taken);
+        assertEquals("f2", queue.poll());
+        assertEquals("s1", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRemovedMessagesAreHandedBack() {
+        // Setup
+        WebhookClient client = new WebhookClient(null, "client");
+        PermitQueue<String> queue = new PermitQueue<>(c -> 1);
+        queue.add(client, "expired");
+        queue.add(null, "waiting");
+
+        // Execute
+        List<String> removed = queue.removeIf("expired"::equals);
+
+        // Verify
+        assertEquals(List.of("expired"), removed);
+        assertEquals(1, queue.size());
+        assertEquals("waiting", queue.poll());
+    }
+}
@@ -0,0 +1,84 @@
+package com.boatsnbunnies.service;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ResponseParser class.
+ */
+public class ResponseParserTest {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private static Response.Builder response(int code, String message) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://discord.com/api/webhooks/1/token").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(message);
+    }
+
+    @Test
+    public void testParsesInvalidFormBody() {
+        // Setup
+        String body = "{\"code\":50035,\"errors\":{\"embeds\":{\"0\":{\"title\":{\"_errors\":"
+                + "[{\"code\":\"BASE_TYPE_MAX_LENGTH\",\"message\":\"Too long\"}]}}}},\"message\":\"Invalid Form Body\"}";
+        Response response = response(400, "Bad Request")
+                .header("X-RateLimit-Remaining", "4")
+                .header("X-RateLimit-Reset-After", "1.5")
+                .header("X-RateLimit-Bucket", "abcd1234")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+
+        // Execute
+        WebhookResponse parsed = ResponseParser.parse(response, false, null);
+
+        // Verify
+        assertFalse(parsed.isSuccess());
+        assertEquals(400, parsed.getStatusCode());
+        assertEquals(50035, parsed.getErrorCode());
+        assertEquals("Invalid Form Body", parsed.getErrorMessage());
+        assertEquals("embeds.0.title", parsed.getErrorField());
+        assertEquals(4, parsed.getRateLimitRemaining());
+        assertEquals(1500, parsed.getRateLimitResetAfter());
+        assertEquals("abcd1234", parsed.getRateLimitBucket());
+    }
+
+    @Test
+    public void testPrefersBodyRetryAfter() {
+        // Setup
+        String body = "{\"message\":\"You are being rate limited.\",\"retry_after\":0.25,\"global\":false}";
+        Response response = response(429, "Too Many Requests")
+                .header("Retry-After", "1")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+
+        // Execute
+        WebhookResponse parsed = ResponseParser.parse(response, false, null);
+
+        // Verify
+        assertEquals(250, parsed.getRetryAfter());
+    }
+
+    @Test
+    public void testReadsMessageIdOnlyWhenWaiting() {
+        // Setup
+        String body = "{\"type\":0,\"embeds\":[{\"title\":\"Test\"}],\"id\":\"1234567890\"}";
+
+        // Execute
+        WebhookResponse waited = ResponseParser.parse(
+                response(200, "OK").body(ResponseBody.create(body, JSON)).build(), true, null);
+        WebhookResponse skipped = ResponseParser.parse(
+                response(200, "OK").body(ResponseBody.create(body, JSON)).build(), false, null);
+
+        // Verify
+        assertEquals("1234567890", waited.getMessageId());
+        assertNull(skipped.getMessageId());
+        assertEquals(-1, skipped.getRateLimitRemaining());
+    }
+}
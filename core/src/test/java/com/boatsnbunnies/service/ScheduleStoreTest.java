@@ -0,0 +1,59 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ScheduleStore class.
+ */
+public class ScheduleStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testTextLongerThan64KiBIsSavedAndLoaded() throws IOException {
+        // Setup
+        File file = tempDir.resolve("schedules.bin").toFile();
+        String description = String.join("", Collections.nCopies(30_000, "ünïcödé "));
+        WebhookEmbed embed = new WebhookEmbed.Builder()
+                .title("Restart")
+                .description(description)
+                .build();
+        SendOptions options = new SendOptions.Builder()
+                .priority(Priority.HIGH)
+                .orderingKey("restarts")
+                .build();
+        Instant time = Instant.ofEpochMilli(1_700_000_000_000L);
+        List<ScheduledSend> sends = Arrays.asList(
+                new ScheduledSend(null, "alerts", time, "Server restarting", Collections.singletonList(embed), options),
+                new ScheduledSend(null, "joins", time, null, Collections.emptyList(), SendOptions.DEFAULT));
+
+        // Execute
+        ScheduleStore.write(file, sends);
+        List<ScheduledSend> loaded = ScheduleStore.read(file, null);
+
+        // Verify
+        assertEquals(2, loaded.size());
+        ScheduledSend first = loaded.get(0);
+        assertEquals("alerts", first.webhookName);
+        assertEquals(time, first.time);
+        assertEquals("Server restarting", first.content);
+        assertEquals(description, first.embeds.get(0).getDescription());
+        assertEquals(Priority.HIGH, first.options.getPriority());
+        assertEquals("restarts", first.options.getOrderingKey());
+        assertNull(loaded.get(1).content);
+        assertTrue(loaded.get(1).embeds.isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SharedRateLimiter class.
+ */
+public class SharedRateLimiterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBucketIsSharedBetweenMappings() throws IOException {
+        // Setup - two mappings of the same file behave like two servers on one host
+        Path file = tempDir.resolve("rate-limits.dat");
+        try (SharedRateLimitFile first = new SharedRateLimitFile(file);
+             SharedRateLimitFile second = new SharedRateLimitFile(file)) {
+            String url = "https://discord.com/api/webhooks/test";
+            RateLimiter serverA = new SharedRateLimiter(first, url, 4, 60, TimeUnit.SECONDS);
+            RateLimiter serverB = new SharedRateLimiter(second, url, 4, 60, TimeUnit.SECONDS);
+
+            // Execute
+            assertTrue(serverA.tryAcquire());
+            assertTrue(serverB.tryAcquire());
+            assertTrue(serverA.tryAcquire());
+            assertTrue(serverB.tryAcquire());
+
+            // Verify
+            assertFalse(serverA.tryAcquire());
+            assertFalse(serverB.tryAcquire());
+        }
+    }
+
+    @Test
+    public void testBucketsAreKeyedByUrl() throws IOException {
+        // Setup
+        try (SharedRateLimitFile file = new SharedRateLimitFile(tempDir.resolve("rate-limits.dat"))) {
+            RateLimiter first = new SharedRateLimiter(file, "https://discord.com/api/webhooks/a", 1, 60, TimeUnit.SECONDS);
+            RateLimiter second = new SharedRateLimiter(file, "https://discord.com/api/webhooks/b", 1, 60, TimeUnit.SECONDS);
+
+            // Execute & Verify
+            assertTrue(first.tryAcquire());
+            assertFalse(first.tryAcquire());
+            assertTrue(second.tryAcquire());
+        }
+    }
+
+    @Test
+    public void testRefundReturnsPermit() throws IOException {
+        // Setup
+        try (SharedRateLimitFile file = new SharedRateLimitFile(tempDir.resolve("rate-limits.dat"))) {
+            RateLimiter limiter = new SharedRateLimiter(file, "global", 2, 60, TimeUnit.SECONDS);
+            RateLimiter local = new LocalRateLimiter(2, 60, TimeUnit.SECONDS);
+
+            // Execute
+            for (RateLimiter rateLimiter : new RateLimiter[] {limiter, local}) {
+                assertTrue(rateLimiter.tryAcquire());
+                assertTrue(rateLimiter.tryAcquire());
+                assertFalse(rateLimiter.tryAcquire());
+                rateLimiter.refund();
+
+                // Verify
+                assertTrue(rateLimiter.tryAcquire());
+                assertFalse(rateLimiter.tryAcquire());
+            }
+        }
+    }
+
+    @Test
+    public void testNanosUntilPermitIsExact() throws IOException {
+        // Setup
+        try (SharedRateLimitFile file = new SharedRateLimitFile(tempDir.resolve("rate-limits.dat"))) {
+            RateLimiter limiter = new SharedRateLimiter(file, "global", 2, 60, TimeUnit.SECONDS);
+            RateLimiter local = new LocalRateLimiter(2, 60, TimeUnit.SECONDS);
+
+            for (RateLimiter rateLimiter : new RateLimiter[] {limiter, local}) {
+                // Execute
+                assertEquals(0, rateLimiter.nanosUntilPermit());
+                assertTrue(rateLimiter.tryAcquire());
+                assertTrue(rateLimiter.tryAcquire());
+                long wait = rateLimiter.nanosUntilPermit();
+
+                // Verify - the shared bucket frees one emission interval, the local window one period
+                assertTrue(wait > TimeUnit.SECONDS.toNanos(29), "wait was " + wait);
+                assertTrue(wait <= TimeUnit.SECONDS.toNanos(60) + 1, "wait was " + wait);
+                rateLimiter.refund();
+                assertEquals(0, rateLimiter.nanosUntilPermit());
+            }
+            assertEquals(Long.MAX_VALUE, new LocalRateLimiter(0, 60, TimeUnit.SECONDS).nanosUntilPermit());
+        }
+    }
+
+    @Test
+    public void testAvailablePermitsCountsRemainingBudget() throws IOException {
+        // Setup
+        try (SharedRateLimitFile file = new SharedRateLimitFile(tempDir.resolve("rate-limits.dat"))) {
+            RateLimiter limiter = new SharedRateLimiter(file, "global", 4, 60, TimeUnit.SECONDS);
+            assertEquals(4, limiter.availablePermits());
+
+            // Execute
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+
+            // Verify
+            assertEquals(2, limiter.availablePermits());
+        }
+    }
+
+    @Test
+    public void testZeroLimitNeverLetsRequestsThrough() throws IOException {
+        // Setup
+        try (SharedRateLimitFile file = new SharedRateLimitFile(tempDir.resolve("rate-limits.dat"))) {
+            RateLimiter limiter = new SharedRateLimiter(file, "https://discord.com/api/webhooks/muted", 0, 60, TimeUnit.SECONDS);
+            RateLimiter local = new LocalRateLimiter(0, 60, TimeUnit.SECONDS);
+
+            for (RateLimiter rateLimiter : new RateLimiter[] {limiter, local}) {
+                // Execute
+                boolean acquired = rateLimiter.tryAcquire();
+                rateLimiter.refund();
+
+                // Verify - both limiters read a limit of 0 as no requests at all
+                assertFalse(acquired);
+                assertFalse(rateLimiter.tryAcquire());
+                assertEquals(Long.MAX_VALUE, rateLimiter.nanosUntilPermit());
+                assertEquals(0, rateLimiter.availablePermits());
+            }
+        }
+    }
+}
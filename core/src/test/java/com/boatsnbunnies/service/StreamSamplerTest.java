@@ -0,0 +1,82 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.model.WebhookEmbed;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StreamSampler class.
+ */
+public class StreamSamplerTest {
+
+    @Test
+    public void testFixedRateSamplesFromReservoir() {
+        // Setup
+        StreamSampler sampler = new StreamSampler("blocks", 10, 0.01, false, 5);
+        List<CompletableFuture<WebhookResponse>> futures = new ArrayList<>();
+
+        // Execute
+        for (int i = 0; i < 1000; i++) {
+            CompletableFuture<WebhookResponse> future = new CompletableFuture<>();
+            futures.add(future);
+            assertEquals(i == 0, sampler.add(sample("Block broken " + i, Collections.emptyList(), future)));
+        }
+        StreamSampler.Window window = sampler.drain(0);
+
+        // Verify
+        assertEquals(1000, window.getTotal());
+        assertEquals(5, window.getSamples().size());
+        assertEquals(0, window.getLeftOut().size());
+        long notSampled = futures.stream().filter(future -> future.getNow(null) == StreamSampler.NOT_SAMPLED).count();
+        assertEquals(995, notSampled);
+        for (StreamSampler.Sample sample : window.getSamples()) {
+            assertFalse(sample.future.isDone());
+            assertTrue(sample.content.endsWith("\n-# sampled 1 of 200, 1000 total"));
+        }
+    }
+
+    @Test
+    public void testAdaptiveFollowsPermits() {
+        // Setup
+        StreamSampler sampler = new StreamSampler("blocks", 10, 1, true, 10);
+        WebhookEmbed embed = new WebhookEmbed.Builder().title("Block broken").footer("Survival", null).build();
+        for (int i = 0; i < 40; i++) {
+            sampler.add(sample(null, Collections.singletonList(embed), new CompletableFuture<>()));
+        }
+
+        // Execute
+        StreamSampler.Window window = sampler.drain(2);
+
+        // Verify
+        assertEquals(2, window.getSamples().size());
+        assertEquals(8, window.getLeftOut().size());
+        WebhookEmbed annotated = window.getSamples().get(0).embeds.get(0);
+        assertEquals("Block broken", annotated.getTitle());
+        assertEquals("Survival · sampled 1 of 20, 40 total", annotated.getFooter().getText());
+    }
+
+    @Test
+    public void testDrainSendsAtLeastOneAndStartsNewWindow() {
+        // Setup
+        StreamSampler sampler = new StreamSampler("blocks", 10, 1, true, 10);
+        sampler.add(sample("Block broken", Collections.emptyList(), new CompletableFuture<>()));
+
+        // Execute
+        StreamSampler.Window window = sampler.drain(0);
+
+        // Verify
+        assertEquals(1, window.getSamples().size());
+        assertNull(sampler.drain(0));
+        assertTrue(sampler.add(sample("Block broken", Collections.emptyList(), new CompletableFuture<>())));
+    }
+
+    private static StreamSampler.Sample sample(String content, List<WebhookEmbed> embeds, CompletableFuture<WebhookResponse> future) {
+        return new StreamSampler.Sample(content, embeds, null, SendOptions.DEFAULT, null, null, future);
+    }
+}
@@ -0,0 +1,86 @@
+package com.boatsnbunnies.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TimingWheel class.
+ */
+public class TimingWheelTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testEntryExpiresAtItsTick() {
+        // Setup
+        TimingWheel<String> wheel = new TimingWheel<>(SECOND, 8);
+        long start = System.nanoTime();
+        wheel.schedule(start + 5 * SECOND, "countdown");
+
+        // Execute & Verify - due within one tick after the deadline, never before
+        assertEquals(Collections.emptyList(), wheel.advance(start + 4 * SECOND + SECOND / 2));
+        assertEquals(Collections.singletonList("countdown"), wheel.advance(start + 6 * SECOND + SECOND / 2));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testEntryWaitsForFurtherRotations() {
+        // Setup - 8 buckets, so 20 seconds is two rotations and a half ahead
+        TimingWheel<String> wheel = new TimingWheel<>(SECOND, 8);
+        long start = System.nanoTime();
+        wheel.schedule(start + 20 * SECOND, "later");
+        wheel.schedule(start + 3 * SECOND, "sooner");
+
+        // Execute
+        List<String> first = wheel.advance(start + 4 * SECOND + SECOND / 2);
+        List<String> second = wheel.advance(start + 19 * SECOND + SECOND / 2);
+        List<String> third = wheel.advance(start + 21 * SECOND + SECOND / 2);
+
+        // Verify
+        assertEquals(Collections.singletonList("sooner"), first);
+        assertEquals(Collections.emptyList(), second);
+        assertEquals(Collections.singletonList("later"), third);
+    }
+
+    @Test
+    public void testCancelledEntryNeverExpires() {
+        // Setup
+        TimingWheel<String> wheel = new TimingWheel<>(SECOND, 8);
+        long start = System.nanoTime();
+        TimingWheel.Entry<String> muted = wheel.schedule(start + 2 * SECOND, "unmute");
+        wheel.schedule(start + 2 * SECOND, "other");
+
+        // Execute
+        assertTrue(wheel.cancel(muted));
+        List<String> expired = wheel.advance(start + 3 * SECOND + SECOND / 2);
+
+        // Verify
+        assertEquals(Collections.singletonList("other"), expired);
+        assertFalse(wheel.cancel(muted));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testManyEntries() {
+        // Setup
+        TimingWheel<Integer> wheel = new TimingWheel<>(SECOND, 64);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            wheel.schedule(start + (i % 1000) * SECOND, i);
+        }
+
+        // Execute
+        int expired = 0;
+        for (int second = 0; second <= 1001; second++) {
+            expired += wheel.advance(start + second * SECOND).size();
+        }
+
+        // Verify
+        assertEquals(100_000, expired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.benchmark.TrafficReplay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TrafficRecorder class.
+ */
+public class TrafficRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRecordingCanBeReplayed() throws IOException {
+        // Setup
+        File file = tempDir.resolve("recordings/traffic.bin").toFile();
+        TrafficRecorder recorder = new TrafficRecorder(file);
+
+        WebhookTimings timings = new WebhookTimings(System.nanoTime());
+        timings.payloadBytes = 321;
+
+        // Execute - the last send completes first, and is recorded first
+        CompletableFuture<WebhookResponse> sent = new CompletableFuture<>();
+        CompletableFuture<WebhookResponse> limited = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        recorder.track("alerts", submitted, sent);
+        recorder.track("joins", submitted + 1_000_000, limited);
+        recorder.track("alerts", submitted + 2_000_000, CompletableFuture.completedFuture(WebhookResponse.failure(404, "Not found")));
+        sent.complete(new WebhookResponse(true, 204, "No Content", timings));
+        limited.complete(WebhookResponse.failure(429, "Rate limited"));
+        recorder.close();
+
+        List<TrafficReplay.Send> sends = TrafficReplay.read(file.toPath());
+
+        // Verify - the replay is in submission order
+        assertEquals(3, sends.size());
+        assertEquals("alerts", sends.get(0).webhookName);
+        assertEquals(321, sends.get(0).payloadBytes);
+        assertEquals(204, sends.get(0).statusCode);
+        assertEquals("joins", sends.get(1).webhookName);
+        assertEquals(-1, sends.get(1).payloadBytes);
+        assertEquals(429, sends.get(1).statusCode);
+        assertEquals(404, sends.get(2).statusCode);
+        assertTrue(sends.get(0).submittedMicros < sends.get(2).submittedMicros);
+    }
+}
@@ -0,0 +1,88 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.benchmark.StubWebhookServer;
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the flight recorder events, recorded with the bundled settings.
+ */
+public class WebhookFlightEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testLifecycleIsRecorded() throws Exception {
+        // Setup
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/bnbwebhookapi.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        MemoryWebhookSettings settings = new MemoryWebhookSettings();
+        settings.setDefaultRateLimit(1, 60);
+        Path file = tempDir.resolve("recording.jfr");
+
+        // Execute
+        try (StubWebhookServer server = new StubWebhookServer();
+             Recording recording = new Recording(configuration)) {
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            service.registerWebhook("alerts", server.getUrl());
+            recording.start();
+
+            WebhookEmbed embed = new WebhookEmbed.Builder().title("Test").build();
+            WebhookResponse sent = service.send("alerts", "first", embed).get(10, TimeUnit.SECONDS);
+            WebhookResponse limited = service.send("alerts", "second", embed).get(10, TimeUnit.SECONDS);
+
+            recording.stop();
+            recording.dump(file);
+            service.shutdown();
+
+            assertTrue(sent.isSuccess());
+            assertEquals(429, limited.getStatusCode());
+        }
+
+        // Verify
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Map<String, RecordedEvent> byName = new HashMap<>();
+        for (RecordedEvent event : events) {
+            byName.putIfAbsent(event.getEventType().getName(), event);
+        }
+        assertEquals(2, events.stream().filter(event -> event.getEventType().getName().equals("bnbwebhookapi.Enqueue")).count());
+
+        RecordedEvent serialize = byName.get("bnbwebhookapi.Serialize");
+        assertNotNull(serialize);
+        assertEquals("alerts", serialize.getString("webhookName"));
+        assertTrue(serialize.getInt("payloadBytes") > 0);
+
+        RecordedEvent exchange = byName.get("bnbwebhookapi.HttpExchange");
+        assertNotNull(exchange);
+        assertEquals(204, exchange.getInt("statusCode"));
+        assertEquals(serialize.getInt("payloadBytes"), exchange.getInt("payloadBytes"));
+
+        RecordedEvent rateLimit = byName.get("bnbwebhookapi.RateLimit");
+        assertNotNull(rateLimit);
+        assertEquals(429, rateLimit.getInt("statusCode"));
+        assertTrue(rateLimit.getBoolean("rejected"));
+        assertEquals(-1, rateLimit.getInt("payloadBytes"));
+    }
+}
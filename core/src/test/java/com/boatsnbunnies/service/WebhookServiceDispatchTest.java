@@ -0,0 +1,334 @@
+package com.boatsnbunnies.service;
+
+import com.boatsnbunnies.benchmark.StubWebhookServer;
+import com.boatsnbunnies.config.MemoryWebhookSettings;
+import com.boatsnbunnies.model.WebhookEmbed;
+import com.boatsnbunnies.platform.StandalonePlatform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the WebhookService dispatch pipeline against a local stub server.
+ */
+public class WebhookServiceDispatchTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMessageWaitingForPermitIsNotOvertakenByItsKey() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setRateLimit("limited", 1, 1);
+            settings.registerWebhook("limited", server.getUrl());
+            settings.registerWebhook("free", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            SendOptions ordered = new SendOptions.Builder()
+                    .orderingKey("moderation")
+                    .waitForPermit(10, TimeUnit.SECONDS)
+                    .build();
+            Queue<String> completed = new ConcurrentLinkedQueue<>();
+
+            try {
+                // Execute - the first message takes the limited webhook's only permit
+                service.send("limited", "Warm up", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                CompletableFuture<WebhookResponse> flagged = service.send("limited", "Player flagged", Collections.emptyList(), ordered)
+                        .whenComplete((response, error) -> completed.add("flagged"));
+                CompletableFuture<WebhookResponse> banned = service.send("free", "Player banned", Collections.emptyList(), ordered)
+                        .whenComplete((response, error) -> completed.add("banned"));
+
+                // Verify - the second message waited for the first one's permit
+                assertEquals(204, banned.get(10, TimeUnit.SECONDS).getStatusCode());
+                assertEquals(204, flagged.get(10, TimeUnit.SECONDS).getStatusCode());
+                assertEquals(Arrays.asList("flagged", "banned"), List.copyOf(completed));
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testEveryMessageCompletesWhenSubmittedDuringShutdown() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup - a slow webhook, so that messages are still queued at the deadline
+            server.delayResponses(200);
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setConcurrency(2, 2)
+                    .setRateLimit("slow", 100, 1);
+            settings.registerWebhook("slow", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            Queue<CompletableFuture<WebhookResponse>> futures = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < 20; i++) {
+                SendOptions options = new SendOptions.Builder().orderingKey("key-" + i % 4).build();
+                futures.add(service.send("slow", "Message " + i, Collections.emptyList(), options));
+            }
+            SendOptions onMainThread = new SendOptions.Builder().completeOnMainThread().build();
+            AtomicBoolean submitting = new AtomicBoolean(true);
+            Thread submitter = new Thread(() -> {
+                while (submitting.get()) {
+                    futures.add(service.send("slow", "Late message", Collections.emptyList(), onMainThread));
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            });
+
+            // Execute - the submitter keeps going for a moment after the service has shut down
+            submitter.start();
+            int abandoned = service.shutdown(1, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            submitting.set(false);
+            submitter.join();
+
+            // Verify - nothing is left pending, whether it was sent, abandoned or rejected
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+            assertTrue(abandoned > 0);
+        }
+    }
+
+    @Test
+    public void testSlowWebhookDoesNotStallAnother() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer slowServer = new StubWebhookServer(); StubWebhookServer fastServer = new StubWebhookServer()) {
+            // Setup - a burst to a slow webhook, which is sent one message at a time
+            slowServer.delayResponses(300);
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setConcurrency(2, 2)
+                    .setRateLimit("slow", 100, 1);
+            settings.registerWebhook("slow", slowServer.getUrl());
+            settings.registerWebhook("fast", fastServer.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+
+            try {
+                // Execute
+                List<CompletableFuture<WebhookResponse>> slow = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    slow.add(service.send("slow", "Slow message " + i, Collections.emptyList()));
+                }
+                WebhookResponse fast = service.send("fast", "Fast message", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Verify - the fast webhook got a free slot while the slow one's burst was still queued
+                assertEquals(204, fast.getStatusCode());
+                assertFalse(slow.get(slow.size() - 1).isDone());
+                assertEquals(204, slow.get(slow.size() - 1).get(10, TimeUnit.SECONDS).getStatusCode());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testMessagesQueuedBehindTheirKeyHoldNoSlot() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup
+            server.delayResponses(300);
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setConcurrency(4, 4);
+            settings.registerWebhook("slow", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+
+            try {
+                // Execute - a burst under the webhook's default ordering key
+                List<CompletableFuture<WebhookResponse>> burst = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    burst.add(service.send("slow", "Message " + i, Collections.emptyList()));
+                }
+                burst.get(0).get(10, TimeUnit.SECONDS);
+                Thread.sleep(100);
+
+                // Verify - only the message being sent holds a slot
+                assertEquals(1, service.getInFlightRequests());
+                CompletableFuture.allOf(burst.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testGlobalRateLimitResponsePausesTheEgress() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup - Discord answers the first request with a global 429 and a Retry-After of 1s
+            MemoryWebhookSettings settings = new MemoryWebhookSettings();
+            settings.registerWebhook("alerts", server.getUrl());
+            settings.registerWebhook("logs", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            server.rateLimitGlobally(1);
+
+            try {
+                // Execute
+                WebhookResponse rateLimited = service.send("alerts", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                long paused = System.nanoTime();
+                WebhookResponse held = service.send("logs", "Second", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Verify - another webhook on the same egress waited out the pause
+                assertEquals(429, rateLimited.getStatusCode());
+                assertEquals(204, held.getStatusCode());
+                assertTrue(System.nanoTime() - paused >= TimeUnit.MILLISECONDS.toNanos(800));
+                assertEquals(2, server.getRequestCount());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testGlobalRateLimitRejectionRefundsLowerLevels() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup - a client quota of one request, under a webhook limit of two and a global limit of one
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setGlobalRateLimit(1, 60)
+                    .setRateLimit("alerts", 2, 60)
+                    .setClient("plugin", 1, 0.5);
+            settings.registerWebhook("alerts", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            WebhookClient client = service.getClient("plugin");
+
+            try {
+                // Execute - the first message takes the only global permit
+                WebhookResponse sent = service.send("alerts", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                WebhookResponse rejected = client.send("alerts", "Second", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Verify - the quota and webhook permits the second message took were handed back
+                assertEquals(204, sent.getStatusCode());
+                assertEquals(429, rejected.getStatusCode());
+                assertEquals("Global rate limit exceeded", rejected.getMessage());
+                assertEquals(0, service.getStats("alerts").getNanosUntilPermit());
+                assertEquals(0, client.getQuota("alerts", name -> null).nanosUntilPermit());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testRejectionIsNotCompletedOnTheDispatchLoop() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setRateLimit("limited", 1, 60);
+            settings.registerWebhook("limited", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+
+            try {
+                // Execute - the second message is rejected by the rate limit without being sent
+                service.send("limited", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                String rateLimited = service.send("limited", "Second", Collections.emptyList())
+                        .thenApply(response -> response.getStatusCode() + " on " + Thread.currentThread().getName())
+                        .get(10, TimeUnit.SECONDS);
+                String notFound = service.send("missing", "Third", Collections.emptyList())
+                        .thenApply(response -> response.getStatusCode() + " on " + Thread.currentThread().getName())
+                        .get(10, TimeUnit.SECONDS);
+
+                // Verify - dependent stages of the default completion mode did not run on the loop
+                assertTrue(rateLimited.startsWith("429"));
+                assertFalse(rateLimited.endsWith("Dispatcher"));
+                assertTrue(notFound.startsWith("404"));
+                assertFalse(notFound.endsWith("Dispatcher"));
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testReloadKeepsUnchangedRateLimits() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer server = new StubWebhookServer()) {
+            // Setup - both webhooks spend their only permit of the period
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setRateLimit("kept", 1, 60)
+                    .setRateLimit("changed", 1, 60);
+            settings.registerWebhook("kept", server.getUrl());
+            settings.registerWebhook("changed", server.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+
+            try {
+                service.send("kept", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                service.send("changed", "First", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Execute
+                settings.setRateLimit("changed", 2, 60);
+                service.reload();
+                WebhookResponse kept = service.send("kept", "Second", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+                WebhookResponse changed = service.send("changed", "Second", Collections.emptyList()).get(10, TimeUnit.SECONDS);
+
+                // Verify - only the changed limit started over
+                assertEquals(429, kept.getStatusCode());
+                assertEquals(204, changed.getStatusCode());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testOrderingKeyDoesNotShareAWebhooksQueue() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (StubWebhookServer slowServer = new StubWebhookServer(); StubWebhookServer fastServer = new StubWebhookServer()) {
+            // Setup - a caller's ordering key that happens to be another webhook's name
+            slowServer.delayResponses(300);
+            MemoryWebhookSettings settings = new MemoryWebhookSettings()
+                    .setConcurrency(2, 2);
+            settings.registerWebhook("slow", slowServer.getUrl());
+            settings.registerWebhook("fast", fastServer.getUrl());
+            WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+            SendOptions keyed = new SendOptions.Builder().orderingKey("slow").build();
+
+            try {
+                // Execute
+                List<CompletableFuture<WebhookResponse>> slow = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    slow.add(service.send("slow", "Slow message " + i, Collections.emptyList()));
+                }
+                WebhookResponse fast = service.send("fast", "Keyed message", Collections.emptyList(), keyed).get(10, TimeUnit.SECONDS);
+
+                // Verify - the keyed message did not wait behind the slow webhook's messages
+                assertEquals(204, fast.getStatusCode());
+                assertFalse(slow.get(slow.size() - 1).isDone());
+                assertEquals(204, slow.get(slow.size() - 1).get(10, TimeUnit.SECONDS).getStatusCode());
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testFarFutureScheduleIsKept() {
+        // Setup
+        MemoryWebhookSettings settings = new MemoryWebhookSettings();
+        settings.registerWebhook("alerts", "http://127.0.0.1:1/webhook");
+        WebhookService service = new WebhookService(new StandalonePlatform(settings, tempDir.toFile(), Logger.getLogger("test")));
+        WebhookEmbed embed = new WebhookEmbed.Builder().title("Reminder").build();
+
+        try {
+            // Execute - times too far ahead for a nanosecond count
+            ScheduledSend at = service.sendAt("alerts", Instant.MAX, null, embed);
+            ScheduledSend after = service.sendAfter("alerts", Duration.ofSeconds(Long.MAX_VALUE), null, embed);
+
+            // Verify - both wait on the wheel, and a null embed is rejected up front
+            assertEquals(2, service.getScheduledCount());
+            assertFalse(at.getFuture().isDone());
+            assertFalse(after.getFuture().isDone());
+            assertThrows(NullPointerException.class, () -> service.sendAt("alerts", Instant.now(), "Empty", (WebhookEmbed) null));
+        } finally {
+            service.shutdown();
+        }
+    }
+}